@@ -0,0 +1,58 @@
+package com.simplepay.benchmark;
+
+import com.simplepay.domain.entity.Seller;
+import com.simplepay.domain.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BigDecimal balance arithmetic on the wallet entities, as done by the
+ * entity-based concurrency modes for every transfer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BalanceBenchmark {
+    private static final BigDecimal AMOUNT = new BigDecimal("12.34");
+
+    private User payer;
+    private Seller payee;
+
+    @Setup
+    public void setUp() {
+        payer = new User("Bench Payer", "90000000001", "payer@bench.test", "password123", new BigDecimal("1000000000.00"));
+        payee = new Seller("Bench Seller", "90000000000199", "seller@bench.test", "password123", BigDecimal.ZERO);
+    }
+
+    @Benchmark
+    public boolean payerHasBalance() {
+        return payer.hasBalance(AMOUNT);
+    }
+
+    @Benchmark
+    public BigDecimal userDebitAndCredit() {
+        payer.subtractFromBalance(AMOUNT);
+        payer.addToBalance(AMOUNT);
+        return payer.getBalance();
+    }
+
+    @Benchmark
+    public BigDecimal sellerCredit() {
+        payee.addToBalance(AMOUNT);
+        return payee.getBalance();
+    }
+}
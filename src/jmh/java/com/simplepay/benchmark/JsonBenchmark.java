@@ -0,0 +1,102 @@
+package com.simplepay.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.simplepay.config.JacksonConfig;
+import com.simplepay.controller.TransferController.TransferRequest;
+import com.simplepay.domain.dto.BatchTransferItemResult;
+import com.simplepay.domain.dto.StatementEntry;
+import com.simplepay.domain.dto.StatementPage;
+import com.simplepay.domain.enums.TransactionPartyType;
+import com.simplepay.domain.enums.TransactionStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request and response (de)serialization of the transfer endpoints with the
+ * application's ObjectMapper configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+    private ObjectReader transferRequestReader;
+    private ObjectWriter writer;
+    private String transferRequestJson;
+    private Map<String, Object> transferResponse;
+    private Map<String, Object> batchResponse;
+    private StatementPage statementPage;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        transferRequestReader = objectMapper.readerFor(TransferRequest.class);
+        writer = objectMapper.writer();
+        transferRequestJson = writer.writeValueAsString(new TransferRequest(new BigDecimal("100.50"),
+            1L, TransactionPartyType.USER, 2L, TransactionPartyType.SELLER));
+
+        transferResponse = new HashMap<>();
+        transferResponse.put("status", TransactionStatus.SUCCESS);
+        transferResponse.put("message", "Transferência realizada com sucesso");
+        transferResponse.put("timestamp", LocalDateTime.now());
+
+        List<BatchTransferItemResult> results = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            results.add(i % 10 == 0 ? BatchTransferItemResult.rejected(i, "Saldo insuficiente")
+                : BatchTransferItemResult.succeeded(i, 1000L + i));
+        }
+        batchResponse = new HashMap<>();
+        batchResponse.put("results", results);
+        batchResponse.put("succeeded", 90);
+        batchResponse.put("failed", 10);
+        batchResponse.put("timestamp", LocalDateTime.now());
+
+        List<StatementEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            entries.add(new StatementEntry(5000L + i, new BigDecimal("10.00"), 1L, TransactionPartyType.USER,
+                2L, TransactionPartyType.SELLER, TransactionStatus.SUCCESS, LocalDateTime.now()));
+        }
+        statementPage = new StatementPage(entries, "MjAyNS0wMS0wMVQwMDowMHw1MDQ5");
+    }
+
+    @Benchmark
+    public TransferRequest readTransferRequest() throws JsonProcessingException {
+        return transferRequestReader.readValue(transferRequestJson);
+    }
+
+    @Benchmark
+    public String writeTransferResponse() throws JsonProcessingException {
+        return writer.writeValueAsString(transferResponse);
+    }
+
+    @Benchmark
+    public String writeBatchResponse() throws JsonProcessingException {
+        return writer.writeValueAsString(batchResponse);
+    }
+
+    @Benchmark
+    public String writeStatementPage() throws JsonProcessingException {
+        return writer.writeValueAsString(statementPage);
+    }
+}
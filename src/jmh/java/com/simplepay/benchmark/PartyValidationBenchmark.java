@@ -0,0 +1,62 @@
+package com.simplepay.benchmark;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.simplepay.domain.dto.PartyInfo;
+import com.simplepay.domain.entity.Seller;
+import com.simplepay.domain.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory part of validating a transfer before any write transaction:
+ * resolving the payee through a party cache shaped like the production one
+ * and checking the payer's balance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartyValidationBenchmark {
+    private static final int PARTIES = 10_000;
+    private static final BigDecimal VALUE = new BigDecimal("25.00");
+
+    private Cache<Long, PartyInfo> partyCache;
+    private User payer;
+
+    @Setup
+    public void setUp() {
+        partyCache = Caffeine.newBuilder().maximumSize(100_000).expireAfterWrite(10, TimeUnit.MINUTES).recordStats().build();
+        for (long id = 1; id <= PARTIES; id++) {
+            Seller seller = new Seller("Seller " + id, String.format("%014d", id), "seller" + id + "@bench.test", "password123");
+            seller.setId(id);
+            partyCache.put(id, PartyInfo.of(seller));
+        }
+        payer = new User("Bench Payer", "90000000001", "payer@bench.test", "password123", new BigDecimal("1000.00"));
+    }
+
+    @Benchmark
+    public PartyInfo payeeCacheHit() {
+        return partyCache.getIfPresent(ThreadLocalRandom.current().nextLong(1, PARTIES + 1));
+    }
+
+    @Benchmark
+    public boolean validateTransfer() {
+        PartyInfo payee = partyCache.getIfPresent(ThreadLocalRandom.current().nextLong(1, PARTIES + 1));
+        return payee != null && payer.hasBalance(VALUE);
+    }
+}
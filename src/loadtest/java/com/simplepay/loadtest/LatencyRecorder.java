@@ -0,0 +1,49 @@
+package com.simplepay.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per-worker latency samples in nanoseconds. Each worker owns one recorder,
+ * so recording needs no synchronization; they are merged once the run ends.
+ */
+final class LatencyRecorder {
+    private long[] samples = new long[1 << 14];
+    private int size;
+
+    void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * All samples of {@code recorders}, sorted ascending.
+     */
+    static long[] merge(List<LatencyRecorder> recorders) {
+        long[] merged = new long[recorders.stream().mapToInt(LatencyRecorder::size).sum()];
+        int offset = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.samples, 0, merged, offset, recorder.size);
+            offset += recorder.size;
+        }
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    /**
+     * Nearest-rank percentile ({@code p} from 0 to 1) of sorted samples; 0 when empty.
+     */
+    static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, Math.min(rank, sorted.length) - 1)];
+    }
+}
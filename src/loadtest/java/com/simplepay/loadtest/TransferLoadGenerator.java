@@ -0,0 +1,309 @@
+package com.simplepay.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.simplepay.Application;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load generator for POST /transfer. Seeds users and sellers
+ * through the API, then keeps {@code concurrency} virtual threads sending
+ * transfers between them for {@code duration} after a {@code warmup}, and
+ * reports p50/p99/p999 latency and TPS. Payers and payees are drawn with a
+ * Zipf skew, so hot wallets contend like they do in production.
+ * <p>
+ * Without {@code --target} the application is started in this JVM on H2 with
+ * the "stub" and "loadtest" profiles. To measure against PostgreSQL, start
+ * the application with the "stub" profile and pass {@code --target=http://localhost:8080};
+ * the stubs' latency and failure rates are set on that application
+ * (STUB_AUTHORIZER_LATENCY, ...; see application-stub.yaml).
+ * <p>
+ * Options ({@code --name=value}): target, users (200), sellers (20),
+ * seller-share (0.3), skew (1.1), concurrency (32), warmup (10s),
+ * duration (60s), amount (1.00), mode (sync or async), client-id,
+ * client-secret, report (JSON file to write the results to).
+ * <p>
+ * With {@code --hot-seller-stripes=0,4,16} every transfer credits one seller
+ * instead, once per listed balance stripe count, and the report holds the
+ * credits per second reached with each count.
+ */
+public class TransferLoadGenerator {
+    private static final BigDecimal SEED_BALANCE = new BigDecimal("1000000000.00");
+    private static final int SEED_CONCURRENCY = 16;
+
+    private final Map<String, String> options;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final HttpClient client;
+    private String target;
+    private String token;
+
+    TransferLoadGenerator(Map<String, String> options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new TransferLoadGenerator(options).run();
+    }
+
+    void run() throws Exception {
+        ConfigurableApplicationContext embedded = null;
+        target = options.get("target");
+        if (target == null) {
+            int port = freePort();
+            embedded = new SpringApplicationBuilder(Application.class, TestChannelBinderConfiguration.class)
+                .profiles("stub", "loadtest")
+                .properties("server.port=" + port)
+                .run();
+            target = "http://localhost:" + port;
+        }
+        try {
+            token = authenticate();
+            List<Long> users = seed("/users", intOption("users", 200), "mail", 11);
+            String hotSellerStripes = options.get("hot-seller-stripes");
+            Object results;
+            if (hotSellerStripes == null) {
+                List<Long> sellers = seed("/sellers", intOption("sellers", 20), "email", 14);
+                results = drive(users, sellers, Double.parseDouble(options.getOrDefault("seller-share", "0.3")));
+            } else {
+                results = driveHotSeller(users, seed("/sellers", 1, "email", 14).get(0), hotSellerStripes);
+            }
+            System.out.println(objectMapper.writeValueAsString(results));
+            String report = options.get("report");
+            if (report != null) {
+                Path file = Path.of(report);
+                Files.createDirectories(file.toAbsolutePath().getParent());
+                objectMapper.writeValue(file.toFile(), results);
+            }
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+
+    /**
+     * Runs the load once per stripe count with every transfer crediting
+     * {@code seller}, so the runs differ only in how the seller's balance is
+     * spread.
+     */
+    private Map<String, Object> driveHotSeller(List<Long> users, long seller, String stripeCounts) throws Exception {
+        List<Map<String, Object>> runs = new ArrayList<>();
+        for (String count : stripeCounts.split(",")) {
+            int stripes = Integer.parseInt(count.trim());
+            HttpResponse<String> response = send("PUT", "/sellers/" + seller + "/balance-stripes?stripes=" + stripes, "");
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Configuring " + stripes + " balance stripes failed: "
+                    + response.statusCode() + " " + response.body());
+            }
+            Map<String, Object> run = new LinkedHashMap<>();
+            run.put("stripes", stripes);
+            Map<String, Object> results = drive(users, List.of(seller), 1.0);
+            run.put("creditsPerSecond", results.get("tps"));
+            run.putAll(results);
+            runs.add(run);
+        }
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("hotSeller", seller);
+        results.put("runs", runs);
+        return results;
+    }
+
+    private Map<String, Object> drive(List<Long> users, List<Long> sellers, double sellerShare) throws Exception {
+        int concurrency = intOption("concurrency", 32);
+        Duration warmup = Duration.parse("PT" + options.getOrDefault("warmup", "10s"));
+        Duration duration = Duration.parse("PT" + options.getOrDefault("duration", "60s"));
+        double skew = Double.parseDouble(options.getOrDefault("skew", "1.1"));
+        String amount = options.getOrDefault("amount", "1.00");
+        String mode = options.getOrDefault("mode", "sync");
+        ZipfSampler userSampler = new ZipfSampler(users.size(), skew);
+        ZipfSampler sellerSampler = sellers.isEmpty() ? null : new ZipfSampler(sellers.size(), skew);
+
+        AtomicLong succeeded = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                LatencyRecorder recorder = new LatencyRecorder();
+                recorders.add(recorder);
+                workers.submit(() -> {
+                    while (System.nanoTime() < measureUntil) {
+                        long payer = users.get(userSampler.next());
+                        boolean toSeller = sellerSampler != null && ThreadLocalRandom.current().nextDouble() < sellerShare;
+                        long payee = toSeller ? sellers.get(sellerSampler.next()) : users.get(userSampler.next());
+                        if (!toSeller && payee == payer) {
+                            continue;
+                        }
+                        String body = String.format(
+                            "{\"value\":%s,\"payer\":%d,\"payerType\":\"USER\",\"payee\":%d,\"payeeType\":\"%s\"}",
+                            amount, payer, payee, toSeller ? "SELLER" : "USER");
+                        long startedAt = System.nanoTime();
+                        int status;
+                        try {
+                            status = send("POST", "/transfer?mode=" + mode, body).statusCode();
+                        } catch (IOException e) {
+                            status = -1;
+                        }
+                        long finishedAt = System.nanoTime();
+                        if (startedAt < measureFrom || finishedAt > measureUntil) {
+                            continue;
+                        }
+                        recorder.record(finishedAt - startedAt);
+                        if (status == 200 || status == 202) {
+                            succeeded.incrementAndGet();
+                        } else if (status == 400) {
+                            rejected.incrementAndGet();
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+
+        long[] latencies = LatencyRecorder.merge(recorders);
+        double seconds = duration.toNanos() / 1e9;
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("target", target);
+        results.put("mode", mode);
+        results.put("users", users.size());
+        results.put("sellers", sellers.size());
+        results.put("sellerShare", sellerShare);
+        results.put("skew", skew);
+        results.put("concurrency", concurrency);
+        results.put("durationSeconds", seconds);
+        results.put("requests", latencies.length);
+        results.put("succeeded", succeeded.get());
+        results.put("rejected", rejected.get());
+        results.put("failed", failed.get());
+        results.put("tps", round(succeeded.get() / seconds));
+        results.put("requestsPerSecond", round(latencies.length / seconds));
+        results.put("p50Ms", millis(LatencyRecorder.percentile(latencies, 0.50)));
+        results.put("p99Ms", millis(LatencyRecorder.percentile(latencies, 0.99)));
+        results.put("p999Ms", millis(LatencyRecorder.percentile(latencies, 0.999)));
+        results.put("maxMs", millis(latencies.length > 0 ? latencies[latencies.length - 1] : 0));
+        return results;
+    }
+
+    private String authenticate() throws IOException {
+        String body = objectMapper.writeValueAsString(Map.of(
+            "clientId", options.getOrDefault("client-id", "simplepay-client"),
+            "clientSecret", options.getOrDefault("client-secret", "simplepay-secret-key-2025")));
+        HttpResponse<String> response = send("POST", "/auth", body);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Authentication failed: " + response.statusCode() + " " + response.body());
+        }
+        return objectMapper.readTree(response.body()).get("access_token").asText();
+    }
+
+    /**
+     * Creates {@code count} wallets with a balance large enough to never run
+     * out during the run; documents and e-mails carry a run id so runs
+     * against a persistent database do not collide.
+     */
+    private List<Long> seed(String path, int count, String mailField, int documentLength) throws Exception {
+        long runId = System.currentTimeMillis() % 100_000;
+        List<Future<Long>> created = new ArrayList<>();
+        try (ExecutorService seeders = Executors.newFixedThreadPool(SEED_CONCURRENCY, Thread.ofVirtual().factory())) {
+            for (int i = 0; i < count; i++) {
+                String document = String.format("%05d%0" + (documentLength - 5) + "d", runId, i);
+                Map<String, Object> wallet = Map.of(
+                    "name", "Load " + path.substring(1) + " " + i,
+                    "document", document,
+                    mailField, "load" + document + "@example.com",
+                    "password", "load-test-password",
+                    "balance", SEED_BALANCE);
+                String body = objectMapper.writeValueAsString(wallet);
+                created.add(seeders.submit(() -> {
+                    HttpResponse<String> response = send("POST", path, body);
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("Seeding " + path + " failed: "
+                            + response.statusCode() + " " + response.body());
+                    }
+                    JsonNode view = objectMapper.readTree(response.body());
+                    return view.get("id").asLong();
+                }));
+            }
+        }
+        List<Long> ids = new ArrayList<>(count);
+        for (Future<Long> id : created) {
+            ids.add(id.get());
+        }
+        return ids;
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(target + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json")
+            .method(method, HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        try {
+            return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        }
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(name, String.valueOf(defaultValue)));
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
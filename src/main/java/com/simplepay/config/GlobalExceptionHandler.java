@@ -1,6 +1,8 @@
 package com.simplepay.config;
 
+import com.simplepay.domain.exception.AuthorizerUnavailableException;
 import com.simplepay.domain.exception.BusinessException;
+import com.simplepay.domain.exception.IdempotencyConflictException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -26,6 +28,28 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errorResponse);
     }
 
+    @ExceptionHandler(IdempotencyConflictException.class)
+    @ResponseBody
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, Object> handleIdempotencyConflict(IdempotencyConflictException ex) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", ex.getMessage());
+        errorResponse.put("status", "FAILED");
+        errorResponse.put("timestamp", LocalDateTime.now());
+        return errorResponse;
+    }
+
+    @ExceptionHandler(AuthorizerUnavailableException.class)
+    @ResponseBody
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Map<String, Object> handleAuthorizerUnavailable(AuthorizerUnavailableException ex) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", ex.getMessage());
+        errorResponse.put("status", "FAILED");
+        errorResponse.put("timestamp", LocalDateTime.now());
+        return errorResponse;
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseBody
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -1,8 +1,12 @@
 package com.simplepay.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,13 +18,34 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import javax.crypto.SecretKey;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 
+/**
+ * Authenticates Bearer tokens. Clients reuse one token for its whole
+ * lifetime, so verified tokens are cached by their SHA-256 hash (the raw
+ * token is never kept) until their {@code exp}; repeat requests skip parsing
+ * and signature verification.
+ */
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
-    private final String secret = "yourSecretKeyMustBeAtLeast32CharactersLong"; // Use a secure key in production
-    private final SecretKey key = Keys.hmacShaKeyFor(secret.getBytes());
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtAuthFilter(JwtKeyRing keyRing,
+                         @Value("${simplepay.jwt.verified-token-cache-size:10000}") long verifiedTokenCacheSize) {
+        this.parser = keyRing.parser();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfter(Expiry.creating((String hash, VerifiedToken token) ->
+                        Duration.between(Instant.now(), token.expiresAt())))
+                .build();
+    }
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
@@ -28,23 +53,55 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String authHeader = request.getHeader("Authorization");
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String jwt = authHeader.substring(7);
-            try {
-                Claims claims = Jwts.parser()
-                        .verifyWith(key)
-                        .build()
-                        .parseSignedClaims(jwt)
-                        .getPayload();
-                String username = claims.getSubject();
-                if (username != null) {
-                    UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(username, null, null);
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
-            } catch (Exception e) {
-                // Invalid token, do nothing
+            VerifiedToken token = verify(jwt);
+            if (token != null && token.subject() != null) {
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(token.subject(), null, null);
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Returns the verified token, or {@code null} when the signature or claims
+     * are invalid. Only tokens carrying an {@code exp} are cached, so nothing
+     * stays trusted longer than the token itself.
+     */
+    private VerifiedToken verify(String jwt) {
+        String hash = sha256(jwt);
+        VerifiedToken cached = verifiedTokens.getIfPresent(hash);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
+        try {
+            Claims claims = parser.parseSignedClaims(jwt).getPayload();
+            if (claims.getExpiration() == null) {
+                return new VerifiedToken(claims.getSubject(), Instant.MAX);
+            }
+            VerifiedToken token = new VerifiedToken(claims.getSubject(), claims.getExpiration().toInstant());
+            verifiedTokens.put(hash, token);
+            return token;
+        } catch (JwtException | IllegalArgumentException e) {
+            // Invalid token, do nothing
+            return null;
+        }
+    }
+
+    long verifiedTokenCount() {
+        verifiedTokens.cleanUp();
+        return verifiedTokens.estimatedSize();
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record VerifiedToken(String subject, Instant expiresAt) {}
 }
@@ -0,0 +1,99 @@
+package com.simplepay.config;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * HMAC keys shared by token issuing ({@link com.simplepay.controller.AuthController})
+ * and verification ({@link JwtAuthFilter}). Tokens are signed with the current
+ * key and carry its id in the {@code kid} header; any key in the ring still
+ * verifies, so a new key can be rolled out to every node before it becomes
+ * the signing key, and an old one removed once its tokens have expired.
+ * The legacy {@code jwt.secret} joins the ring under the id {@value #LEGACY_KEY_ID}
+ * and also verifies tokens issued without a {@code kid}.
+ */
+@Component
+public class JwtKeyRing {
+    static final String LEGACY_KEY_ID = "default";
+
+    private final Map<String, SecretKey> keys;
+    private final String signingKeyId;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    @Autowired
+    public JwtKeyRing(Environment environment) {
+        this(configuredSecrets(environment), environment.getProperty("simplepay.jwt.signing-key-id", LEGACY_KEY_ID));
+    }
+
+    public JwtKeyRing(Map<String, String> secretsByKeyId, String signingKeyId) {
+        Map<String, SecretKey> keys = new HashMap<>();
+        secretsByKeyId.forEach((keyId, secret) ->
+            keys.put(keyId, Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8))));
+        if (!keys.containsKey(signingKeyId)) {
+            throw new IllegalStateException("JWT signing key '" + signingKeyId + "' is not configured");
+        }
+        this.keys = Map.copyOf(keys);
+        this.signingKeyId = signingKeyId;
+        this.signingKey = this.keys.get(signingKeyId);
+        this.parser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+            @Override
+            protected Key locate(ProtectedHeader header) {
+                String keyId = header.getKeyId() != null ? header.getKeyId() : LEGACY_KEY_ID;
+                SecretKey key = JwtKeyRing.this.keys.get(keyId);
+                if (key == null) {
+                    throw new JwtException("Unknown JWT key id: " + keyId);
+                }
+                return key;
+            }
+        }).build();
+    }
+
+    /**
+     * Signs the token with the current key and stamps its {@code kid}.
+     */
+    public String sign(JwtBuilder builder) {
+        return builder.header().keyId(signingKeyId).and()
+                .signWith(signingKey)
+                .compact();
+    }
+
+    /**
+     * Parser resolving the verification key by {@code kid}; immutable and
+     * thread-safe, so it is built once and shared.
+     */
+    public JwtParser parser() {
+        return parser;
+    }
+
+    public String signingKeyId() {
+        return signingKeyId;
+    }
+
+    private static Map<String, String> configuredSecrets(Environment environment) {
+        Map<String, String> secrets = new HashMap<>(Binder.get(environment)
+                .bind("simplepay.jwt.keys", Bindable.mapOf(String.class, String.class))
+                .orElseGet(Map::of));
+        String legacySecret = environment.getProperty("jwt.secret");
+        if (legacySecret != null && !legacySecret.isBlank()) {
+            secrets.putIfAbsent(LEGACY_KEY_ID, legacySecret);
+        }
+        return secrets;
+    }
+}
@@ -18,7 +18,8 @@ public class SecurityConfig {
                     "/swagger-ui/**",
                     "/swagger-ui.html",
                     "/v3/api-docs/**",
-                    "/actuator/**"
+                    "/actuator/**",
+                    "/stub/**"
                 ).permitAll()
                 .anyRequest().authenticated()
             )
@@ -0,0 +1,31 @@
+package com.simplepay.config;
+
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Span exporters that need no collector, chosen with simplepay.tracing.exporter.
+ * Both log through java.util.logging, which Spring Boot routes to the
+ * application log; set logging.file.name to keep the spans in a file. An
+ * OTLP collector is configured by Spring Boot itself from
+ * management.otlp.tracing.endpoint and can be used alongside these.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "simplepay.tracing.exporter", havingValue = "logging")
+    public SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "simplepay.tracing.exporter", havingValue = "otlp-json")
+    public SpanExporter otlpJsonSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+}
@@ -0,0 +1,39 @@
+package com.simplepay.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Worker pool that completes transfers submitted in async mode. The queue is
+ * bounded so a burst is absorbed up to a known depth; beyond that submissions
+ * are rejected instead of piling up unbounded work in memory. The caller's
+ * trace context is carried over, so a worker's spans join the request's trace.
+ */
+@Configuration
+public class TransferExecutorConfig {
+    @Value("${simplepay.transfer.async.core-pool-size:8}")
+    private int corePoolSize;
+    @Value("${simplepay.transfer.async.max-pool-size:16}")
+    private int maxPoolSize;
+    @Value("${simplepay.transfer.async.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor transferExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("transfer-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
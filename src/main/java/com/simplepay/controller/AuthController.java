@@ -1,19 +1,17 @@
 package com.simplepay.controller;
 
+import com.simplepay.config.JwtKeyRing;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import jakarta.annotation.PostConstruct;
-import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -22,15 +20,9 @@ import java.util.Map;
 @RequestMapping("/auth")
 @Tag(name = "Authentication", description = "API authentication using client credentials")
 public class AuthController {
-    @Value("${jwt.secret}")
-    private String secret;
+    @Autowired
+    private JwtKeyRing keyRing;
     private final long expirationMs = 86400000; // 1 day
-    private SecretKey key;
-
-    @PostConstruct
-    public void initKey() {
-        this.key = Keys.hmacShaKeyFor(secret.getBytes());
-    }
 
     @Operation(summary = "Authenticate client and get JWT token", 
                description = "Authenticate using client credentials and receive a JWT access token")
@@ -53,14 +45,12 @@ public class AuthController {
         }
         
         // Generate JWT with client_id as subject
-        String token = Jwts.builder()
+        String token = keyRing.sign(Jwts.builder()
                 .subject(request.getClientId())
                 .claim("client_id", request.getClientId())
                 .claim("scope", "api:read api:write")
                 .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + expirationMs))
-                .signWith(key)
-                .compact();
+                .expiration(new Date(System.currentTimeMillis() + expirationMs)));
                 
         Map<String, Object> response = new HashMap<>();
         response.put("access_token", token);
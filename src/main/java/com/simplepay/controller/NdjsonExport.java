@@ -0,0 +1,44 @@
+package com.simplepay.controller;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes rows as newline-delimited JSON while they are read, flushing every
+ * {@code flushEvery} rows, so an export never holds the whole table in memory.
+ */
+final class NdjsonExport {
+
+    private NdjsonExport() {
+    }
+
+    static <T> ResponseEntity<StreamingResponseBody> of(ObjectWriter writer, int flushEvery,
+                                                        Consumer<Consumer<T>> source) {
+        StreamingResponseBody body = out -> {
+            int[] written = {0};
+            try {
+                source.accept(row -> {
+                    try {
+                        out.write(writer.writeValueAsBytes(row));
+                        out.write('\n');
+                        if (++written[0] % flushEvery == 0) {
+                            out.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+}
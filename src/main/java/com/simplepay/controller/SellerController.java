@@ -1,14 +1,17 @@
 package com.simplepay.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simplepay.domain.dto.CursorPage;
+import com.simplepay.domain.dto.SellerView;
 import com.simplepay.domain.entity.Seller;
 import com.simplepay.domain.service.SellerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/sellers")
@@ -16,35 +19,62 @@ import java.util.List;
 public class SellerController {
     @Autowired
     private SellerService sellerService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Value("${simplepay.pagination.default-size:50}")
+    private int defaultPageSize = 50;
+    @Value("${simplepay.pagination.max-size:500}")
+    private int maxPageSize = 500;
+    @Value("${simplepay.export.flush-every:500}")
+    private int exportFlushEvery = 500;
 
-    @Operation(summary = "Get all sellers")
+    @Operation(summary = "List sellers in id order, one page at a time")
     @GetMapping
-    public List<Seller> getAllSellers() {
-        return sellerService.findAll();
+    public CursorPage<SellerView> getAllSellers(@RequestParam(required = false) Long after,
+                                        @RequestParam(required = false) Integer size) {
+        int pageSize = size != null ? Math.min(Math.max(size, 1), maxPageSize) : defaultPageSize;
+        return sellerService.findPage(after, pageSize);
+    }
+
+    @Operation(summary = "Export all sellers as NDJSON")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSellers() {
+        return NdjsonExport.of(objectMapper.writerFor(SellerView.class), exportFlushEvery, sellerService::forEach);
     }
 
     @Operation(summary = "Get seller by id")
     @GetMapping("/{id}")
-    public ResponseEntity<Seller> getSellerById(@PathVariable Long id) {
-        return sellerService.findById(id)
+    public ResponseEntity<SellerView> getSellerById(@PathVariable Long id) {
+        return sellerService.findViewById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @Operation(summary = "Create a new seller")
     @PostMapping
-    public Seller createSeller(@RequestBody Seller seller) {
-        return sellerService.save(seller);
+    public SellerView createSeller(@RequestBody Seller seller) {
+        return SellerView.from(sellerService.save(seller));
     }
 
     @Operation(summary = "Update seller by id")
     @PutMapping("/{id}")
-    public ResponseEntity<Seller> updateSeller(@PathVariable Long id, @RequestBody Seller seller) {
+    public ResponseEntity<SellerView> updateSeller(@PathVariable Long id, @RequestBody Seller seller) {
         return sellerService.update(id, seller)
+                .map(SellerView::from)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @Operation(summary = "Spread credits to a high-volume seller over balance stripes (0 turns striping off)")
+    @PutMapping("/{id}/balance-stripes")
+    public ResponseEntity<SellerView> configureBalanceStripes(@PathVariable Long id, @RequestParam int stripes) {
+        if (sellerService.findViewById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        sellerService.configureBalanceStripes(id, stripes);
+        return ResponseEntity.of(sellerService.findViewById(id));
+    }
+
     @Operation(summary = "Delete seller by id")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteSeller(@PathVariable Long id) {
@@ -0,0 +1,42 @@
+package com.simplepay.controller;
+
+import com.simplepay.domain.dto.StatementPage;
+import com.simplepay.domain.enums.TransactionPartyType;
+import com.simplepay.domain.service.FinancialTransactionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/transactions")
+@Tag(name = "Transaction", description = "Extrato de transferências de usuários e lojistas")
+public class TransactionController {
+    @Autowired
+    private FinancialTransactionService transactionService;
+    @Value("${simplepay.pagination.default-size:50}")
+    private int defaultPageSize = 50;
+    @Value("${simplepay.pagination.max-size:500}")
+    private int maxPageSize = 500;
+
+    @Operation(summary = "Extrato de uma carteira, da transferência mais recente para a mais antiga",
+        description = "Inclui transferências enviadas e recebidas criadas entre from (inclusivo) e to (exclusivo); "
+            + "passe nextCursor como cursor para obter a próxima página")
+    @GetMapping
+    public StatementPage getStatement(@RequestParam Long party,
+                                      @RequestParam TransactionPartyType type,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(required = false) Integer size) {
+        int pageSize = size != null ? Math.min(Math.max(size, 1), maxPageSize) : defaultPageSize;
+        return transactionService.findStatement(party, type, from, to, cursor, pageSize);
+    }
+}
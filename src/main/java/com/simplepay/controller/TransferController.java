@@ -1,46 +1,88 @@
 package com.simplepay.controller;
 
+import com.simplepay.domain.dto.BatchTransferItemResult;
+import com.simplepay.domain.dto.IdempotencyClaim;
+import com.simplepay.domain.dto.IdempotentResult;
+import com.simplepay.domain.dto.TransferCommand;
+import com.simplepay.domain.entity.FinancialTransaction;
+import com.simplepay.domain.entity.FinancialTransactionHistory;
 import com.simplepay.domain.enums.TransactionPartyType;
 import com.simplepay.domain.enums.TransactionStatus;
+import com.simplepay.domain.exception.BusinessException;
 import com.simplepay.domain.service.FinancialTransactionService;
+import com.simplepay.domain.service.IdempotencyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.net.URI;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/transfer")
 @Tag(name = "Transfer", description = "Endpoint para transferências financeiras entre usuários e lojistas")
 public class TransferController {
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
 
     @Autowired
     private FinancialTransactionService transactionService;
 
-    @Operation(summary = "Realiza uma transferência financeira entre usuários/lojistas")
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Operation(summary = "Realiza uma transferência financeira entre usuários/lojistas",
+        description = "Com mode=async a transferência é validada, registrada como PENDING e concluída em segundo plano; "
+            + "a resposta 202 traz o id para consulta em GET /transfer/{id}. Com o header Idempotency-Key, "
+            + "repetições da mesma requisição devolvem o resultado original sem nova transferência")
     @PostMapping
-    public ResponseEntity<?> transfer(@Valid @RequestBody TransferRequest request) {
-        TransactionStatus status = transactionService.transfer(
-            request.value(),
-            request.payer(),
-            request.payerType(),
-            request.payee(),
-            request.payeeType()
-        );
+    public ResponseEntity<?> transfer(@Valid @RequestBody TransferRequest request,
+                                      @RequestParam(defaultValue = "sync") String mode,
+                                      @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        boolean async = "async".equalsIgnoreCase(mode);
+        if (!async && !"sync".equalsIgnoreCase(mode)) {
+            throw new BusinessException("mode deve ser sync ou async");
+        }
+        Function<IdempotencyClaim, IdempotentResult> action = async
+            ? claim -> new IdempotentResult(TransactionStatus.PENDING, transactionService.submit(
+                request.value(), request.payer(), request.payerType(), request.payee(), request.payeeType(), claim))
+            : claim -> new IdempotentResult(transactionService.transfer(
+                request.value(), request.payer(), request.payerType(), request.payee(), request.payeeType(), claim), null);
+        IdempotentResult result = idempotencyKey == null
+            ? action.apply(null)
+            : idempotencyService.execute(idempotencyKey, mode.toLowerCase() + "|" + request, action);
+        return async ? accepted(result.transactionId()) : completed(result.status());
+    }
+
+    private ResponseEntity<?> completed(TransactionStatus status) {
         Map<String, Object> response = new HashMap<>();
         response.put("status", status);
         response.put("message", getStatusMessage(status));
         response.put("timestamp", LocalDateTime.now());
         return ResponseEntity.ok(response);
     }
+
+    private ResponseEntity<?> accepted(Long transactionId) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("transactionId", transactionId);
+        response.put("status", TransactionStatus.PENDING);
+        response.put("message", getStatusMessage(TransactionStatus.PENDING));
+        response.put("timestamp", LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+            .location(URI.create("/transfer/" + transactionId))
+            .body(response);
+    }
     
     private String getStatusMessage(TransactionStatus status) {
         switch (status) {
@@ -57,6 +99,45 @@ public class TransferController {
         }
     }
 
+    @Operation(summary = "Realiza um lote de transferências em uma única transação",
+        description = "Cada carteira é bloqueada uma única vez e recebe um único update com o saldo líquido; "
+            + "a resposta traz o status de cada item na ordem do lote")
+    @PostMapping("/batch")
+    public ResponseEntity<?> transferBatch(@Valid @RequestBody BatchTransferRequest request) {
+        List<TransferCommand> items = request.transfers().stream()
+            .map(TransferRequest::toCommand)
+            .toList();
+        List<BatchTransferItemResult> results = transactionService.transferBatch(items);
+        long succeeded = results.stream().filter(r -> r.status() == TransactionStatus.SUCCESS).count();
+        Map<String, Object> response = new HashMap<>();
+        response.put("results", results);
+        response.put("succeeded", succeeded);
+        response.put("failed", results.size() - succeeded);
+        response.put("timestamp", LocalDateTime.now());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Consulta o status de uma transferência")
+    @GetMapping("/{id}")
+    public ResponseEntity<TransferStatusResponse> getTransfer(@PathVariable Long id) {
+        return transactionService.findById(id)
+                .map(TransferStatusResponse::from)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Lista o histórico de status de uma transferência")
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<TransferHistoryEntry>> getTransferHistory(@PathVariable Long id) {
+        if (transactionService.findById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        List<TransferHistoryEntry> history = transactionService.findHistory(id).stream()
+                .map(TransferHistoryEntry::from)
+                .toList();
+        return ResponseEntity.ok(history);
+    }
+
 	public record TransferRequest(
 		@NotNull(message = "Value is required")
 		@Positive(message = "Value must be positive")
@@ -73,5 +154,45 @@ public class TransferController {
 
 		@NotNull(message = "Payee type is required")
 		TransactionPartyType payeeType
+	) {
+		TransferCommand toCommand() {
+			return new TransferCommand(value, payer, payerType, payee, payeeType);
+		}
+	}
+
+	public record BatchTransferRequest(
+		@NotEmpty(message = "Transfers are required")
+		List<@Valid TransferRequest> transfers
 	) {}
+
+	public record TransferStatusResponse(
+		Long id,
+		BigDecimal value,
+		Long payer,
+		TransactionPartyType payerType,
+		Long payee,
+		TransactionPartyType payeeType,
+		TransactionStatus status,
+		LocalDateTime createdAt,
+		LocalDateTime updatedAt
+	) {
+		static TransferStatusResponse from(FinancialTransaction transaction) {
+			return new TransferStatusResponse(transaction.getId(), transaction.getValue(),
+				transaction.getPayer(), transaction.getPayerType(), transaction.getPayee(),
+				transaction.getPayeeType(), transaction.getStatus(), transaction.getCreatedAt(),
+				transaction.getUpdatedAt());
+		}
+	}
+
+	public record TransferHistoryEntry(
+		TransactionStatus oldStatus,
+		TransactionStatus newStatus,
+		LocalDateTime changedAt,
+		String note
+	) {
+		static TransferHistoryEntry from(FinancialTransactionHistory history) {
+			return new TransferHistoryEntry(history.getOldStatus(), history.getNewStatus(),
+				history.getChangedAt(), history.getNote());
+		}
+	}
 }
@@ -1,14 +1,17 @@
 package com.simplepay.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simplepay.domain.dto.CursorPage;
+import com.simplepay.domain.dto.UserView;
 import com.simplepay.domain.entity.User;
 import com.simplepay.domain.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/users")
@@ -16,31 +19,48 @@ import java.util.List;
 public class UserController {
     @Autowired
     private UserService userService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Value("${simplepay.pagination.default-size:50}")
+    private int defaultPageSize = 50;
+    @Value("${simplepay.pagination.max-size:500}")
+    private int maxPageSize = 500;
+    @Value("${simplepay.export.flush-every:500}")
+    private int exportFlushEvery = 500;
 
-    @Operation(summary = "Get all users")
+    @Operation(summary = "List users in id order, one page at a time")
     @GetMapping
-    public List<User> getAllUsers() {
-        return userService.findAll();
+    public CursorPage<UserView> getAllUsers(@RequestParam(required = false) Long after,
+                                        @RequestParam(required = false) Integer size) {
+        int pageSize = size != null ? Math.min(Math.max(size, 1), maxPageSize) : defaultPageSize;
+        return userService.findPage(after, pageSize);
+    }
+
+    @Operation(summary = "Export all users as NDJSON")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return NdjsonExport.of(objectMapper.writerFor(UserView.class), exportFlushEvery, userService::forEach);
     }
 
     @Operation(summary = "Get user by id")
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
-        return userService.findById(id)
+    public ResponseEntity<UserView> getUserById(@PathVariable Long id) {
+        return userService.findViewById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @Operation(summary = "Create a new user")
     @PostMapping
-    public User createUser(@RequestBody User user) {
-        return userService.save(user);
+    public UserView createUser(@RequestBody User user) {
+        return UserView.from(userService.save(user));
     }
 
     @Operation(summary = "Update user by id")
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable Long id, @RequestBody User user) {
+    public ResponseEntity<UserView> updateUser(@PathVariable Long id, @RequestBody User user) {
         return userService.update(id, user)
+                .map(UserView::from)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
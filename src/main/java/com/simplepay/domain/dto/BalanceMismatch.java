@@ -0,0 +1,16 @@
+package com.simplepay.domain.dto;
+
+import com.simplepay.domain.enums.TransactionPartyType;
+
+import java.math.BigDecimal;
+
+/**
+ * A wallet whose balance column disagrees with its latest snapshot plus the
+ * ledger entries created after it.
+ */
+public record BalanceMismatch(
+    TransactionPartyType walletType,
+    Long walletId,
+    BigDecimal materialized,
+    BigDecimal derived
+) {}
@@ -0,0 +1,22 @@
+package com.simplepay.domain.dto;
+
+import com.simplepay.domain.enums.TransactionStatus;
+
+/**
+ * Outcome of one item of a batch transfer, reported at the item's position in
+ * the request. Rejected items carry the reason and no transaction id.
+ */
+public record BatchTransferItemResult(
+    int index,
+    Long transactionId,
+    TransactionStatus status,
+    String error
+) {
+    public static BatchTransferItemResult succeeded(int index, Long transactionId) {
+        return new BatchTransferItemResult(index, transactionId, TransactionStatus.SUCCESS, null);
+    }
+
+    public static BatchTransferItemResult rejected(int index, String error) {
+        return new BatchTransferItemResult(index, null, TransactionStatus.FAILED, error);
+    }
+}
@@ -0,0 +1,25 @@
+package com.simplepay.domain.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of rows in id order. Pass {@code nextCursor} back as {@code after}
+ * to get the next page; it is {@code null} on the last page.
+ */
+public record CursorPage<T>(
+    List<T> items,
+    Long nextCursor
+) {
+    /**
+     * Builds a page from up to {@code size + 1} rows; the extra row only tells
+     * whether another page exists and is not returned.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, Long> idOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        return new CursorPage<>(List.copyOf(items), idOf.apply(items.get(size - 1)));
+    }
+}
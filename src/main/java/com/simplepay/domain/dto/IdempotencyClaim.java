@@ -0,0 +1,10 @@
+package com.simplepay.domain.dto;
+
+/**
+ * A request's hold on its {@code Idempotency-Key}. The token identifies this
+ * claim, so a request whose claim was taken over can no longer complete it.
+ */
+public record IdempotencyClaim(
+    String key,
+    String token
+) {}
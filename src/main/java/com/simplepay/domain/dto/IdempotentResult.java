@@ -0,0 +1,12 @@
+package com.simplepay.domain.dto;
+
+import com.simplepay.domain.enums.TransactionStatus;
+
+/**
+ * Outcome of a transfer request as remembered for its idempotency key. The
+ * transaction id is only known for async submissions.
+ */
+public record IdempotentResult(
+    TransactionStatus status,
+    Long transactionId
+) {}
@@ -0,0 +1,29 @@
+package com.simplepay.domain.dto;
+
+import com.simplepay.domain.entity.Seller;
+import com.simplepay.domain.entity.User;
+import com.simplepay.domain.enums.TransactionPartyType;
+
+/**
+ * What transfer validation needs to know about a party besides its balance:
+ * that it exists, its type, where to send notifications and how many balance
+ * stripes its credits are spread over (0 for unstriped wallets). Safe to cache.
+ */
+public record PartyInfo(
+    Long id,
+    TransactionPartyType type,
+    String email,
+    int balanceStripes
+) {
+    public static PartyInfo of(User user) {
+        return new PartyInfo(user.getId(), TransactionPartyType.USER, user.getMail(), 0);
+    }
+
+    public static PartyInfo of(Seller seller) {
+        return new PartyInfo(seller.getId(), TransactionPartyType.SELLER, seller.getEmail(), seller.getBalanceStripes());
+    }
+
+    public static PartyInfo of(UserView user) {
+        return new PartyInfo(user.id(), TransactionPartyType.USER, user.mail(), 0);
+    }
+}
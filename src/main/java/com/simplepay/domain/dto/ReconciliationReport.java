@@ -0,0 +1,12 @@
+package com.simplepay.domain.dto;
+
+import java.util.List;
+
+public record ReconciliationReport(
+    int walletsChecked,
+    List<BalanceMismatch> mismatches
+) {
+    public boolean consistent() {
+        return mismatches.isEmpty();
+    }
+}
@@ -0,0 +1,25 @@
+package com.simplepay.domain.dto;
+
+import com.simplepay.domain.entity.Seller;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Public fields of a seller, selected straight into this record by the
+ * repository. Never carries the password hash.
+ */
+public record SellerView(
+    Long id,
+    String name,
+    String document,
+    String email,
+    BigDecimal balance,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {
+    public static SellerView from(Seller seller) {
+        return new SellerView(seller.getId(), seller.getName(), seller.getDocument(), seller.getEmail(),
+            seller.getBalance(), seller.getCreatedAt(), seller.getUpdatedAt());
+    }
+}
@@ -0,0 +1,22 @@
+package com.simplepay.domain.dto;
+
+import com.simplepay.domain.enums.TransactionPartyType;
+import com.simplepay.domain.enums.TransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One transfer on a party's statement, selected straight into this record by
+ * the repository.
+ */
+public record StatementEntry(
+    Long transactionId,
+    BigDecimal value,
+    Long payer,
+    TransactionPartyType payerType,
+    Long payee,
+    TransactionPartyType payeeType,
+    TransactionStatus status,
+    LocalDateTime createdAt
+) {}
@@ -0,0 +1,12 @@
+package com.simplepay.domain.dto;
+
+import java.util.List;
+
+/**
+ * One page of a statement, newest transfer first. Pass {@code nextCursor} back
+ * as {@code cursor} to get the next page; it is {@code null} on the last page.
+ */
+public record StatementPage(
+    List<StatementEntry> items,
+    String nextCursor
+) {}
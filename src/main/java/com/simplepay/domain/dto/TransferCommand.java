@@ -0,0 +1,16 @@
+package com.simplepay.domain.dto;
+
+import com.simplepay.domain.enums.TransactionPartyType;
+
+import java.math.BigDecimal;
+
+/**
+ * A single transfer to be settled, independent of how it reached the service.
+ */
+public record TransferCommand(
+    BigDecimal value,
+    Long payer,
+    TransactionPartyType payerType,
+    Long payee,
+    TransactionPartyType payeeType
+) {}
@@ -0,0 +1,25 @@
+package com.simplepay.domain.dto;
+
+import com.simplepay.domain.entity.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Public fields of a user, selected straight into this record by the
+ * repository. Never carries the password hash.
+ */
+public record UserView(
+    Long id,
+    String name,
+    String document,
+    String mail,
+    BigDecimal balance,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {
+    public static UserView from(User user) {
+        return new UserView(user.getId(), user.getName(), user.getDocument(), user.getMail(),
+            user.getBalance(), user.getCreatedAt(), user.getUpdatedAt());
+    }
+}
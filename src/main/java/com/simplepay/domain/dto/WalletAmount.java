@@ -0,0 +1,15 @@
+package com.simplepay.domain.dto;
+
+import com.simplepay.domain.enums.TransactionPartyType;
+
+import java.math.BigDecimal;
+
+/**
+ * An amount attached to one wallet: a sum of ledger entries or transfers, a
+ * snapshot balance or a materialized balance, depending on the query.
+ */
+public record WalletAmount(
+    TransactionPartyType walletType,
+    Long walletId,
+    BigDecimal amount
+) {}
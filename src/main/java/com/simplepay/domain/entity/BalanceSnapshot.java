@@ -0,0 +1,57 @@
+package com.simplepay.domain.entity;
+
+import com.simplepay.domain.enums.TransactionPartyType;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A wallet's balance folded from every ledger entry created at or before
+ * {@code asOf}. The current balance is the latest snapshot plus the entries
+ * created after it.
+ */
+@Entity
+@Table(name = "balance_snapshots", indexes = {
+    @Index(name = "idx_balance_snapshots_wallet_as_of", columnList = "wallet_type, wallet_id, as_of")
+})
+public class BalanceSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "balance_snapshots_seq")
+    @SequenceGenerator(name = "balance_snapshots_seq", sequenceName = "balance_snapshots_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "wallet_type", nullable = false, updatable = false, length = 20)
+    private TransactionPartyType walletType;
+
+    @Column(name = "wallet_id", nullable = false, updatable = false)
+    private Long walletId;
+
+    @Column(name = "balance", nullable = false, updatable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    @Column(name = "as_of", nullable = false, updatable = false)
+    private LocalDateTime asOf;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public BalanceSnapshot() {}
+
+    public BalanceSnapshot(TransactionPartyType walletType, Long walletId, BigDecimal balance, LocalDateTime asOf) {
+        this.walletType = walletType;
+        this.walletId = walletId;
+        this.balance = balance;
+        this.asOf = asOf;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public TransactionPartyType getWalletType() { return walletType; }
+    public Long getWalletId() { return walletId; }
+    public BigDecimal getBalance() { return balance; }
+    public LocalDateTime getAsOf() { return asOf; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -8,11 +8,16 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "financial_transactions")
+@Table(name = "financial_transactions", indexes = {
+    @Index(name = "idx_financial_transactions_payer_created", columnList = "payer_type, payer_id, created_at, id"),
+    @Index(name = "idx_financial_transactions_payee_created", columnList = "payee_type, payee_id, created_at, id"),
+    @Index(name = "idx_financial_transactions_status_updated", columnList = "status, updated_at")
+})
 public class FinancialTransaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "financial_transactions_seq")
+    @SequenceGenerator(name = "financial_transactions_seq", sequenceName = "financial_transactions_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -5,19 +5,24 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "financial_transaction_history")
+@Table(name = "financial_transaction_history", indexes = {
+    @Index(name = "idx_financial_transaction_history_transaction", columnList = "transaction_id, id")
+})
 public class FinancialTransactionHistory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "financial_transaction_history_seq")
+    @SequenceGenerator(name = "financial_transaction_history_seq", sequenceName = "financial_transaction_history_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "transaction_id", nullable = false)
+    // financial_transactions is partitioned on created_at, so id alone is not a
+    // unique key a foreign key could reference.
+    @JoinColumn(name = "transaction_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private FinancialTransaction transaction;
 
     @Enumerated(EnumType.STRING)
-    @Column(name = "old_status", nullable = false, length = 20)
+    @Column(name = "old_status", length = 20)
     private TransactionStatus oldStatus;
 
     @Enumerated(EnumType.STRING)
@@ -0,0 +1,65 @@
+package com.simplepay.domain.entity;
+
+import com.simplepay.domain.enums.LedgerEntryType;
+import com.simplepay.domain.enums.TransactionPartyType;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One append-only movement on a wallet. Amounts are signed: debits are
+ * negative, so a wallet's balance is the sum of its entries. Rows are never
+ * updated or deleted.
+ */
+@Entity
+@Table(name = "ledger_entries", indexes = {
+    @Index(name = "idx_ledger_entries_wallet_created", columnList = "wallet_type, wallet_id, created_at"),
+    @Index(name = "idx_ledger_entries_created", columnList = "created_at")
+})
+public class LedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_entries_seq")
+    @SequenceGenerator(name = "ledger_entries_seq", sequenceName = "ledger_entries_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "transaction_id", updatable = false)
+    private Long transactionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "wallet_type", nullable = false, updatable = false, length = 20)
+    private TransactionPartyType walletType;
+
+    @Column(name = "wallet_id", nullable = false, updatable = false)
+    private Long walletId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, updatable = false, length = 20)
+    private LedgerEntryType entryType;
+
+    @Column(name = "amount", nullable = false, updatable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public LedgerEntry() {}
+
+    public LedgerEntry(Long transactionId, TransactionPartyType walletType, Long walletId, LedgerEntryType entryType, BigDecimal amount) {
+        this.transactionId = transactionId;
+        this.walletType = walletType;
+        this.walletId = walletId;
+        this.entryType = entryType;
+        this.amount = amount;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public Long getTransactionId() { return transactionId; }
+    public TransactionPartyType getWalletType() { return walletType; }
+    public Long getWalletId() { return walletId; }
+    public LedgerEntryType getEntryType() { return entryType; }
+    public BigDecimal getAmount() { return amount; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,16 @@
+package com.simplepay.domain.entity;
+
+/**
+ * An account whose password is set in plain text and hashed later, off the
+ * request path, by {@link com.simplepay.domain.service.PasswordHashingService}.
+ */
+public interface PasswordProtected {
+
+    /** The plain password waiting to be hashed, or {@code null} when there is none. */
+    String pendingPassword();
+
+    /** Stores the hash and drops the pending plain password. */
+    void applyPasswordHash(String passwordHash);
+
+    String getPassword();
+}
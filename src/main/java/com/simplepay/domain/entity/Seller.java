@@ -5,7 +5,7 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -16,10 +16,11 @@ import java.util.Objects;
     @UniqueConstraint(columnNames = "document"),
     @UniqueConstraint(columnNames = "email")
 })
-public class Seller {
+public class Seller implements PasswordProtected {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sellers_seq")
+    @SequenceGenerator(name = "sellers_seq", sequenceName = "sellers_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Name is required")
@@ -41,10 +42,28 @@ public class Seller {
     @Column(name = "seller_password", nullable = false)
     private String password;
 
+    /** Plain password set through the API; hashed before the row is written. */
+    @Transient
+    private String pendingPassword;
+
     @NotNull(message = "Balance is required")
     @Column(name = "balance", nullable = false, precision = 19, scale = 2)
     private BigDecimal balance;
 
+    /**
+     * Number of stripe rows that credits are spread over; 0 keeps every credit
+     * on {@code balance}. Only changed through a bulk update, never by saving
+     * the entity, so a stale copy cannot switch striping off.
+     */
+    @ColumnDefault("0")
+    @Column(name = "balance_stripes", nullable = false, updatable = false)
+    private int balanceStripes;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -59,7 +78,7 @@ public class Seller {
         this.name = name;
         this.document = document;
         this.email = email;
-        this.password = encryptPassword(password);
+        this.pendingPassword = password;
         this.balance = BigDecimal.ZERO;
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
@@ -70,7 +89,7 @@ public class Seller {
         this.name = name;
         this.document = document;
         this.email = email;
-        this.password = encryptPassword(password);
+        this.pendingPassword = password;
         this.balance = balance != null ? balance : BigDecimal.ZERO;
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
@@ -87,11 +106,6 @@ public class Seller {
         this.updatedAt = LocalDateTime.now();
     }
 
-    private String encryptPassword(String plainPassword) {
-        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-        return encoder.encode(plainPassword);
-    }
-
     private void validatePlainPassword(String plainPassword) {
         if (plainPassword == null || plainPassword.trim().isEmpty()) {
             throw new IllegalArgumentException("Password is required");
@@ -101,17 +115,23 @@ public class Seller {
         }
     }
 
-    public boolean verifyPassword(String plainPassword) {
-        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-        return encoder.matches(plainPassword, this.password);
-    }
-
     public void updatePassword(String newPassword) {
         validatePlainPassword(newPassword);
-        this.password = encryptPassword(newPassword);
+        this.pendingPassword = newPassword;
         this.updatedAt = LocalDateTime.now();
     }
 
+    @Override
+    public String pendingPassword() {
+        return pendingPassword;
+    }
+
+    @Override
+    public void applyPasswordHash(String passwordHash) {
+        this.password = passwordHash;
+        this.pendingPassword = null;
+    }
+
     public void addToBalance(BigDecimal amount) {
         if (amount != null && amount.compareTo(BigDecimal.ZERO) > 0) {
             this.balance = this.balance.add(amount);
@@ -166,13 +186,14 @@ public class Seller {
         this.email = email;
     }
 
+    @Override
     public String getPassword() {
         return password;
     }
 
     public void setPassword(String password) {
         validatePlainPassword(password);
-        this.password = encryptPassword(password);
+        this.pendingPassword = password;
         this.updatedAt = LocalDateTime.now();
     }
 
@@ -185,6 +206,18 @@ public class Seller {
         this.updatedAt = LocalDateTime.now();
     }
 
+    public int getBalanceStripes() {
+        return balanceStripes;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,71 @@
+package com.simplepay.domain.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * One slice of a striped seller's balance. Credits land on a random stripe so
+ * concurrent transfers to the same seller lock different rows; the seller's
+ * balance is its {@code balance} column plus the sum of its stripes.
+ */
+@Entity
+@Table(name = "seller_balance_stripes")
+@IdClass(SellerBalanceStripe.Key.class)
+public class SellerBalanceStripe {
+
+    @Id
+    @Column(name = "seller_id", nullable = false, updatable = false)
+    private Long sellerId;
+
+    @Id
+    @Column(name = "stripe", nullable = false, updatable = false)
+    private Integer stripe;
+
+    @Column(name = "balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public SellerBalanceStripe() {}
+
+    public SellerBalanceStripe(Long sellerId, Integer stripe) {
+        this.sellerId = sellerId;
+        this.stripe = stripe;
+        this.balance = BigDecimal.ZERO;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public Long getSellerId() { return sellerId; }
+    public Integer getStripe() { return stripe; }
+    public BigDecimal getBalance() { return balance; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public static class Key implements Serializable {
+        private Long sellerId;
+        private Integer stripe;
+
+        public Key() {}
+
+        public Key(Long sellerId, Integer stripe) {
+            this.sellerId = sellerId;
+            this.stripe = stripe;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(sellerId, key.sellerId) && Objects.equals(stripe, key.stripe);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sellerId, stripe);
+        }
+    }
+}
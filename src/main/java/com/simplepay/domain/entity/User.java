@@ -5,7 +5,7 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -16,10 +16,11 @@ import java.util.Objects;
     @UniqueConstraint(columnNames = "document"),
     @UniqueConstraint(columnNames = "mail")
 })
-public class User {
+public class User implements PasswordProtected {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Name is required")
@@ -41,10 +42,19 @@ public class User {
     @Column(name = "user_password", nullable = false)
     private String password;
 
+    /** Plain password set through the API; hashed before the row is written. */
+    @Transient
+    private String pendingPassword;
+
     @NotNull(message = "Balance is required")
     @Column(name = "balance", nullable = false, precision = 19, scale = 2)
     private BigDecimal balance;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -59,7 +69,7 @@ public class User {
         this.name = name;
         this.document = document;
         this.mail = mail;
-        this.password = encryptPassword(password);
+        this.pendingPassword = password;
         this.balance = BigDecimal.ZERO;
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
@@ -70,7 +80,7 @@ public class User {
         this.name = name;
         this.document = document;
         this.mail = mail;
-        this.password = encryptPassword(password);
+        this.pendingPassword = password;
         this.balance = balance != null ? balance : BigDecimal.ZERO;
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
@@ -87,11 +97,6 @@ public class User {
         this.updatedAt = LocalDateTime.now();
     }
 
-    private String encryptPassword(String plainPassword) {
-        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-        return encoder.encode(plainPassword);
-    }
-
     private void validatePlainPassword(String plainPassword) {
         if (plainPassword == null || plainPassword.trim().isEmpty()) {
             throw new IllegalArgumentException("Password is required");
@@ -101,17 +106,23 @@ public class User {
         }
     }
 
-    public boolean verifyPassword(String plainPassword) {
-        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-        return encoder.matches(plainPassword, this.password);
-    }
-
     public void updatePassword(String newPassword) {
         validatePlainPassword(newPassword);
-        this.password = encryptPassword(newPassword);
+        this.pendingPassword = newPassword;
         this.updatedAt = LocalDateTime.now();
     }
 
+    @Override
+    public String pendingPassword() {
+        return pendingPassword;
+    }
+
+    @Override
+    public void applyPasswordHash(String passwordHash) {
+        this.password = passwordHash;
+        this.pendingPassword = null;
+    }
+
     public Long getId() {
         return id;
     }
@@ -144,13 +155,14 @@ public class User {
         this.mail = mail;
     }
 
+    @Override
     public String getPassword() {
         return password;
     }
 
     public void setPassword(String password) {
         validatePlainPassword(password);
-        this.password = encryptPassword(password);
+        this.pendingPassword = password;
         this.updatedAt = LocalDateTime.now();
     }
 
@@ -185,6 +197,14 @@ public class User {
         return amount != null && this.balance.compareTo(amount) >= 0;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,6 @@
+package com.simplepay.domain.enums;
+
+public enum IdempotencyState {
+    IN_PROGRESS,
+    COMPLETED
+}
@@ -0,0 +1,9 @@
+package com.simplepay.domain.enums;
+
+public enum LedgerEntryType {
+    OPENING,
+    ADJUSTMENT,
+    // Transfer legs written before V7; transfers are now read from financial_transactions.
+    DEBIT,
+    CREDIT
+}
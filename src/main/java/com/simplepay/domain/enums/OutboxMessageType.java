@@ -0,0 +1,6 @@
+package com.simplepay.domain.enums;
+
+public enum OutboxMessageType {
+    PAYEE_NOTIFICATION,
+    TRANSFER_COMPLETED
+}
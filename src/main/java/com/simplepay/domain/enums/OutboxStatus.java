@@ -0,0 +1,7 @@
+package com.simplepay.domain.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    DELIVERED,
+    FAILED
+}
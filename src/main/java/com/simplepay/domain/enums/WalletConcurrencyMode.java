@@ -0,0 +1,7 @@
+package com.simplepay.domain.enums;
+
+public enum WalletConcurrencyMode {
+    ATOMIC,
+    OPTIMISTIC,
+    PESSIMISTIC
+}
@@ -0,0 +1,21 @@
+package com.simplepay.domain.event;
+
+import com.simplepay.domain.enums.TransactionPartyType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Published once per settled transfer on the transfer-completed stream.
+ * Downstream consumers (notification, analytics, ledger read models)
+ * subscribe with their own consumer group.
+ */
+public record TransferCompletedEvent(
+    Long transactionId,
+    Long payer,
+    TransactionPartyType payerType,
+    Long payee,
+    TransactionPartyType payeeType,
+    BigDecimal value,
+    LocalDateTime completedAt
+) {}
@@ -0,0 +1,12 @@
+package com.simplepay.domain.exception;
+
+/**
+ * The external authorizer was not called because its circuit breaker is
+ * open or too many calls to it are already in flight; the transfer was not
+ * attempted and may be retried later.
+ */
+public class AuthorizerUnavailableException extends BusinessException {
+    public AuthorizerUnavailableException(Throwable cause) {
+        super("Serviço autorizador indisponível, tente novamente", cause);
+    }
+}
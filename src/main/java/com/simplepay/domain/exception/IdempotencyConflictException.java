@@ -0,0 +1,11 @@
+package com.simplepay.domain.exception;
+
+/**
+ * The idempotency key is already bound to another request, or its first
+ * request is still being processed.
+ */
+public class IdempotencyConflictException extends BusinessException {
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
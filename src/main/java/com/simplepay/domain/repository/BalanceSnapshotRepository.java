@@ -0,0 +1,31 @@
+package com.simplepay.domain.repository;
+
+import com.simplepay.domain.dto.WalletAmount;
+import com.simplepay.domain.entity.BalanceSnapshot;
+import com.simplepay.domain.enums.TransactionPartyType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+
+    @Query("SELECT MAX(s.asOf) FROM BalanceSnapshot s")
+    Optional<LocalDateTime> findLatestAsOf();
+
+    Optional<BalanceSnapshot> findFirstByWalletTypeAndWalletIdOrderByAsOfDesc(TransactionPartyType walletType, Long walletId);
+
+    /** Latest snapshot balance of each given wallet taken at or before {@code asOf}. */
+    @Query("SELECT new com.simplepay.domain.dto.WalletAmount(s.walletType, s.walletId, s.balance) FROM BalanceSnapshot s " +
+           "WHERE s.walletType = :walletType AND s.walletId IN :walletIds AND s.asOf = " +
+           "(SELECT MAX(s2.asOf) FROM BalanceSnapshot s2 WHERE s2.walletType = s.walletType AND s2.walletId = s.walletId AND s2.asOf <= :asOf)")
+    List<WalletAmount> findLatestBalances(@Param("walletType") TransactionPartyType walletType,
+                                          @Param("walletIds") Collection<Long> walletIds,
+                                          @Param("asOf") LocalDateTime asOf);
+}
@@ -0,0 +1,13 @@
+package com.simplepay.domain.repository;
+
+import com.simplepay.domain.entity.FinancialTransactionHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FinancialTransactionHistoryRepository extends JpaRepository<FinancialTransactionHistory, Long> {
+
+    List<FinancialTransactionHistory> findByTransactionIdOrderByIdAsc(Long transactionId);
+}
@@ -0,0 +1,91 @@
+package com.simplepay.domain.repository;
+
+import com.simplepay.domain.dto.StatementEntry;
+import com.simplepay.domain.dto.WalletAmount;
+import com.simplepay.domain.entity.FinancialTransaction;
+import com.simplepay.domain.enums.TransactionPartyType;
+import com.simplepay.domain.enums.TransactionStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FinancialTransactionRepository extends JpaRepository<FinancialTransaction, Long> {
+
+    String SETTLED = "t.status = com.simplepay.domain.enums.TransactionStatus.SUCCESS ";
+
+    String STATEMENT_SELECT = "SELECT new com.simplepay.domain.dto.StatementEntry(t.id, t.value, t.payer, t.payerType, " +
+        "t.payee, t.payeeType, t.status, t.createdAt) FROM FinancialTransaction t ";
+
+    @Query("SELECT t.id FROM FinancialTransaction t WHERE t.status = :status AND t.updatedAt < :before ORDER BY t.id")
+    List<Long> findIdsByStatusUpdatedBefore(@Param("status") TransactionStatus status, @Param("before") LocalDateTime before, Limit limit);
+
+    /**
+     * Transfers paid by the party created in {@code [from, beforeAt)}, or at
+     * {@code beforeAt} with an id below {@code beforeId}, newest first. Served by
+     * a range scan on idx_financial_transactions_payer_created.
+     */
+    @Query(STATEMENT_SELECT + "WHERE t.payerType = :type AND t.payer = :party AND t.createdAt >= :from " +
+           "AND (t.createdAt, t.id) < (:beforeAt, :beforeId) ORDER BY t.createdAt DESC, t.id DESC")
+    List<StatementEntry> findPaidBefore(@Param("party") Long party, @Param("type") TransactionPartyType type,
+                                        @Param("from") LocalDateTime from, @Param("beforeAt") LocalDateTime beforeAt,
+                                        @Param("beforeId") Long beforeId, Limit limit);
+
+    /** Same as {@link #findPaidBefore} for transfers the party received. */
+    @Query(STATEMENT_SELECT + "WHERE t.payeeType = :type AND t.payee = :party AND t.createdAt >= :from " +
+           "AND (t.createdAt, t.id) < (:beforeAt, :beforeId) ORDER BY t.createdAt DESC, t.id DESC")
+    List<StatementEntry> findReceivedBefore(@Param("party") Long party, @Param("type") TransactionPartyType type,
+                                            @Param("from") LocalDateTime from, @Param("beforeAt") LocalDateTime beforeAt,
+                                            @Param("beforeId") Long beforeId, Limit limit);
+
+    // The ledger reads transfer legs from here: the payer of a SUCCESS row is
+    // debited and the payee credited, as of updated_at (when it settled).
+
+    /** Amount each wallet paid in transfers settled in {@code (from, to]}. */
+    @Query("SELECT new com.simplepay.domain.dto.WalletAmount(t.payerType, t.payer, SUM(t.value)) FROM FinancialTransaction t " +
+           "WHERE " + SETTLED + "AND t.updatedAt > :from AND t.updatedAt <= :to GROUP BY t.payerType, t.payer")
+    List<WalletAmount> sumPaidByWalletBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /** Amount each wallet received in transfers settled in {@code (from, to]}. */
+    @Query("SELECT new com.simplepay.domain.dto.WalletAmount(t.payeeType, t.payee, SUM(t.value)) FROM FinancialTransaction t " +
+           "WHERE " + SETTLED + "AND t.updatedAt > :from AND t.updatedAt <= :to GROUP BY t.payeeType, t.payee")
+    List<WalletAmount> sumReceivedByWalletBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT COALESCE(SUM(t.value), 0) FROM FinancialTransaction t " +
+           "WHERE " + SETTLED + "AND t.payerType = :walletType AND t.payer = :walletId AND t.updatedAt > :after")
+    BigDecimal sumPaidAfter(@Param("walletType") TransactionPartyType walletType, @Param("walletId") Long walletId,
+                            @Param("after") LocalDateTime after);
+
+    @Query("SELECT COALESCE(SUM(t.value), 0) FROM FinancialTransaction t " +
+           "WHERE " + SETTLED + "AND t.payeeType = :walletType AND t.payee = :walletId AND t.updatedAt > :after")
+    BigDecimal sumReceivedAfter(@Param("walletType") TransactionPartyType walletType, @Param("walletId") Long walletId,
+                                @Param("after") LocalDateTime after);
+
+    /**
+     * Amount each wallet paid in transfers settled after its latest snapshot,
+     * or in all of them when it has none yet.
+     */
+    @Query("SELECT new com.simplepay.domain.dto.WalletAmount(t.payerType, t.payer, SUM(t.value)) FROM FinancialTransaction t " +
+           "WHERE " + SETTLED + "AND t.payerType = :walletType AND t.payer IN :walletIds AND t.updatedAt > COALESCE(" +
+           "(SELECT MAX(s.asOf) FROM BalanceSnapshot s WHERE s.walletType = t.payerType AND s.walletId = t.payer), :epoch) " +
+           "GROUP BY t.payerType, t.payer")
+    List<WalletAmount> sumPaidTailsAfterLatestSnapshot(@Param("walletType") TransactionPartyType walletType,
+                                                       @Param("walletIds") Collection<Long> walletIds,
+                                                       @Param("epoch") LocalDateTime epoch);
+
+    /** Same as {@link #sumPaidTailsAfterLatestSnapshot} for transfers the wallets received. */
+    @Query("SELECT new com.simplepay.domain.dto.WalletAmount(t.payeeType, t.payee, SUM(t.value)) FROM FinancialTransaction t " +
+           "WHERE " + SETTLED + "AND t.payeeType = :walletType AND t.payee IN :walletIds AND t.updatedAt > COALESCE(" +
+           "(SELECT MAX(s.asOf) FROM BalanceSnapshot s WHERE s.walletType = t.payeeType AND s.walletId = t.payee), :epoch) " +
+           "GROUP BY t.payeeType, t.payee")
+    List<WalletAmount> sumReceivedTailsAfterLatestSnapshot(@Param("walletType") TransactionPartyType walletType,
+                                                           @Param("walletIds") Collection<Long> walletIds,
+                                                           @Param("epoch") LocalDateTime epoch);
+}
@@ -0,0 +1,48 @@
+package com.simplepay.domain.repository;
+
+import com.simplepay.domain.entity.IdempotencyRecord;
+import com.simplepay.domain.enums.IdempotencyState;
+import com.simplepay.domain.enums.TransactionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByIdempotencyKey(String idempotencyKey);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.claimToken = :token " +
+           "AND r.state = com.simplepay.domain.enums.IdempotencyState.IN_PROGRESS")
+    int deleteClaim(@Param("key") String idempotencyKey, @Param("token") String claimToken);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.claimedAt = :now, r.claimToken = :token " +
+           "WHERE r.idempotencyKey = :key AND r.state = :state AND r.claimedAt < :claimedBefore")
+    int reclaim(@Param("key") String idempotencyKey, @Param("state") IdempotencyState state,
+                @Param("claimedBefore") LocalDateTime claimedBefore, @Param("now") LocalDateTime now,
+                @Param("token") String claimToken);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.state = com.simplepay.domain.enums.IdempotencyState.COMPLETED, " +
+           "r.transactionStatus = :status, r.transactionId = :transactionId, r.completedAt = :now " +
+           "WHERE r.idempotencyKey = :key AND r.claimToken = :token " +
+           "AND r.state = com.simplepay.domain.enums.IdempotencyState.IN_PROGRESS")
+    int complete(@Param("key") String idempotencyKey, @Param("token") String claimToken,
+                 @Param("status") TransactionStatus status, @Param("transactionId") Long transactionId,
+                 @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.state = :state AND r.createdAt < :before")
+    int deleteCreatedBefore(@Param("state") IdempotencyState state, @Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.state = :state AND r.claimedAt < :before")
+    int deleteClaimedBefore(@Param("state") IdempotencyState state, @Param("before") LocalDateTime before);
+}
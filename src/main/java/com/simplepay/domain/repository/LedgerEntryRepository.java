@@ -0,0 +1,42 @@
+package com.simplepay.domain.repository;
+
+import com.simplepay.domain.dto.WalletAmount;
+import com.simplepay.domain.entity.LedgerEntry;
+import com.simplepay.domain.enums.TransactionPartyType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+
+    List<LedgerEntry> findByTransactionIdOrderByIdAsc(Long transactionId);
+
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM LedgerEntry e " +
+           "WHERE e.walletType = :walletType AND e.walletId = :walletId AND e.createdAt > :after")
+    BigDecimal sumAfter(@Param("walletType") TransactionPartyType walletType, @Param("walletId") Long walletId,
+                        @Param("after") LocalDateTime after);
+
+    /** Net movement per wallet for entries created in {@code (from, to]}. */
+    @Query("SELECT new com.simplepay.domain.dto.WalletAmount(e.walletType, e.walletId, SUM(e.amount)) FROM LedgerEntry e " +
+           "WHERE e.createdAt > :from AND e.createdAt <= :to GROUP BY e.walletType, e.walletId")
+    List<WalletAmount> sumByWalletBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Entries each wallet received after its latest snapshot, or all of its
+     * entries when it has none yet.
+     */
+    @Query("SELECT new com.simplepay.domain.dto.WalletAmount(e.walletType, e.walletId, SUM(e.amount)) FROM LedgerEntry e " +
+           "WHERE e.walletType = :walletType AND e.walletId IN :walletIds AND e.createdAt > COALESCE(" +
+           "(SELECT MAX(s.asOf) FROM BalanceSnapshot s WHERE s.walletType = e.walletType AND s.walletId = e.walletId), :epoch) " +
+           "GROUP BY e.walletType, e.walletId")
+    List<WalletAmount> sumTailsAfterLatestSnapshot(@Param("walletType") TransactionPartyType walletType,
+                                                   @Param("walletIds") Collection<Long> walletIds,
+                                                   @Param("epoch") LocalDateTime epoch);
+}
@@ -0,0 +1,39 @@
+package com.simplepay.domain.repository;
+
+import com.simplepay.domain.entity.OutboxMessage;
+import com.simplepay.domain.enums.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Locks the oldest due messages, skipping rows already claimed by another
+     * dispatcher, so several nodes can drain the outbox without double sends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM OutboxMessage m WHERE m.status = :status AND m.nextAttemptAt <= :now ORDER BY m.id")
+    List<OutboxMessage> findDueForUpdate(@Param("status") OutboxStatus status, @Param("now") LocalDateTime now, Limit limit);
+
+    @Query("SELECT m.id FROM OutboxMessage m WHERE m.status = :status AND m.deliveredAt < :before ORDER BY m.id")
+    List<Long> findIdsByStatusDeliveredBefore(@Param("status") OutboxStatus status, @Param("before") LocalDateTime before, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+
+    long countByStatus(OutboxStatus status);
+}
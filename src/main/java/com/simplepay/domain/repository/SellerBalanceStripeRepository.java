@@ -0,0 +1,43 @@
+package com.simplepay.domain.repository;
+
+import com.simplepay.domain.entity.SellerBalanceStripe;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SellerBalanceStripeRepository extends JpaRepository<SellerBalanceStripe, SellerBalanceStripe.Key> {
+
+    List<SellerBalanceStripe> findBySellerIdOrderByStripe(Long sellerId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT st FROM SellerBalanceStripe st WHERE st.sellerId = :sellerId ORDER BY st.stripe")
+    List<SellerBalanceStripe> findBySellerIdForUpdate(@Param("sellerId") Long sellerId);
+
+    /**
+     * Adds {@code amount} (negative when folding) to one stripe. Only that
+     * stripe row is locked. Returns 0 when the stripe does not exist.
+     */
+    @Modifying
+    @Query("UPDATE SellerBalanceStripe st SET st.balance = st.balance + :amount, st.updatedAt = :now " +
+           "WHERE st.sellerId = :sellerId AND st.stripe = :stripe")
+    int add(@Param("sellerId") Long sellerId, @Param("stripe") int stripe,
+            @Param("amount") BigDecimal amount, @Param("now") LocalDateTime now);
+
+    @Query("SELECT DISTINCT st.sellerId FROM SellerBalanceStripe st WHERE st.balance <> 0 ORDER BY st.sellerId")
+    List<Long> findSellerIdsWithUnfoldedBalance(Limit limit);
+
+    /** Also clears the persistence context, so stripes can be recreated with the same keys. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM SellerBalanceStripe st WHERE st.sellerId = :sellerId")
+    int deleteBySellerId(@Param("sellerId") Long sellerId);
+}
@@ -1,16 +1,35 @@
 package com.simplepay.domain.repository;
 
+import com.simplepay.domain.dto.PartyInfo;
+import com.simplepay.domain.dto.SellerView;
 import com.simplepay.domain.entity.Seller;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface SellerRepository extends JpaRepository<Seller, Long> {
 
+    /** Views report the balance column plus any credits still sitting on stripes. */
+    String VIEW_SELECT = "SELECT new com.simplepay.domain.dto.SellerView(s.id, s.name, s.document, s.email, " +
+        "s.balance + COALESCE((SELECT SUM(st.balance) FROM SellerBalanceStripe st WHERE st.sellerId = s.id), 0), " +
+        "s.createdAt, s.updatedAt) ";
+
     Optional<Seller> findByDocument(String document);
 
     Optional<Seller> findByEmail(String email);
@@ -24,4 +43,35 @@ public interface SellerRepository extends JpaRepository<Seller, Long> {
 
     @Query("SELECT CASE WHEN COUNT(s) > 0 THEN true ELSE false END FROM Seller s WHERE s.document = :document OR s.email = :email")
     boolean existsByDocumentOrEmail(@Param("document") String document, @Param("email") String email);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Seller s WHERE s.id IN :ids ORDER BY s.id")
+    List<Seller> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Seller s SET s.balance = s.balance + :amount, s.version = s.version + 1, s.updatedAt = :now " +
+           "WHERE s.id = :id")
+    int credit(@Param("id") Long id, @Param("amount") BigDecimal amount, @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.simplepay.domain.dto.PartyInfo(s.id, com.simplepay.domain.enums.TransactionPartyType.SELLER, " +
+           "s.email, s.balanceStripes) FROM Seller s WHERE s.id = :id")
+    Optional<PartyInfo> findPartyInfoById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Seller s SET s.balanceStripes = :stripes, s.version = s.version + 1, s.updatedAt = :now WHERE s.id = :id")
+    int updateBalanceStripes(@Param("id") Long id, @Param("stripes") int stripes, @Param("now") LocalDateTime now);
+
+    @Query(VIEW_SELECT + "FROM Seller s WHERE s.id = :id")
+    Optional<SellerView> findViewById(@Param("id") Long id);
+
+    @Query(VIEW_SELECT + "FROM Seller s WHERE s.id > :afterId ORDER BY s.id")
+    List<SellerView> findViewPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Every seller in id order, fetched from the database in chunks. Must be
+     * consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(VIEW_SELECT + "FROM Seller s ORDER BY s.id")
+    Stream<SellerView> streamViewsOrderById();
 }
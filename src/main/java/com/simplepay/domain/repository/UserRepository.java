@@ -1,12 +1,25 @@
 package com.simplepay.domain.repository;
 
+import com.simplepay.domain.dto.UserView;
 import com.simplepay.domain.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -24,4 +37,35 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u WHERE u.document = :document OR u.mail = :mail")
     boolean existsByDocumentOrMail(@Param("document") String document, @Param("mail") String mail);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id IN :ids ORDER BY u.id")
+    List<User> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE User u SET u.balance = u.balance - :amount, u.version = u.version + 1, u.updatedAt = :now " +
+           "WHERE u.id = :id AND u.balance >= :amount")
+    int debit(@Param("id") Long id, @Param("amount") BigDecimal amount, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE User u SET u.balance = u.balance + :amount, u.version = u.version + 1, u.updatedAt = :now " +
+           "WHERE u.id = :id")
+    int credit(@Param("id") Long id, @Param("amount") BigDecimal amount, @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.simplepay.domain.dto.UserView(u.id, u.name, u.document, u.mail, u.balance, u.createdAt, u.updatedAt) " +
+           "FROM User u WHERE u.id = :id")
+    Optional<UserView> findViewById(@Param("id") Long id);
+
+    @Query("SELECT new com.simplepay.domain.dto.UserView(u.id, u.name, u.document, u.mail, u.balance, u.createdAt, u.updatedAt) " +
+           "FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserView> findViewPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Every user in id order, fetched from the database in chunks. Must be
+     * consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.simplepay.domain.dto.UserView(u.id, u.name, u.document, u.mail, u.balance, u.createdAt, u.updatedAt) " +
+           "FROM User u ORDER BY u.id")
+    Stream<UserView> streamViewsOrderById();
 }
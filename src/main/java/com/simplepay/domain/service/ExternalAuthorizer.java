@@ -0,0 +1,73 @@
+package com.simplepay.domain.service;
+
+import com.simplepay.domain.exception.AuthorizerUnavailableException;
+import com.simplepay.domain.exception.BusinessException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+
+/**
+ * Calls the external authorizer behind the "authorizer" bulkhead and circuit
+ * breaker (resilience4j.* in application.yaml). Once too many calls fail or
+ * run slow the breaker opens and transfers fail fast with
+ * {@link AuthorizerUnavailableException} (HTTP 503) instead of each waiting
+ * out the HTTP timeouts; after the open wait a few probe calls decide whether
+ * it closes again. The bulkhead caps the calls in flight, so a slow
+ * authorizer can hold at most that many request threads. It sits outside the
+ * breaker: rejections for local saturation say nothing about the
+ * authorizer's health and are not counted as its failures.
+ * <p>
+ * State and metrics: /actuator/circuitbreakers, /actuator/bulkheads,
+ * /actuator/health and the resilience4j_* meters.
+ */
+@Component
+public class ExternalAuthorizer {
+    public static final String NAME = "authorizer";
+
+    private final RestTemplate restTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    @Value("${simplepay.authorizer.url:https://util.devi.tools/api/v2/authorize}")
+    private String authorizeUrl = "https://util.devi.tools/api/v2/authorize";
+
+    public ExternalAuthorizer(RestTemplate restTemplate, CircuitBreakerRegistry circuitBreakerRegistry,
+                              BulkheadRegistry bulkheadRegistry) {
+        this.restTemplate = restTemplate;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(NAME);
+        this.bulkhead = bulkheadRegistry.bulkhead(NAME);
+    }
+
+    /**
+     * Returns normally when the authorizer approves; throws
+     * {@link AuthorizerUnavailableException} when the call was not attempted
+     * and BusinessException when it was denied or failed.
+     */
+    public void authorize() {
+        ResponseEntity<Map> authResponse;
+        try {
+            authResponse = Bulkhead.decorateSupplier(bulkhead,
+                CircuitBreaker.decorateSupplier(circuitBreaker,
+                    () -> restTemplate.getForEntity(authorizeUrl, Map.class))).get();
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            throw new AuthorizerUnavailableException(e);
+        } catch (RestClientException e) {
+            throw new BusinessException("Transação não autorizada pelo serviço externo", e);
+        }
+        if (authResponse.getStatusCode() != HttpStatus.OK ||
+            authResponse.getBody() == null ||
+            !"Autorizado".equalsIgnoreCase(String.valueOf(authResponse.getBody().get("message")))) {
+            throw new BusinessException("Transação não autorizada pelo serviço externo");
+        }
+    }
+}
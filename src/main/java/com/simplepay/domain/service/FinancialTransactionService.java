@@ -1,75 +1,590 @@
 package com.simplepay.domain.service;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.simplepay.domain.dto.BatchTransferItemResult;
+import com.simplepay.domain.dto.IdempotencyClaim;
+import com.simplepay.domain.dto.PartyInfo;
+import com.simplepay.domain.dto.StatementEntry;
+import com.simplepay.domain.dto.StatementPage;
+import com.simplepay.domain.dto.TransferCommand;
 import com.simplepay.domain.entity.FinancialTransaction;
 import com.simplepay.domain.entity.FinancialTransactionHistory;
 import com.simplepay.domain.entity.Seller;
 import com.simplepay.domain.entity.User;
 import com.simplepay.domain.enums.TransactionPartyType;
 import com.simplepay.domain.enums.TransactionStatus;
+import com.simplepay.domain.enums.WalletConcurrencyMode;
+import com.simplepay.domain.event.TransferCompletedEvent;
 import com.simplepay.domain.exception.BusinessException;
+import com.simplepay.domain.repository.FinancialTransactionHistoryRepository;
+import com.simplepay.domain.repository.FinancialTransactionRepository;
+import com.simplepay.domain.service.TransferMetrics.Stage;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.PersistenceContext;
 
 @Service
 public class FinancialTransactionService {
+    private static final Logger log = LoggerFactory.getLogger(FinancialTransactionService.class);
+    private static final int RECOVERY_BATCH_SIZE = 100;
+    private static final LocalDateTime STATEMENT_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime STATEMENT_END = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final Comparator<StatementEntry> NEWEST_FIRST =
+        Comparator.comparing(StatementEntry::createdAt).thenComparing(StatementEntry::transactionId).reversed();
+
     @Autowired
     private UserService userService;
     @Autowired
     private SellerService sellerService;
     @Autowired
-    private RestTemplate restTemplate;
+    private ExternalAuthorizer externalAuthorizer;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private FinancialTransactionRepository financialTransactionRepository;
+    @Autowired
+    private FinancialTransactionHistoryRepository financialTransactionHistoryRepository;
+    @Autowired
+    private IdempotencyService idempotencyService;
+    @Autowired
+    private TransferMetrics transferMetrics;
+    @Autowired
+    @Qualifier("transferExecutor")
+    private TaskExecutor transferExecutor;
     @PersistenceContext
     private EntityManager entityManager;
+    @Value("${simplepay.transfer.concurrency-mode:ATOMIC}")
+    private WalletConcurrencyMode concurrencyMode = WalletConcurrencyMode.ATOMIC;
+    @Value("${simplepay.transfer.optimistic-max-attempts:3}")
+    private int optimisticMaxAttempts = 3;
+    @Value("${simplepay.transfer.batch.max-items:1000}")
+    private int batchMaxItems = 1000;
+    @Value("${simplepay.transfer.batch.flush-size:50}")
+    private int batchFlushSize = 50;
+    @Value("${simplepay.transfer.async.recovery.enabled:true}")
+    private boolean recoveryEnabled = true;
+    @Value("${simplepay.transfer.async.recovery.stale-after:2m}")
+    private Duration recoveryStaleAfter = Duration.ofMinutes(2);
+    private final Set<Long> queuedTransfers = ConcurrentHashMap.newKeySet();
 
-    @Transactional
+    /**
+     * Validates and authorizes the transfer before any write transaction is
+     * opened, so a slow authorizer never holds a JDBC connection or row lock;
+     * only the settlement runs inside the transaction.
+     */
     public TransactionStatus transfer(BigDecimal value, Long payerId, TransactionPartyType payerType, Long payeeId, TransactionPartyType payeeType) {
-        validateParties(payerId, payerType, payeeId, payeeType);
-        Optional<User> payerUser = payerType == TransactionPartyType.USER ? userService.findById(payerId) : Optional.empty();
-        Optional<Seller> payerSeller = payerType == TransactionPartyType.SELLER ? sellerService.findById(payerId) : Optional.empty();
-        Optional<User> payeeUser = payeeType == TransactionPartyType.USER ? userService.findById(payeeId) : Optional.empty();
-        Optional<Seller> payeeSeller = payeeType == TransactionPartyType.SELLER ? sellerService.findById(payeeId) : Optional.empty();
-        if (payerType == TransactionPartyType.SELLER) {
-            throw new BusinessException("Lojistas não podem enviar transferências");
-        }
-        User payer = payerUser.get();
-        validateBalance(payer, value);
-        authorizeExternal();
-        performTransfer(payer, value, payeeType, payeeUser, payeeSeller);
-        FinancialTransaction transaction = saveTransactionAndHistory(value, payerId, payerType, payeeId, payeeType);
-        updateTransactionToSuccess(transaction);
-        notifyPayee(payeeType, payeeUser, payeeSeller, value);
+        return transfer(value, payerId, payerType, payeeId, payeeType, null);
+    }
+
+    /**
+     * As {@link #transfer(BigDecimal, Long, TransactionPartyType, Long, TransactionPartyType)},
+     * completing the {@code claim} on its idempotency key in the settlement
+     * transaction.
+     */
+    public TransactionStatus transfer(BigDecimal value, Long payerId, TransactionPartyType payerType, Long payeeId,
+                                      TransactionPartyType payeeType, IdempotencyClaim claim) {
+        return transferMetrics.track("sync", () -> {
+            TransferParties parties = validate(value, payerId, payerType, payeeId, payeeType);
+            authorizeExternal();
+            return transferMetrics.time(Stage.SETTLEMENT, () -> settleWithRetry(() -> transactionTemplate.execute(
+                tx -> settle(value, payerId, payerType, payeeId, payeeType, parties, null, claim))));
+        });
+    }
+
+    /**
+     * Validates the transfer and records it as PENDING, then hands
+     * authorization and settlement to the transfer worker pool, so the caller
+     * never waits on the authorizer. Returns the transaction id to poll.
+     */
+    public Long submit(BigDecimal value, Long payerId, TransactionPartyType payerType, Long payeeId, TransactionPartyType payeeType) {
+        return submit(value, payerId, payerType, payeeId, payeeType, null);
+    }
+
+    /**
+     * As {@link #submit(BigDecimal, Long, TransactionPartyType, Long, TransactionPartyType)},
+     * completing the {@code claim} on its idempotency key in the transaction
+     * that records the PENDING transfer.
+     */
+    public Long submit(BigDecimal value, Long payerId, TransactionPartyType payerType, Long payeeId,
+                       TransactionPartyType payeeType, IdempotencyClaim claim) {
+        try {
+            validate(value, payerId, payerType, payeeId, payeeType);
+            Long transactionId = transactionTemplate.execute(tx -> {
+                Long id = saveTransactionAndHistory(value, payerId, payerType, payeeId, payeeType).getId();
+                if (claim != null) {
+                    idempotencyService.complete(claim, TransactionStatus.PENDING, id);
+                }
+                return id;
+            });
+            try {
+                queueCompletion(transactionId);
+            } catch (RejectedExecutionException e) {
+                markFailed(transactionId, "Fila de transferências cheia");
+                throw new BusinessException("Muitas transferências em processamento, tente novamente", e);
+            }
+            return transactionId;
+        } catch (BusinessException e) {
+            // Accepted transfers are counted when a worker completes them.
+            transferMetrics.countOutcome("async", TransactionStatus.FAILED, TransferMetrics.reasonCode(e.getMessage()));
+            throw e;
+        }
+    }
+
+    /**
+     * Settles a batch of transfers in a single transaction. Every distinct
+     * wallet is locked once (users before sellers, ascending id), items are
+     * checked in order against running balances, and each wallet then gets a
+     * single UPDATE with its net delta. Items that fail a business rule are
+     * reported and skipped; the others succeed together.
+     */
+    public List<BatchTransferItemResult> transferBatch(List<TransferCommand> items) {
+        if (items == null || items.isEmpty()) {
+            throw new BusinessException("O lote deve conter ao menos uma transferência");
+        }
+        if (items.size() > batchMaxItems) {
+            throw new BusinessException("O lote excede o limite de " + batchMaxItems + " transferências");
+        }
+        List<BatchTransferItemResult> results;
+        try {
+            // The authorizer takes no transfer details, so one call covers the batch.
+            authorizeExternal();
+            results = transactionTemplate.execute(tx -> settleBatch(items));
+        } catch (BusinessException e) {
+            String reason = TransferMetrics.reasonCode(e.getMessage());
+            items.forEach(item -> transferMetrics.countOutcome("batch", TransactionStatus.FAILED, reason));
+            throw e;
+        }
+        for (BatchTransferItemResult result : results) {
+            transferMetrics.countOutcome("batch", result.status(), result.status() == TransactionStatus.SUCCESS
+                ? TransferMetrics.REASON_NONE
+                : TransferMetrics.reasonCode(result.error()));
+        }
+        return results;
+    }
+
+    private List<BatchTransferItemResult> settleBatch(List<TransferCommand> items) {
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> sellerIds = new HashSet<>();
+        for (TransferCommand item : items) {
+            addPartyId(item.payer(), item.payerType(), userIds, sellerIds);
+            addPartyId(item.payee(), item.payeeType(), userIds, sellerIds);
+        }
+        Map<Long, User> users = loadUsers(userIds, true);
+        Map<Long, Seller> sellers = loadSellers(sellerIds, true);
+
+        Map<Long, BigDecimal> available = new HashMap<>();
+        users.values().forEach(user -> available.put(user.getId(), user.getBalance()));
+        Map<Long, BigDecimal> userDeltas = new TreeMap<>();
+        Map<Long, BigDecimal> sellerDeltas = new TreeMap<>();
+        BatchTransferItemResult[] results = new BatchTransferItemResult[items.size()];
+        List<Integer> accepted = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            TransferCommand item = items.get(i);
+            String rejection = batchRejection(item, users, sellers, available);
+            if (rejection != null) {
+                results[i] = BatchTransferItemResult.rejected(i, rejection);
+                continue;
+            }
+            available.merge(item.payer(), item.value().negate(), BigDecimal::add);
+            userDeltas.merge(item.payer(), item.value().negate(), BigDecimal::add);
+            if (item.payeeType() == TransactionPartyType.USER) {
+                available.merge(item.payee(), item.value(), BigDecimal::add);
+                userDeltas.merge(item.payee(), item.value(), BigDecimal::add);
+            } else {
+                sellerDeltas.merge(item.payee(), item.value(), BigDecimal::add);
+            }
+            accepted.add(i);
+        }
+
+        applyNetDeltas(userDeltas, sellerDeltas, sellers);
+
+        for (int n = 0; n < accepted.size(); n++) {
+            int index = accepted.get(n);
+            TransferCommand item = items.get(index);
+            FinancialTransaction transaction = saveTransactionAndHistory(item.value(), item.payer(),
+                item.payerType(), item.payee(), item.payeeType());
+            updateTransactionToSuccess(transaction);
+            String payeeEmail = item.payeeType() == TransactionPartyType.USER
+                ? users.get(item.payee()).getMail()
+                : sellers.get(item.payee()).getEmail();
+            notifyPayee(transaction, payeeEmail);
+            publishTransferCompleted(transaction);
+            results[index] = BatchTransferItemResult.succeeded(index, transaction.getId());
+            if ((n + 1) % batchFlushSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return List.of(results);
+    }
+
+    private void addPartyId(Long id, TransactionPartyType type, Set<Long> userIds, Set<Long> sellerIds) {
+        if (id != null && type != null) {
+            (type == TransactionPartyType.USER ? userIds : sellerIds).add(id);
+        }
+    }
+
+    private String batchRejection(TransferCommand item, Map<Long, User> users, Map<Long, Seller> sellers, Map<Long, BigDecimal> available) {
+        if (item.value() == null || item.value().signum() <= 0) {
+            return "Value must be positive";
+        }
+        if (item.payerType() == null || item.payeeType() == null) {
+            return "payerType e payeeType são obrigatórios";
+        }
+        if (item.payerType() == TransactionPartyType.SELLER) {
+            return "Lojistas não podem enviar transferências";
+        }
+        if (!users.containsKey(item.payer())) {
+            return "Payer not found";
+        }
+        boolean payeeExists = item.payeeType() == TransactionPartyType.USER
+            ? users.containsKey(item.payee())
+            : sellers.containsKey(item.payee());
+        if (!payeeExists) {
+            return "Payee not found";
+        }
+        if (available.get(item.payer()).compareTo(item.value()) < 0) {
+            return "Saldo insuficiente";
+        }
+        return null;
+    }
+
+    /**
+     * One conditional UPDATE per wallet, in lock order. The wallets are already
+     * locked and every debit was checked against the running balance, so a
+     * refused debit means the rows changed underneath us and the batch rolls back.
+     */
+    private void applyNetDeltas(Map<Long, BigDecimal> userDeltas, Map<Long, BigDecimal> sellerDeltas, Map<Long, Seller> sellers) {
+        userDeltas.forEach((id, delta) -> {
+            boolean applied = delta.signum() < 0
+                ? userService.debit(id, delta.negate())
+                : delta.signum() == 0 || userService.credit(id, delta);
+            if (!applied) {
+                throw new IllegalStateException("Balance update refused for user " + id);
+            }
+        });
+        sellerDeltas.forEach((id, delta) -> {
+            if (!sellerService.credit(id, sellers.get(id).getBalanceStripes(), delta)) {
+                throw new IllegalStateException("Balance update refused for seller " + id);
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<FinancialTransaction> findById(Long transactionId) {
+        return financialTransactionRepository.findById(transactionId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<FinancialTransactionHistory> findHistory(Long transactionId) {
+        return financialTransactionHistoryRepository.findByTransactionIdOrderByIdAsc(transactionId);
+    }
+
+    /**
+     * A party's transfers, paid and received, newest first, from {@code from}
+     * (inclusive) to {@code to} (exclusive). Each side is read with its own
+     * index range scan of at most {@code size + 1} rows and the two are merged,
+     * so a page costs the same however long the party's history is.
+     */
+    @Transactional(readOnly = true)
+    public StatementPage findStatement(Long party, TransactionPartyType type, LocalDateTime from, LocalDateTime to,
+                                       String cursor, int size) {
+        LocalDateTime since = from != null ? from : STATEMENT_START;
+        LocalDateTime beforeAt = to != null ? to : STATEMENT_END;
+        Long beforeId = 0L;
+        if (cursor != null) {
+            String[] position = decodeCursor(cursor);
+            beforeAt = LocalDateTime.parse(position[0]);
+            beforeId = Long.valueOf(position[1]);
+        }
+        Limit limit = Limit.of(size + 1);
+        List<StatementEntry> rows = Stream.concat(
+                financialTransactionRepository.findPaidBefore(party, type, since, beforeAt, beforeId, limit).stream(),
+                financialTransactionRepository.findReceivedBefore(party, type, since, beforeAt, beforeId, limit).stream())
+            .distinct()
+            .sorted(NEWEST_FIRST)
+            .limit(size + 1)
+            .toList();
+        if (rows.size() <= size) {
+            return new StatementPage(rows, null);
+        }
+        StatementEntry last = rows.get(size - 1);
+        return new StatementPage(List.copyOf(rows.subList(0, size)), encodeCursor(last.createdAt() + "|" + last.transactionId()));
+    }
+
+    private static String encodeCursor(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length != 2) {
+                throw new IllegalArgumentException(cursor);
+            }
+            LocalDateTime.parse(position[0]);
+            Long.parseLong(position[1]);
+            return position;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("Cursor inválido");
+        }
+    }
+
+    /**
+     * Re-queues async transfers that have sat in PENDING past the stale
+     * threshold, e.g. because the node that accepted them restarted before a
+     * worker picked them up. A stale updated_at can also just mean a long
+     * queue, so transfers still queued or running on this node are skipped:
+     * re-queuing them would call the authorizer again and take queue slots
+     * from fresh submissions. A transfer queued on another node may still be
+     * picked up twice; settlement locks the row and skips it once it has left
+     * PENDING.
+     */
+    @Scheduled(fixedDelayString = "${simplepay.transfer.async.recovery.interval:1m}")
+    public void resumeStalePending() {
+        if (!recoveryEnabled) {
+            return;
+        }
+        LocalDateTime staleBefore = LocalDateTime.now().minus(recoveryStaleAfter);
+        List<Long> stale = financialTransactionRepository.findIdsByStatusUpdatedBefore(
+            TransactionStatus.PENDING, staleBefore, Limit.of(RECOVERY_BATCH_SIZE));
+        for (Long transactionId : stale) {
+            try {
+                queueCompletion(transactionId);
+            } catch (RejectedExecutionException e) {
+                log.warn("Transfer pool saturated, {} stale transfers left for the next sweep", stale.size());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Hands a PENDING transfer to the worker pool unless it is already queued
+     * or running on this node; throws RejectedExecutionException when the
+     * pool is full.
+     */
+    private void queueCompletion(Long transactionId) {
+        if (!queuedTransfers.add(transactionId)) {
+            return;
+        }
+        try {
+            transferExecutor.execute(() -> {
+                try {
+                    complete(transactionId);
+                } finally {
+                    queuedTransfers.remove(transactionId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queuedTransfers.remove(transactionId);
+            throw e;
+        }
+    }
+
+    /**
+     * Worker side of {@link #submit}: authorizes and settles a PENDING
+     * transaction, or moves it to FAILED with the reason in its history.
+     */
+    private void complete(Long transactionId) {
+        FinancialTransaction pending = financialTransactionRepository.findById(transactionId).orElse(null);
+        if (pending == null || pending.getStatus() != TransactionStatus.PENDING) {
+            return;
+        }
+        try {
+            transferMetrics.track("async", () -> {
+                TransferParties parties = validate(pending.getValue(), pending.getPayer(), pending.getPayerType(),
+                    pending.getPayee(), pending.getPayeeType());
+                authorizeExternal();
+                return transferMetrics.time(Stage.SETTLEMENT, () -> settleWithRetry(() -> transactionTemplate.execute(
+                    tx -> settle(pending.getValue(), pending.getPayer(), pending.getPayerType(), pending.getPayee(),
+                        pending.getPayeeType(), parties, transactionId, null))));
+            });
+        } catch (BusinessException e) {
+            markFailed(transactionId, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Async transfer {} failed unexpectedly", transactionId, e);
+            markFailed(transactionId, "Erro inesperado ao processar a transferência");
+        }
+    }
+
+    private TransactionStatus settleWithRetry(Supplier<TransactionStatus> settlement) {
+        int maxAttempts = concurrencyMode == WalletConcurrencyMode.OPTIMISTIC ? optimisticMaxAttempts : 1;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return settlement.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw new BusinessException("Carteira em uso por outra transferência, tente novamente", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the money and records the outcome. With a {@code pendingTransactionId}
+     * the already persisted PENDING row is locked and completed, and the call is
+     * a no-op when another worker got there first or the row is gone; otherwise a new row is written,
+     * and a {@code claim} on the request's idempotency key is completed with it.
+     */
+    private TransactionStatus settle(BigDecimal value, Long payerId, TransactionPartyType payerType, Long payeeId, TransactionPartyType payeeType,
+                                     TransferParties resolved, Long pendingTransactionId, IdempotencyClaim claim) {
+        FinancialTransaction transaction = null;
+        if (pendingTransactionId != null) {
+            transaction = entityManager.find(FinancialTransaction.class, pendingTransactionId, LockModeType.PESSIMISTIC_WRITE);
+            if (transaction == null) {
+                log.warn("Pending transfer {} no longer exists, nothing to settle", pendingTransactionId);
+                return TransactionStatus.FAILED;
+            }
+            if (transaction.getStatus() != TransactionStatus.PENDING) {
+                return transaction.getStatus();
+            }
+        }
+        TransferParties parties = transferMetrics.time(Stage.BALANCE_UPDATE, () -> {
+            TransferParties wallets = resolved;
+            if (concurrencyMode != WalletConcurrencyMode.ATOMIC) {
+                // Entity-based modes need managed (and, when pessimistic, locked) rows.
+                wallets = loadWallets(payerId, payeeId, payeeType, concurrencyMode == WalletConcurrencyMode.PESSIMISTIC);
+                validateBalance(wallets.payerUser(), value);
+            }
+            performTransfer(wallets.payerUser(), value, wallets);
+            return wallets;
+        });
+        FinancialTransaction pending = transaction;
+        FinancialTransaction completed = transferMetrics.time(Stage.HISTORY, () -> {
+            FinancialTransaction recorded = pending != null
+                ? pending
+                : saveTransactionAndHistory(value, payerId, payerType, payeeId, payeeType);
+            updateTransactionToSuccess(recorded);
+            if (claim != null) {
+                idempotencyService.complete(claim, TransactionStatus.SUCCESS, recorded.getId());
+            }
+            return recorded;
+        });
+        transferMetrics.time(Stage.NOTIFICATION, () -> {
+            notifyPayee(completed, parties.payee().email());
+            publishTransferCompleted(completed);
+        });
         return TransactionStatus.SUCCESS;
     }
 
-    private void validateParties(Long payerId, TransactionPartyType payerType, Long payeeId, TransactionPartyType payeeType) {
+    /**
+     * Checks the transfer before anything is written: both parties exist, the
+     * payer is a user and has the balance.
+     */
+    private TransferParties validate(BigDecimal value, Long payerId, TransactionPartyType payerType, Long payeeId, TransactionPartyType payeeType) {
+        return transferMetrics.time(Stage.VALIDATION, () -> {
+            TransferParties parties = resolveParties(payerId, payerType, payeeId, payeeType);
+            if (payerType == TransactionPartyType.SELLER) {
+                throw new BusinessException("Lojistas não podem enviar transferências");
+            }
+            validateBalance(parties.payerUser(), value);
+            return parties;
+        });
+    }
+
+    /**
+     * Resolves the parties before authorization. The payer wallet is read from
+     * the database because its balance must be current; the payee (and a seller
+     * payer, which is rejected anyway) only has to exist, so it comes from the
+     * party cache.
+     */
+    private TransferParties resolveParties(Long payerId, TransactionPartyType payerType, Long payeeId, TransactionPartyType payeeType) {
         if (payerType == null || payeeType == null) {
             throw new BusinessException("payerType e payeeType são obrigatórios");
         }
-        Optional<User> payerUser = payerType == TransactionPartyType.USER ? userService.findById(payerId) : Optional.empty();
-        Optional<Seller> payerSeller = payerType == TransactionPartyType.SELLER ? sellerService.findById(payerId) : Optional.empty();
-        Optional<User> payeeUser = payeeType == TransactionPartyType.USER ? userService.findById(payeeId) : Optional.empty();
-        Optional<Seller> payeeSeller = payeeType == TransactionPartyType.SELLER ? sellerService.findById(payeeId) : Optional.empty();
-        if ((payerType == TransactionPartyType.USER && payerUser.isEmpty()) || (payerType == TransactionPartyType.SELLER && payerSeller.isEmpty())) {
+        User payerUser = null;
+        if (payerType == TransactionPartyType.USER) {
+            payerUser = loadUsers(Set.of(payerId), false).get(payerId);
+            if (payerUser == null) {
+                throw new BusinessException("Payer not found");
+            }
+        } else if (sellerService.findPartyInfo(payerId).isEmpty()) {
             throw new BusinessException("Payer not found");
         }
-        if ((payeeType == TransactionPartyType.USER && payeeUser.isEmpty()) || (payeeType == TransactionPartyType.SELLER && payeeSeller.isEmpty())) {
+        PartyInfo payee = (payeeType == TransactionPartyType.USER
+                ? userService.findPartyInfo(payeeId)
+                : sellerService.findPartyInfo(payeeId))
+            .orElseThrow(() -> new BusinessException("Payee not found"));
+        return new TransferParties(payerUser, payee, null, null);
+    }
+
+    /**
+     * Loads payer and payee wallets as entities, querying each party table at
+     * most once. When locking, rows are write-locked users first, then sellers,
+     * each in ascending id order, so concurrent transfers cannot deadlock.
+     */
+    private TransferParties loadWallets(Long payerId, Long payeeId, TransactionPartyType payeeType, boolean lock) {
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> sellerIds = new HashSet<>();
+        userIds.add(payerId);
+        (payeeType == TransactionPartyType.USER ? userIds : sellerIds).add(payeeId);
+        Map<Long, User> users = loadUsers(userIds, lock);
+        Map<Long, Seller> sellers = loadSellers(sellerIds, lock);
+        User payerUser = users.get(payerId);
+        User payeeUser = payeeType == TransactionPartyType.USER ? users.get(payeeId) : null;
+        Seller payeeSeller = payeeType == TransactionPartyType.SELLER ? sellers.get(payeeId) : null;
+        if (payerUser == null) {
+            throw new BusinessException("Payer not found");
+        }
+        if (payeeUser == null && payeeSeller == null) {
             throw new BusinessException("Payee not found");
         }
+        PartyInfo payee = payeeUser != null ? PartyInfo.of(payeeUser) : PartyInfo.of(payeeSeller);
+        return new TransferParties(payerUser, payee, payeeUser, payeeSeller);
+    }
+
+    private Map<Long, User> loadUsers(Set<Long> ids, boolean lock) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        List<User> users = lock ? userService.findAllByIdForUpdate(ids) : userService.findAllById(ids);
+        return users.stream().collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    private Map<Long, Seller> loadSellers(Set<Long> ids, boolean lock) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        List<Seller> sellers = lock ? sellerService.findAllByIdForUpdate(ids) : sellerService.findAllById(ids);
+        return sellers.stream().collect(Collectors.toMap(Seller::getId, Function.identity()));
     }
 
     private void validateBalance(User payer, BigDecimal value) {
@@ -79,29 +594,61 @@ public class FinancialTransactionService {
     }
 
     private void authorizeExternal() {
-        String authorizeUrl = "https://util.devi.tools/api/v2/authorize";
-        ResponseEntity<Map> authResponse = restTemplate.getForEntity(authorizeUrl, Map.class);
-        if (authResponse.getStatusCode() != HttpStatus.OK ||
-            authResponse.getBody() == null ||
-            !"Autorizado".equalsIgnoreCase(String.valueOf(authResponse.getBody().get("message")))) {
-            throw new BusinessException("Transação não autorizada pelo serviço externo");
-        }
+        transferMetrics.time(Stage.AUTHORIZATION, externalAuthorizer::authorize);
     }
 
-    private void performTransfer(User payer, BigDecimal value, TransactionPartyType payeeType, Optional<User> payeeUser, Optional<Seller> payeeSeller) {
+    private void performTransfer(User payer, BigDecimal value, TransferParties parties) {
+        if (concurrencyMode == WalletConcurrencyMode.ATOMIC) {
+            performAtomicTransfer(payer, value, parties);
+            return;
+        }
         payer.subtractFromBalance(value);
         userService.save(payer);
-        if (payeeType == TransactionPartyType.USER) {
-            User payee = payeeUser.get();
+        if (parties.payeeUser() != null) {
+            User payee = parties.payeeUser();
             payee.addToBalance(value);
             userService.save(payee);
+        } else if (parties.payeeSeller().getBalanceStripes() > 0) {
+            creditPayee(value, parties);
         } else {
-            Seller payee = payeeSeller.get();
+            Seller payee = parties.payeeSeller();
             payee.addToBalance(value);
             sellerService.save(payee);
         }
     }
 
+    /**
+     * Moves the money with two conditional UPDATEs: the debit only applies while
+     * the payer still has enough balance, so no entity write-back is needed and
+     * concurrent debits can never overdraw the wallet. The UPDATEs still take
+     * row locks, so they are issued in the same order as the pessimistic mode
+     * (users before sellers, ascending id) to keep crossing transfers from
+     * deadlocking; a failed debit after the credit is undone by the rollback.
+     */
+    private void performAtomicTransfer(User payer, BigDecimal value, TransferParties parties) {
+        PartyInfo payee = parties.payee();
+        boolean creditFirst = payee.type() == TransactionPartyType.USER && payee.id() < payer.getId();
+        if (creditFirst) {
+            creditPayee(value, parties);
+        }
+        if (!userService.debit(payer.getId(), value)) {
+            throw new BusinessException("Saldo insuficiente");
+        }
+        if (!creditFirst) {
+            creditPayee(value, parties);
+        }
+    }
+
+    private void creditPayee(BigDecimal value, TransferParties parties) {
+        PartyInfo payee = parties.payee();
+        boolean credited = payee.type() == TransactionPartyType.USER
+            ? userService.credit(payee.id(), value)
+            : sellerService.credit(payee.id(), payee.balanceStripes(), value);
+        if (!credited) {
+            throw new BusinessException("Payee not found");
+        }
+    }
+
     private FinancialTransaction saveTransactionAndHistory(BigDecimal value, Long payerId, TransactionPartyType payerType, Long payeeId, TransactionPartyType payeeType) {
         FinancialTransaction transaction = new FinancialTransaction(
             value, payerId, payerType, payeeId, payeeType, TransactionStatus.PENDING
@@ -116,6 +663,8 @@ public class FinancialTransactionService {
 
     private void updateTransactionToSuccess(FinancialTransaction transaction) {
         transaction.setStatus(TransactionStatus.SUCCESS);
+        // @PreUpdate only runs at flush; the TransferCompleted event reads this first.
+        transaction.setUpdatedAt(LocalDateTime.now());
         entityManager.merge(transaction);
         FinancialTransactionHistory successHistory = new FinancialTransactionHistory(
             transaction, TransactionStatus.PENDING, TransactionStatus.SUCCESS, "Transferência realizada com sucesso"
@@ -123,19 +672,34 @@ public class FinancialTransactionService {
         entityManager.persist(successHistory);
     }
 
-    private void notifyPayee(TransactionPartyType payeeType, Optional<User> payeeUser, Optional<Seller> payeeSeller, BigDecimal value) {
-        try {
-            String notifyUrl = "https://util.devi.tools/api/v1/notify";
-            Map<String, Object> notifyPayload = new HashMap<>();
-            notifyPayload.put("to", payeeType == TransactionPartyType.USER ? payeeUser.get().getMail() : payeeSeller.get().getEmail());
-            notifyPayload.put("message", "Você recebeu uma transferência de R$ " + value);
-            HttpHeaders headers = new HttpHeaders();
-            headers.add("Content-Type", "application/json");
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(notifyPayload, headers);
-            restTemplate.postForEntity(notifyUrl, request, String.class);
-        } catch (Exception e) {
-            // Log notification failure but don't fail the transaction
-            System.err.println("Failed to send notification: " + e.getMessage());
-        }
+    private void markFailed(Long transactionId, String reason) {
+        transactionTemplate.execute(tx -> {
+            FinancialTransaction transaction = entityManager.find(FinancialTransaction.class, transactionId, LockModeType.PESSIMISTIC_WRITE);
+            if (transaction != null && transaction.getStatus() == TransactionStatus.PENDING) {
+                transaction.setStatus(TransactionStatus.FAILED);
+                entityManager.persist(new FinancialTransactionHistory(
+                    transaction, TransactionStatus.PENDING, TransactionStatus.FAILED, reason
+                ));
+            }
+            return null;
+        });
+    }
+
+    private void notifyPayee(FinancialTransaction transaction, String payeeEmail) {
+        outboxService.enqueuePayeeNotification(transaction.getId(), payeeEmail,
+            "Você recebeu uma transferência de R$ " + transaction.getValue());
     }
+
+    private void publishTransferCompleted(FinancialTransaction transaction) {
+        outboxService.enqueueTransferCompleted(new TransferCompletedEvent(
+            transaction.getId(), transaction.getPayer(), transaction.getPayerType(),
+            transaction.getPayee(), transaction.getPayeeType(), transaction.getValue(), transaction.getUpdatedAt()
+        ));
+    }
+
+    /**
+     * Payer wallet and payee details; the payee entities are only loaded for
+     * the entity-based concurrency modes.
+     */
+    private record TransferParties(User payerUser, PartyInfo payee, User payeeUser, Seller payeeSeller) {}
 }
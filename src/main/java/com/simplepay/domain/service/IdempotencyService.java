@@ -0,0 +1,199 @@
+package com.simplepay.domain.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.simplepay.domain.dto.IdempotencyClaim;
+import com.simplepay.domain.dto.IdempotentResult;
+import com.simplepay.domain.entity.IdempotencyRecord;
+import com.simplepay.domain.enums.IdempotencyState;
+import com.simplepay.domain.enums.TransactionStatus;
+import com.simplepay.domain.exception.BusinessException;
+import com.simplepay.domain.exception.IdempotencyConflictException;
+import com.simplepay.domain.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Deduplicates client retries by {@code Idempotency-Key}. Keys are claimed
+ * with an insert against a unique index, so only one request per key ever
+ * runs; completed outcomes are also kept in a bounded in-memory cache, so a
+ * retry storm costs a cache lookup rather than a database round-trip. A claim
+ * still IN_PROGRESS after the claim timeout was left by a node that died
+ * mid-request, and the next retry of the same request takes it over.
+ */
+@Service
+public class IdempotencyService {
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final Duration claimTimeout;
+    private final Cache<String, CompletedRequest> recent;
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${simplepay.idempotency.cache-size:10000}") long cacheSize,
+                              @Value("${simplepay.idempotency.retention:24h}") Duration retention,
+                              @Value("${simplepay.idempotency.claim-timeout:5m}") Duration claimTimeout) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.retention = retention;
+        this.claimTimeout = claimTimeout;
+        this.recent = Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .expireAfterWrite(retention)
+            .build();
+    }
+
+    /**
+     * Runs {@code action} at most once per key and returns its outcome; a
+     * repeat of the same request gets the stored outcome without running it
+     * again. The action must record its outcome with {@link #complete} in the
+     * transaction that moves the money, so a key is never left IN_PROGRESS
+     * once a transfer committed under it. When the action throws with the key
+     * still IN_PROGRESS, nothing was committed under it, so the key is
+     * released and the client may retry it.
+     */
+    public IdempotentResult execute(String key, String request, Function<IdempotencyClaim, IdempotentResult> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException("Idempotency-Key deve ter entre 1 e " + MAX_KEY_LENGTH + " caracteres");
+        }
+        String requestHash = sha256(request);
+        CompletedRequest cached = recent.getIfPresent(key);
+        if (cached != null) {
+            return replay(cached, requestHash);
+        }
+        IdempotencyClaim claim = new IdempotencyClaim(key, UUID.randomUUID().toString());
+        Optional<IdempotencyRecord> existing = claim(claim, requestHash);
+        if (existing.isPresent()) {
+            return replay(existing.get(), requestHash);
+        }
+        IdempotentResult result;
+        try {
+            result = action.apply(claim);
+        } catch (RuntimeException e) {
+            release(claim);
+            throw e;
+        }
+        recent.put(key, new CompletedRequest(requestHash, result));
+        return result;
+    }
+
+    /**
+     * Marks the claimed key COMPLETED with the transfer's outcome, in the
+     * caller's transaction. Fails, rolling the transfer back, when the claim
+     * was taken over or purged in the meantime: the request that holds the key
+     * now is the one allowed to move the money.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void complete(IdempotencyClaim claim, TransactionStatus status, Long transactionId) {
+        int completed = idempotencyRecordRepository.complete(claim.key(), claim.token(), status, transactionId,
+            LocalDateTime.now());
+        if (completed == 0) {
+            throw new IdempotencyConflictException("Requisição com esta Idempotency-Key em processamento");
+        }
+    }
+
+    /**
+     * Drops completed keys past the retention window and claims abandoned
+     * IN_PROGRESS past the claim timeout.
+     */
+    @Scheduled(fixedDelayString = "${simplepay.idempotency.purge-interval:1h}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = idempotencyRecordRepository.deleteCreatedBefore(IdempotencyState.COMPLETED, now.minus(retention))
+            + idempotencyRecordRepository.deleteClaimedBefore(IdempotencyState.IN_PROGRESS, now.minus(claimTimeout));
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private Optional<IdempotencyRecord> claim(IdempotencyClaim claim, String requestHash) {
+        try {
+            idempotencyRecordRepository.saveAndFlush(new IdempotencyRecord(claim.key(), requestHash, claim.token()));
+            return Optional.empty();
+        } catch (DataIntegrityViolationException e) {
+            IdempotencyRecord existing = idempotencyRecordRepository.findByIdempotencyKey(claim.key())
+                .orElseThrow(() -> new IdempotencyConflictException("Requisição com esta Idempotency-Key em processamento"));
+            if (existing.getState() == IdempotencyState.IN_PROGRESS
+                && existing.getRequestHash().equals(requestHash) && reclaim(claim)) {
+                return Optional.empty();
+            }
+            return Optional.of(existing);
+        }
+    }
+
+    /**
+     * Takes over a claim older than the claim timeout. A claim is completed in
+     * the same transaction as its transfer, so one still IN_PROGRESS has no
+     * committed transfer behind it; and once its token is replaced, the
+     * original request can no longer commit one. The update is conditional,
+     * so when several retries race for the claim only one wins, and a claim
+     * completed in the meantime is replayed instead.
+     */
+    private boolean reclaim(IdempotencyClaim claim) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer reclaimed = transactionTemplate.execute(tx -> idempotencyRecordRepository.reclaim(claim.key(),
+            IdempotencyState.IN_PROGRESS, now.minus(claimTimeout), now, claim.token()));
+        if (reclaimed != null && reclaimed > 0) {
+            log.warn("Took over idempotency key {} left in progress for more than {}", claim.key(), claimTimeout);
+            return true;
+        }
+        return false;
+    }
+
+    private IdempotentResult replay(IdempotencyRecord record, String requestHash) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyConflictException("Idempotency-Key já utilizada em outra requisição");
+        }
+        if (record.getState() == IdempotencyState.IN_PROGRESS) {
+            throw new IdempotencyConflictException("Requisição com esta Idempotency-Key em processamento");
+        }
+        CompletedRequest completed = new CompletedRequest(record.getRequestHash(),
+            new IdempotentResult(record.getTransactionStatus(), record.getTransactionId()));
+        recent.put(record.getIdempotencyKey(), completed);
+        return completed.result();
+    }
+
+    private IdempotentResult replay(CompletedRequest cached, String requestHash) {
+        if (!cached.requestHash().equals(requestHash)) {
+            throw new IdempotencyConflictException("Idempotency-Key já utilizada em outra requisição");
+        }
+        return cached.result();
+    }
+
+    private void release(IdempotencyClaim claim) {
+        transactionTemplate.execute(tx -> idempotencyRecordRepository.deleteClaim(claim.key(), claim.token()));
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record CompletedRequest(String requestHash, IdempotentResult result) {}
+}
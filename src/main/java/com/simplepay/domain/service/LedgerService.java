@@ -0,0 +1,246 @@
+package com.simplepay.domain.service;
+
+import com.simplepay.domain.dto.BalanceMismatch;
+import com.simplepay.domain.dto.ReconciliationReport;
+import com.simplepay.domain.dto.WalletAmount;
+import com.simplepay.domain.entity.BalanceSnapshot;
+import com.simplepay.domain.entity.LedgerEntry;
+import com.simplepay.domain.enums.LedgerEntryType;
+import com.simplepay.domain.enums.TransactionPartyType;
+import com.simplepay.domain.repository.BalanceSnapshotRepository;
+import com.simplepay.domain.repository.FinancialTransactionRepository;
+import com.simplepay.domain.repository.LedgerEntryRepository;
+import com.simplepay.domain.repository.SellerRepository;
+import com.simplepay.domain.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Double-entry ledger behind the wallet balances. A transfer's legs are its
+ * SUCCESS row in financial_transactions (payer debited, payee credited as of
+ * updated_at), so the transfer path writes nothing extra; every other balance
+ * change is appended as a signed entry in the same transaction. A wallet's
+ * balance can then be derived as its latest snapshot plus the entries and
+ * transfers after it. Snapshots fold both by timestamp, lagging
+ * {@code settle-lag} behind the clock so that nothing still in flight can be
+ * skipped: pooled ids do not follow commit order, timestamps plus the lag do.
+ * Reconciliation checks that the derived balances match the balance columns.
+ */
+@Service
+public class LedgerService {
+    private static final Logger log = LoggerFactory.getLogger(LedgerService.class);
+    static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final FinancialTransactionRepository financialTransactionRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final UserRepository userRepository;
+    private final SellerRepository sellerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate reconciliationTemplate;
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Value("${simplepay.ledger.snapshot.enabled:true}")
+    private boolean snapshotEnabled = true;
+    @Value("${simplepay.ledger.snapshot.settle-lag:1m}")
+    private Duration settleLag = Duration.ofMinutes(1);
+    @Value("${simplepay.ledger.snapshot.batch-size:500}")
+    private int snapshotBatchSize = 500;
+    @Value("${simplepay.ledger.reconciliation.enabled:true}")
+    private boolean reconciliationEnabled = true;
+    @Value("${simplepay.ledger.reconciliation.page-size:500}")
+    private int reconciliationPageSize = 500;
+
+    public LedgerService(LedgerEntryRepository ledgerEntryRepository,
+                         FinancialTransactionRepository financialTransactionRepository,
+                         BalanceSnapshotRepository balanceSnapshotRepository,
+                         UserRepository userRepository,
+                         SellerRepository sellerRepository,
+                         PlatformTransactionManager transactionManager) {
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.financialTransactionRepository = financialTransactionRepository;
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+        this.userRepository = userRepository;
+        this.sellerRepository = sellerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Balance columns and entries must be read from one consistent view.
+        this.reconciliationTemplate = new TransactionTemplate(transactionManager);
+        this.reconciliationTemplate.setReadOnly(true);
+        this.reconciliationTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Appends a balance change that is not a transfer: the opening balance of a
+     * new wallet or a manual adjustment. Zero amounts are not recorded.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAdjustment(TransactionPartyType walletType, Long walletId, LedgerEntryType entryType, BigDecimal amount) {
+        if (amount != null && amount.signum() != 0) {
+            entityManager.persist(new LedgerEntry(null, walletType, walletId, entryType, amount));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal derivedBalance(TransactionPartyType walletType, Long walletId) {
+        Optional<BalanceSnapshot> snapshot = balanceSnapshotRepository.findFirstByWalletTypeAndWalletIdOrderByAsOfDesc(walletType, walletId);
+        LocalDateTime after = snapshot.map(BalanceSnapshot::getAsOf).orElse(EPOCH);
+        return snapshot.map(BalanceSnapshot::getBalance).orElse(BigDecimal.ZERO)
+            .add(ledgerEntryRepository.sumAfter(walletType, walletId, after))
+            .add(financialTransactionRepository.sumReceivedAfter(walletType, walletId, after))
+            .subtract(financialTransactionRepository.sumPaidAfter(walletType, walletId, after));
+    }
+
+    @Scheduled(fixedDelayString = "${simplepay.ledger.snapshot.interval:5m}")
+    public void takeScheduledSnapshots() {
+        if (snapshotEnabled) {
+            int written = takeSnapshots(LocalDateTime.now().minus(settleLag));
+            if (written > 0) {
+                log.info("Wrote {} balance snapshots", written);
+            }
+        }
+    }
+
+    /**
+     * Folds the entries and transfers since the previous run, up to
+     * {@code cutoff}, into new snapshots of the wallets they touched. Each snapshot builds on
+     * the wallet's latest one taken at or before the previous run, so two
+     * overlapping runs still produce correct (if redundant) snapshots.
+     * Returns the number of snapshots written.
+     */
+    public int takeSnapshots(LocalDateTime cutoff) {
+        Integer written = transactionTemplate.execute(tx -> {
+            LocalDateTime from = balanceSnapshotRepository.findLatestAsOf().orElse(EPOCH);
+            if (!cutoff.isAfter(from)) {
+                return 0;
+            }
+            Map<TransactionPartyType, List<WalletAmount>> deltasByType = net(
+                ledgerEntryRepository.sumByWalletBetween(from, cutoff),
+                financialTransactionRepository.sumReceivedByWalletBetween(from, cutoff),
+                financialTransactionRepository.sumPaidByWalletBetween(from, cutoff))
+                .stream()
+                .collect(Collectors.groupingBy(WalletAmount::walletType, () -> new EnumMap<>(TransactionPartyType.class), Collectors.toList()));
+            int count = 0;
+            for (Map.Entry<TransactionPartyType, List<WalletAmount>> typed : deltasByType.entrySet()) {
+                List<WalletAmount> deltas = typed.getValue();
+                for (int start = 0; start < deltas.size(); start += snapshotBatchSize) {
+                    List<WalletAmount> chunk = deltas.subList(start, Math.min(start + snapshotBatchSize, deltas.size()));
+                    Map<Long, BigDecimal> previous = balancesById(balanceSnapshotRepository.findLatestBalances(
+                        typed.getKey(), chunk.stream().map(WalletAmount::walletId).toList(), from));
+                    for (WalletAmount delta : chunk) {
+                        BigDecimal base = previous.getOrDefault(delta.walletId(), BigDecimal.ZERO);
+                        entityManager.persist(new BalanceSnapshot(typed.getKey(), delta.walletId(), base.add(delta.amount()), cutoff));
+                    }
+                    count += chunk.size();
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            return count;
+        });
+        return written != null ? written : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${simplepay.ledger.reconciliation.interval:1h}",
+               initialDelayString = "${simplepay.ledger.reconciliation.interval:1h}")
+    public void reconcileScheduled() {
+        if (reconciliationEnabled) {
+            ReconciliationReport report = reconcile();
+            if (report.consistent()) {
+                log.info("Ledger reconciliation checked {} wallets, all consistent", report.walletsChecked());
+            } else {
+                log.error("Ledger reconciliation found {} of {} wallets inconsistent: {}",
+                    report.mismatches().size(), report.walletsChecked(), report.mismatches());
+            }
+        }
+    }
+
+    /**
+     * Compares every wallet's balance column with its latest snapshot plus the
+     * entries and transfers after it, one page of wallets per consistent
+     * read-only transaction.
+     */
+    public ReconciliationReport reconcile() {
+        List<BalanceMismatch> mismatches = new ArrayList<>();
+        int checked = reconcileWallets(TransactionPartyType.USER, after ->
+            userRepository.findViewPageAfter(after, Limit.of(reconciliationPageSize)).stream()
+                .map(user -> new WalletAmount(TransactionPartyType.USER, user.id(), user.balance())).toList(), mismatches);
+        checked += reconcileWallets(TransactionPartyType.SELLER, after ->
+            sellerRepository.findViewPageAfter(after, Limit.of(reconciliationPageSize)).stream()
+                .map(seller -> new WalletAmount(TransactionPartyType.SELLER, seller.id(), seller.balance())).toList(), mismatches);
+        return new ReconciliationReport(checked, List.copyOf(mismatches));
+    }
+
+    private int reconcileWallets(TransactionPartyType walletType, Function<Long, List<WalletAmount>> page,
+                                 List<BalanceMismatch> mismatches) {
+        int checked = 0;
+        Long after = 0L;
+        while (after != null) {
+            Long from = after;
+            List<WalletAmount> wallets = reconciliationTemplate.execute(tx -> {
+                List<WalletAmount> materialized = page.apply(from);
+                if (materialized.isEmpty()) {
+                    return materialized;
+                }
+                List<Long> ids = materialized.stream().map(WalletAmount::walletId).toList();
+                Map<Long, BigDecimal> snapshots = balancesById(
+                    balanceSnapshotRepository.findLatestBalances(walletType, ids, LocalDateTime.now()));
+                Map<Long, BigDecimal> tails = balancesById(net(
+                    ledgerEntryRepository.sumTailsAfterLatestSnapshot(walletType, ids, EPOCH),
+                    financialTransactionRepository.sumReceivedTailsAfterLatestSnapshot(walletType, ids, EPOCH),
+                    financialTransactionRepository.sumPaidTailsAfterLatestSnapshot(walletType, ids, EPOCH)));
+                for (WalletAmount wallet : materialized) {
+                    BigDecimal derived = snapshots.getOrDefault(wallet.walletId(), BigDecimal.ZERO)
+                        .add(tails.getOrDefault(wallet.walletId(), BigDecimal.ZERO));
+                    if (derived.compareTo(wallet.amount()) != 0) {
+                        mismatches.add(new BalanceMismatch(walletType, wallet.walletId(), wallet.amount(), derived));
+                    }
+                }
+                return materialized;
+            });
+            checked += wallets.size();
+            after = wallets.size() < reconciliationPageSize ? null : wallets.get(wallets.size() - 1).walletId();
+        }
+        return checked;
+    }
+
+    /** Per wallet: ledger entries plus transfers received minus transfers paid. */
+    private static List<WalletAmount> net(List<WalletAmount> entries, List<WalletAmount> received, List<WalletAmount> paid) {
+        Map<TransactionPartyType, Map<Long, BigDecimal>> totals = new EnumMap<>(TransactionPartyType.class);
+        for (List<WalletAmount> amounts : List.of(entries, received)) {
+            amounts.forEach(amount -> totals.computeIfAbsent(amount.walletType(), type -> new LinkedHashMap<>())
+                .merge(amount.walletId(), amount.amount(), BigDecimal::add));
+        }
+        paid.forEach(amount -> totals.computeIfAbsent(amount.walletType(), type -> new LinkedHashMap<>())
+            .merge(amount.walletId(), amount.amount().negate(), BigDecimal::add));
+        List<WalletAmount> net = new ArrayList<>();
+        totals.forEach((type, byId) -> byId.forEach((id, amount) -> net.add(new WalletAmount(type, id, amount))));
+        return net;
+    }
+
+    private static Map<Long, BigDecimal> balancesById(List<WalletAmount> amounts) {
+        return amounts.stream().collect(Collectors.toMap(WalletAmount::walletId, WalletAmount::amount));
+    }
+}
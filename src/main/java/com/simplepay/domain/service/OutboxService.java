@@ -0,0 +1,48 @@
+package com.simplepay.domain.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simplepay.domain.entity.OutboxMessage;
+import com.simplepay.domain.enums.OutboxMessageType;
+import com.simplepay.domain.event.TransferCompletedEvent;
+import com.simplepay.domain.repository.OutboxMessageRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Records side effects as outbox rows in the caller's transaction. The rows
+ * commit or roll back together with the business change and are delivered
+ * later by {@link com.simplepay.infrastructure.outbox.OutboxDispatcher}.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxMessageRepository outboxMessageRepository, ObjectMapper objectMapper) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public OutboxMessage enqueue(OutboxMessageType type, Long aggregateId, Object payload) {
+        try {
+            String json = objectMapper.writeValueAsString(payload);
+            return outboxMessageRepository.save(new OutboxMessage(type, aggregateId, json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload", e);
+        }
+    }
+
+    public OutboxMessage enqueuePayeeNotification(Long transactionId, String to, String message) {
+        return enqueue(OutboxMessageType.PAYEE_NOTIFICATION, transactionId, Map.of("to", to, "message", message));
+    }
+
+    public OutboxMessage enqueueTransferCompleted(TransferCompletedEvent event) {
+        return enqueue(OutboxMessageType.TRANSFER_COMPLETED, event.transactionId(), event);
+    }
+}
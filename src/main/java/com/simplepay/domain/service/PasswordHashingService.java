@@ -0,0 +1,113 @@
+package com.simplepay.domain.service;
+
+import com.simplepay.domain.exception.BusinessException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hashes and verifies passwords on a small bounded pool, so a burst of sign-ups
+ * can use at most {@code hashing-threads} cores and never starves transfers.
+ * Hashes are stored as {@code {id}hash}; legacy unprefixed values are read as
+ * BCrypt. {@link #needsRehash} reports hashes made with another algorithm or a
+ * lower cost, so callers can upgrade them after a successful verification.
+ */
+@Service
+public class PasswordHashingService {
+    private static final String BCRYPT = "bcrypt";
+    private static final String PBKDF2 = "pbkdf2";
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHashingService(@Value("${simplepay.password.algorithm:bcrypt}") String algorithm,
+                                  @Value("${simplepay.password.bcrypt-strength:10}") int bcryptStrength,
+                                  @Value("${simplepay.password.pbkdf2-iterations:310000}") int pbkdf2Iterations,
+                                  @Value("${simplepay.password.hashing-threads:2}") int hashingThreads,
+                                  @Value("${simplepay.password.queue-capacity:1000}") int queueCapacity) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = Map.of(
+            BCRYPT, bcrypt,
+            PBKDF2, new Pbkdf2PasswordEncoder("", 16, pbkdf2Iterations, SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalStateException("Unsupported password algorithm: " + algorithm);
+        }
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        this.encoder = delegating;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(hashingThreads, hashingThreads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public String hash(String plainPassword) {
+        return await(hashAsync(plainPassword));
+    }
+
+    /**
+     * Queues the hash without blocking, for callers onboarding many accounts at
+     * once; the pool size still caps how many hashes run in parallel.
+     */
+    public CompletableFuture<String> hashAsync(String plainPassword) {
+        return submit(() -> encoder.encode(plainPassword));
+    }
+
+    public boolean matches(String plainPassword, String encodedPassword) {
+        if (plainPassword == null || encodedPassword == null) {
+            return false;
+        }
+        return await(submit(() -> encoder.matches(plainPassword, encodedPassword)));
+    }
+
+    /**
+     * True when the hash was made with another algorithm, a lower cost or
+     * before hashes carried an algorithm prefix.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return encodedPassword != null && encoder.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            throw new BusinessException("Muitas operações de senha em processamento, tente novamente");
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.simplepay.domain.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Periodically folds striped seller balances back into the balance column,
+ * one seller per transaction, so stripes stay small and a plain column read
+ * is never far behind the real balance.
+ */
+@Component
+public class SellerBalanceCompactor {
+    private static final Logger log = LoggerFactory.getLogger(SellerBalanceCompactor.class);
+
+    private final SellerService sellerService;
+
+    @Value("${simplepay.seller.balance-stripes.compactor.enabled:true}")
+    private boolean enabled = true;
+    @Value("${simplepay.seller.balance-stripes.compactor.batch-size:100}")
+    private int batchSize = 100;
+
+    public SellerBalanceCompactor(SellerService sellerService) {
+        this.sellerService = sellerService;
+    }
+
+    @Scheduled(fixedDelayString = "${simplepay.seller.balance-stripes.compactor.interval:30s}")
+    public void compactScheduled() {
+        if (enabled) {
+            int folded = compact();
+            if (folded > 0) {
+                log.debug("Folded balance stripes of {} sellers", folded);
+            }
+        }
+    }
+
+    /**
+     * Folds up to one batch of sellers whose stripes hold money. Returns the
+     * number of sellers folded.
+     */
+    public int compact() {
+        List<Long> sellerIds = sellerService.findSellerIdsWithUnfoldedBalance(batchSize);
+        int folded = 0;
+        for (Long sellerId : sellerIds) {
+            try {
+                if (sellerService.foldBalanceStripes(sellerId).signum() != 0) {
+                    folded++;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not fold balance stripes of seller {}", sellerId, e);
+            }
+        }
+        return folded;
+    }
+}
@@ -1,22 +1,57 @@
 package com.simplepay.domain.service;
 
+import com.simplepay.domain.dto.CursorPage;
+import com.simplepay.domain.dto.PartyInfo;
+import com.simplepay.domain.dto.SellerView;
 import com.simplepay.domain.entity.Seller;
+import com.simplepay.domain.entity.SellerBalanceStripe;
+import com.simplepay.domain.enums.LedgerEntryType;
+import com.simplepay.domain.enums.TransactionPartyType;
+import com.simplepay.domain.exception.BusinessException;
+import com.simplepay.domain.repository.SellerBalanceStripeRepository;
 import com.simplepay.domain.repository.SellerRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class SellerService {
 
+    public static final String PARTY_CACHE = "sellerParties";
+
     private final SellerRepository sellerRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final LedgerService ledgerService;
+    private final SellerBalanceStripeRepository sellerBalanceStripeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${simplepay.seller.balance-stripes.max:64}")
+    private int maxBalanceStripes = 64;
 
-    public SellerService(SellerRepository sellerRepository) {
+    public SellerService(SellerRepository sellerRepository, PasswordHashingService passwordHashingService,
+                         LedgerService ledgerService, SellerBalanceStripeRepository sellerBalanceStripeRepository,
+                         TransactionTemplate transactionTemplate) {
         this.sellerRepository = sellerRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.ledgerService = ledgerService;
+        this.sellerBalanceStripeRepository = sellerBalanceStripeRepository;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Transactional(readOnly = true)
@@ -34,6 +69,57 @@ public class SellerService {
         return sellerRepository.findByEmail(email);
     }
 
+    @Transactional(readOnly = true)
+    public List<Seller> findAllById(Collection<Long> ids) {
+        return sellerRepository.findAllById(ids);
+    }
+
+    /**
+     * Loads and write-locks the given rows in ascending id order, so concurrent
+     * transfers touching the same wallets always acquire locks in the same order.
+     */
+    public List<Seller> findAllByIdForUpdate(Collection<Long> ids) {
+        return sellerRepository.findAllByIdForUpdate(ids);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<SellerView> findViewById(Long id) {
+        return sellerRepository.findViewById(id);
+    }
+
+    /**
+     * Existence, type, e-mail and stripe count of a seller, read through the party cache. Unknown
+     * ids are not cached, and the entry is evicted whenever the seller is saved
+     * or deleted through this service.
+     */
+    @Cacheable(cacheNames = PARTY_CACHE, unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Optional<PartyInfo> findPartyInfo(Long id) {
+        return sellerRepository.findPartyInfoById(id);
+    }
+
+    /**
+     * Returns up to {@code size} sellers with an id greater than {@code afterId}
+     * ({@code null} for the first page), using the primary key index instead
+     * of an OFFSET scan.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<SellerView> findPage(Long afterId, int size) {
+        List<SellerView> rows = sellerRepository.findViewPageAfter(afterId != null ? afterId : 0L, Limit.of(size + 1));
+        return CursorPage.of(rows, size, SellerView::id);
+    }
+
+    /**
+     * Hands every seller to {@code consumer} in id order. Rows are read as
+     * unmanaged records, so memory stays flat however large the table is.
+     */
+    @Transactional(readOnly = true)
+    public void forEach(Consumer<SellerView> consumer) {
+        try (Stream<SellerView> sellers = sellerRepository.streamViewsOrderById()) {
+            sellers.forEach(consumer);
+        }
+    }
+
     @Transactional(readOnly = true)
     public List<Seller> findAll() {
         return sellerRepository.findAll();
@@ -54,76 +140,118 @@ public class SellerService {
         return sellerRepository.existsByDocumentOrEmail(document, email);
     }
 
+    /**
+     * Account writes may carry a plain password, so they only join a caller's
+     * transaction (transfers saving wallets, which never do) and otherwise
+     * hash first and write in a transaction of their own.
+     */
+    @CacheEvict(cacheNames = PARTY_CACHE, key = "#seller.id", condition = "#seller.id != null")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Seller save(Seller seller) {
-        validateSellerUniqueness(seller);
-        return sellerRepository.save(seller);
+        hashPendingPassword(seller);
+        return transactionTemplate.execute(tx -> {
+            validateSellerUniqueness(seller);
+            if (seller.getId() != null) {
+                // Existing wallets are saved by transfers, which write their own entries.
+                return sellerRepository.save(seller);
+            }
+            return saveOpening(seller);
+        });
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Seller create(String name, String document, String email, String password) {
         if (existsByDocumentOrEmail(document, email)) {
             throw new IllegalArgumentException("Seller with this document or email already exists");
         }
         
         Seller seller = new Seller(name, document, email, password);
-        return sellerRepository.save(seller);
+        hashPendingPassword(seller);
+        return transactionTemplate.execute(tx -> saveOpening(seller));
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Seller create(String name, String document, String email, String password, BigDecimal balance) {
         if (existsByDocumentOrEmail(document, email)) {
             throw new IllegalArgumentException("Seller with this document or email already exists");
         }
         
         Seller seller = new Seller(name, document, email, password, balance);
-        return sellerRepository.save(seller);
+        hashPendingPassword(seller);
+        return transactionTemplate.execute(tx -> saveOpening(seller));
     }
 
+    @CacheEvict(cacheNames = PARTY_CACHE, key = "#seller.id", condition = "#seller.id != null")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Seller update(Seller seller) {
-        if (!sellerRepository.existsById(seller.getId())) {
-            throw new IllegalArgumentException("Seller not found");
-        }
-        
-        Optional<Seller> existingSeller = sellerRepository.findById(seller.getId());
-        if (existingSeller.isPresent()) {
-            Seller existing = existingSeller.get();
-            
-            if (!existing.getDocument().equals(seller.getDocument()) && 
-                sellerRepository.existsByDocument(seller.getDocument())) {
-                throw new IllegalArgumentException("Document already exists");
+        hashPendingPassword(seller);
+        return transactionTemplate.execute(tx -> {
+            if (!sellerRepository.existsById(seller.getId())) {
+                throw new IllegalArgumentException("Seller not found");
             }
             
-            if (!existing.getEmail().equals(seller.getEmail()) && 
-                sellerRepository.existsByEmail(seller.getEmail())) {
-                throw new IllegalArgumentException("Email already exists");
+            Optional<Seller> existingSeller = sellerRepository.findById(seller.getId());
+            BigDecimal balanceBefore = null;
+            if (existingSeller.isPresent()) {
+                Seller existing = existingSeller.get();
+                balanceBefore = existing.getBalance();
+                
+                if (!existing.getDocument().equals(seller.getDocument()) && 
+                    sellerRepository.existsByDocument(seller.getDocument())) {
+                    throw new IllegalArgumentException("Document already exists");
+                }
+                
+                if (!existing.getEmail().equals(seller.getEmail()) && 
+                    sellerRepository.existsByEmail(seller.getEmail())) {
+                    throw new IllegalArgumentException("Email already exists");
+                }
             }
-        }
-        
-        return sellerRepository.save(seller);
+            
+            recordBalanceChange(seller.getId(), balanceBefore, seller.getBalance());
+            return sellerRepository.save(seller);
+        });
     }
 
+    @CacheEvict(cacheNames = PARTY_CACHE, key = "#id")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<Seller> update(Long id, Seller seller) {
-        if (!sellerRepository.existsById(id)) {
-            return Optional.empty();
-        }
-        seller.setId(id);
-        return Optional.of(sellerRepository.save(seller));
+        hashPendingPassword(seller);
+        return transactionTemplate.execute(tx -> {
+            Optional<Seller> existing = sellerRepository.findById(id);
+            if (existing.isEmpty()) {
+                return Optional.empty();
+            }
+            seller.setId(id);
+            seller.setVersion(existing.get().getVersion());
+            recordBalanceChange(id, existing.get().getBalance(), seller.getBalance());
+            return Optional.of(sellerRepository.save(seller));
+        });
     }
 
+    @CacheEvict(cacheNames = PARTY_CACHE, key = "#id")
     public void deleteById(Long id) {
         if (!sellerRepository.existsById(id)) {
             throw new IllegalArgumentException("Seller not found");
         }
+        sellerBalanceStripeRepository.deleteBySellerId(id);
         sellerRepository.deleteById(id);
     }
 
+    @CacheEvict(cacheNames = PARTY_CACHE, key = "#id")
     public boolean delete(Long id) {
         if (!sellerRepository.existsById(id)) {
             return false;
         }
+        sellerBalanceStripeRepository.deleteBySellerId(id);
         sellerRepository.deleteById(id);
         return true;
     }
 
+    @CacheEvict(cacheNames = PARTY_CACHE, key = "#seller.id", condition = "#seller.id != null")
     public void delete(Seller seller) {
+        if (seller.getId() != null) {
+            sellerBalanceStripeRepository.deleteBySellerId(seller.getId());
+        }
         sellerRepository.delete(seller);
     }
 
@@ -139,10 +267,138 @@ public class SellerService {
         }
         
         Seller seller = optionalSeller.get();
+        BigDecimal balanceBefore = seller.getBalance();
         seller.addToBalance(amount);
+        recordBalanceChange(sellerId, balanceBefore, seller.getBalance());
         return sellerRepository.save(seller);
     }
 
+    /**
+     * Adds {@code amount} in a single UPDATE. Returns false when the seller does not exist.
+     */
+    public boolean credit(Long sellerId, BigDecimal amount) {
+        return sellerRepository.credit(sellerId, amount, LocalDateTime.now()) == 1;
+    }
+
+    /**
+     * Adds {@code amount} to a random one of the seller's {@code stripes}
+     * stripe rows, so concurrent credits to a hot seller rarely wait on each
+     * other. With no stripes, or when striping was just reconfigured and the
+     * stripe is gone, the credit goes to the balance column instead.
+     */
+    public boolean credit(Long sellerId, int stripes, BigDecimal amount) {
+        if (stripes > 0) {
+            int stripe = ThreadLocalRandom.current().nextInt(stripes);
+            if (sellerBalanceStripeRepository.add(sellerId, stripe, amount, LocalDateTime.now()) == 1) {
+                return true;
+            }
+        }
+        return credit(sellerId, amount);
+    }
+
+    /**
+     * Switches the seller to {@code stripes} balance stripes, or back to a
+     * single balance column with 0. Whatever the old stripes hold is folded
+     * into the column first; they are locked while this runs, so no credit can
+     * land on a stripe that is about to be deleted.
+     */
+    @CacheEvict(cacheNames = PARTY_CACHE, key = "#sellerId")
+    public void configureBalanceStripes(Long sellerId, int stripes) {
+        if (stripes < 0 || stripes > maxBalanceStripes) {
+            throw new BusinessException("O número de faixas de saldo deve estar entre 0 e " + maxBalanceStripes);
+        }
+        if (sellerRepository.findAllByIdForUpdate(List.of(sellerId)).isEmpty()) {
+            throw new IllegalArgumentException("Seller not found");
+        }
+        fold(sellerId, sellerBalanceStripeRepository.findBySellerIdForUpdate(sellerId));
+        sellerBalanceStripeRepository.deleteBySellerId(sellerId);
+        List<SellerBalanceStripe> created = new ArrayList<>(stripes);
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            created.add(new SellerBalanceStripe(sellerId, stripe));
+        }
+        sellerBalanceStripeRepository.saveAll(created);
+        sellerRepository.updateBalanceStripes(sellerId, stripes, LocalDateTime.now());
+    }
+
+    /**
+     * Moves what the seller's stripes hold into the balance column. Each stripe
+     * is decreased by the amount read rather than reset, so credits landing
+     * meanwhile stay on the stripe and the total never changes. Returns the
+     * amount folded.
+     */
+    public BigDecimal foldBalanceStripes(Long sellerId) {
+        return fold(sellerId, sellerBalanceStripeRepository.findBySellerIdOrderByStripe(sellerId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> findSellerIdsWithUnfoldedBalance(int limit) {
+        return sellerBalanceStripeRepository.findSellerIdsWithUnfoldedBalance(Limit.of(limit));
+    }
+
+    /**
+     * Checks the password and, when it matches a hash made with an older
+     * algorithm or cost, stores a fresh hash with the current settings. Both
+     * run on the hashing pool outside any transaction.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean verifyPassword(Long sellerId, String plainPassword) {
+        Seller seller = sellerRepository.findById(sellerId)
+            .orElseThrow(() -> new IllegalArgumentException("Seller not found"));
+        if (!passwordHashingService.matches(plainPassword, seller.getPassword())) {
+            return false;
+        }
+        if (passwordHashingService.needsRehash(seller.getPassword())) {
+            seller.applyPasswordHash(passwordHashingService.hash(plainPassword));
+            sellerRepository.save(seller);
+        }
+        return true;
+    }
+
+    // Seller row first, then stripes, the same lock order as batch transfers.
+    private BigDecimal fold(Long sellerId, List<SellerBalanceStripe> stripes) {
+        if (stripes.stream().allMatch(stripe -> stripe.getBalance().signum() == 0)) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal total = stripes.stream().map(SellerBalanceStripe::getBalance).reduce(BigDecimal.ZERO, BigDecimal::add);
+        LocalDateTime now = LocalDateTime.now();
+        sellerRepository.credit(sellerId, total, now);
+        for (SellerBalanceStripe stripe : stripes) {
+            if (stripe.getBalance().signum() != 0) {
+                sellerBalanceStripeRepository.add(sellerId, stripe.getStripe(), stripe.getBalance().negate(), now);
+            }
+        }
+        return total;
+    }
+
+    private Seller saveOpening(Seller seller) {
+        Seller saved = sellerRepository.save(seller);
+        ledgerService.recordAdjustment(TransactionPartyType.SELLER, saved.getId(), LedgerEntryType.OPENING, saved.getBalance());
+        return saved;
+    }
+
+    /**
+     * Balance edits outside transfers are appended to the ledger as adjustments,
+     * so the derived balance keeps matching the column.
+     */
+    private void recordBalanceChange(Long sellerId, BigDecimal before, BigDecimal after) {
+        if (before != null && after != null) {
+            ledgerService.recordAdjustment(TransactionPartyType.SELLER, sellerId, LedgerEntryType.ADJUSTMENT, after.subtract(before));
+        }
+    }
+
+    /**
+     * Hashes a password set in plain text on the hashing pool. It runs before
+     * the write transaction opens, so no JDBC connection is held while the
+     * hash waits on the pool; and a detached entity loses its transient
+     * pending password when merged, so it must run before {@code save}.
+     */
+    private void hashPendingPassword(Seller seller) {
+        String pending = seller.pendingPassword();
+        if (pending != null) {
+            seller.applyPasswordHash(passwordHashingService.hash(pending));
+        }
+    }
+
     private void validateSellerUniqueness(Seller seller) {
         if (seller.getId() == null) {
             if (existsByDocumentOrEmail(seller.getDocument(), seller.getEmail())) {
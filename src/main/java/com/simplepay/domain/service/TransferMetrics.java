@@ -0,0 +1,131 @@
+package com.simplepay.domain.service;
+
+import com.simplepay.domain.enums.TransactionStatus;
+import com.simplepay.domain.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Meters of the transfer flow, exported by Actuator (e.g. /actuator/prometheus):
+ * <ul>
+ *   <li>{@code simplepay.transfer.stage} timer per {@link Stage}, to see where
+ *   a transfer spends its time;</li>
+ *   <li>{@code simplepay.transfer.duration} timer and
+ *   {@code simplepay.transfer.outcomes} counter by mode, status and reason;</li>
+ *   <li>{@code simplepay.transfer.in.flight} gauge of transfers being processed.</li>
+ * </ul>
+ * The timers come from observations, so with tracing enabled each transfer
+ * is also a span ("transfer sync") with a child span per stage; percentile
+ * histograms are turned on in application.yaml. Reasons are stable codes
+ * derived from the BusinessException message, so rewording a message does
+ * not break dashboards and tag cardinality stays bounded.
+ */
+@Component
+public class TransferMetrics {
+    /**
+     * SETTLEMENT is the whole write transaction, commit included; the inserts
+     * of HISTORY and NOTIFICATION are flushed at commit, so their timers cover
+     * building the rows and SETTLEMENT covers writing them.
+     */
+    public enum Stage { VALIDATION, AUTHORIZATION, SETTLEMENT, BALANCE_UPDATE, HISTORY, NOTIFICATION }
+
+    public static final String REASON_NONE = "NONE";
+    public static final String REASON_UNEXPECTED = "UNEXPECTED_ERROR";
+    public static final String REASON_OTHER = "OTHER";
+
+    private static final Map<String, String> REASON_CODES = Map.of(
+        "Payer not found", "PAYER_NOT_FOUND",
+        "Payee not found", "PAYEE_NOT_FOUND",
+        "Lojistas não podem enviar transferências", "SELLER_PAYER",
+        "payerType e payeeType são obrigatórios", "MISSING_PARTY_TYPE",
+        "Saldo insuficiente", "INSUFFICIENT_BALANCE",
+        "Transação não autorizada pelo serviço externo", "NOT_AUTHORIZED",
+        "Serviço autorizador indisponível, tente novamente", "AUTHORIZER_UNAVAILABLE",
+        "Carteira em uso por outra transferência, tente novamente", "WALLET_CONTENTION",
+        "Muitas transferências em processamento, tente novamente", "QUEUE_FULL",
+        "Value must be positive", "INVALID_VALUE");
+
+    private final MeterRegistry registry;
+    private final ObservationRegistry observationRegistry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public TransferMetrics(MeterRegistry registry, ObservationRegistry observationRegistry) {
+        this.registry = registry;
+        this.observationRegistry = observationRegistry;
+        registry.gauge("simplepay.transfer.in.flight", inFlight);
+    }
+
+    public <T> T time(Stage stage, Supplier<T> work) {
+        return stage(stage).observe(work);
+    }
+
+    public void time(Stage stage, Runnable work) {
+        stage(stage).observe(work);
+    }
+
+    private Observation stage(Stage stage) {
+        String name = stage.name().toLowerCase(Locale.ROOT);
+        return Observation.createNotStarted("simplepay.transfer.stage", observationRegistry)
+            .contextualName("transfer " + name)
+            .lowCardinalityKeyValue("stage", name);
+    }
+
+    /**
+     * Runs a whole transfer, counting it as in flight meanwhile, and records
+     * its duration and outcome. A BusinessException counts as FAILED with its
+     * reason code; any other exception as FAILED with {@link #REASON_UNEXPECTED}.
+     */
+    public TransactionStatus track(String mode, Supplier<TransactionStatus> transfer) {
+        Observation observation = Observation.createNotStarted("simplepay.transfer.duration", observationRegistry)
+            .contextualName("transfer " + mode)
+            .lowCardinalityKeyValue("mode", mode)
+            .start();
+        inFlight.incrementAndGet();
+        TransactionStatus status = TransactionStatus.FAILED;
+        String reason = REASON_UNEXPECTED;
+        try (Observation.Scope scope = observation.openScope()) {
+            status = transfer.get();
+            reason = REASON_NONE;
+            return status;
+        } catch (BusinessException e) {
+            reason = reasonCode(e.getMessage());
+            observation.error(e);
+            throw e;
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+            observation.lowCardinalityKeyValue("status", status.name())
+                .lowCardinalityKeyValue("reason", reason)
+                .stop();
+            countOutcome(mode, status, reason);
+        }
+    }
+
+    public void countOutcome(String mode, TransactionStatus status, String reason) {
+        Counter.builder("simplepay.transfer.outcomes")
+            .description("Transfers by final status and failure reason")
+            .tags("mode", mode, "status", status.name(), "reason", reason)
+            .register(registry)
+            .increment();
+    }
+
+    static String reasonCode(String message) {
+        if (message == null) {
+            return REASON_OTHER;
+        }
+        if (message.startsWith("O lote")) {
+            return "INVALID_BATCH";
+        }
+        return REASON_CODES.getOrDefault(message, REASON_OTHER);
+    }
+}
@@ -1,22 +1,45 @@
 package com.simplepay.domain.service;
 
+import com.simplepay.domain.dto.CursorPage;
+import com.simplepay.domain.dto.PartyInfo;
+import com.simplepay.domain.dto.UserView;
 import com.simplepay.domain.entity.User;
+import com.simplepay.domain.enums.LedgerEntryType;
+import com.simplepay.domain.enums.TransactionPartyType;
 import com.simplepay.domain.repository.UserRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class UserService {
 
+    public static final String PARTY_CACHE = "userParties";
+
     private final UserRepository userRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final LedgerService ledgerService;
+    private final TransactionTemplate transactionTemplate;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, PasswordHashingService passwordHashingService,
+                       LedgerService ledgerService, TransactionTemplate transactionTemplate) {
         this.userRepository = userRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.ledgerService = ledgerService;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Transactional(readOnly = true)
@@ -34,6 +57,57 @@ public class UserService {
         return userRepository.findByMail(mail);
     }
 
+    @Transactional(readOnly = true)
+    public List<User> findAllById(Collection<Long> ids) {
+        return userRepository.findAllById(ids);
+    }
+
+    /**
+     * Loads and write-locks the given rows in ascending id order, so concurrent
+     * transfers touching the same wallets always acquire locks in the same order.
+     */
+    public List<User> findAllByIdForUpdate(Collection<Long> ids) {
+        return userRepository.findAllByIdForUpdate(ids);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<UserView> findViewById(Long id) {
+        return userRepository.findViewById(id);
+    }
+
+    /**
+     * Existence, type and e-mail of a user, read through the party cache. Unknown
+     * ids are not cached, and the entry is evicted whenever the user is saved
+     * or deleted through this service.
+     */
+    @Cacheable(cacheNames = PARTY_CACHE, unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Optional<PartyInfo> findPartyInfo(Long id) {
+        return userRepository.findViewById(id).map(PartyInfo::of);
+    }
+
+    /**
+     * Returns up to {@code size} users with an id greater than {@code afterId}
+     * ({@code null} for the first page), using the primary key index instead
+     * of an OFFSET scan.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<UserView> findPage(Long afterId, int size) {
+        List<UserView> rows = userRepository.findViewPageAfter(afterId != null ? afterId : 0L, Limit.of(size + 1));
+        return CursorPage.of(rows, size, UserView::id);
+    }
+
+    /**
+     * Hands every user to {@code consumer} in id order. Rows are read as
+     * unmanaged records, so memory stays flat however large the table is.
+     */
+    @Transactional(readOnly = true)
+    public void forEach(Consumer<UserView> consumer) {
+        try (Stream<UserView> users = userRepository.streamViewsOrderById()) {
+            users.forEach(consumer);
+        }
+    }
+
     @Transactional(readOnly = true)
     public List<User> findAll() {
         return userRepository.findAll();
@@ -54,63 +128,98 @@ public class UserService {
         return userRepository.existsByDocumentOrMail(document, mail);
     }
 
+    /**
+     * Account writes may carry a plain password, so they only join a caller's
+     * transaction (transfers saving wallets, which never do) and otherwise
+     * hash first and write in a transaction of their own.
+     */
+    @CacheEvict(cacheNames = PARTY_CACHE, key = "#user.id", condition = "#user.id != null")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public User save(User user) {
-        validateUserUniqueness(user);
-        return userRepository.save(user);
+        hashPendingPassword(user);
+        return transactionTemplate.execute(tx -> {
+            validateUserUniqueness(user);
+            if (user.getId() != null) {
+                // Existing wallets are saved by transfers, which write their own entries.
+                return userRepository.save(user);
+            }
+            return saveOpening(user);
+        });
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public User create(String name, String document, String mail, String password) {
         if (existsByDocumentOrMail(document, mail)) {
             throw new IllegalArgumentException("User with this document or email already exists");
         }
         
         User user = new User(name, document, mail, password);
-        return userRepository.save(user);
+        hashPendingPassword(user);
+        return transactionTemplate.execute(tx -> saveOpening(user));
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public User create(String name, String document, String mail, String password, BigDecimal balance) {
         if (existsByDocumentOrMail(document, mail)) {
             throw new IllegalArgumentException("User with this document or email already exists");
         }
         
         User user = new User(name, document, mail, password, balance);
-        return userRepository.save(user);
+        hashPendingPassword(user);
+        return transactionTemplate.execute(tx -> saveOpening(user));
     }
 
+    @CacheEvict(cacheNames = PARTY_CACHE, key = "#user.id", condition = "#user.id != null")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public User update(User user) {
-        if (!userRepository.existsById(user.getId())) {
-            throw new IllegalArgumentException("User not found");
-        }
-        
-        // Check if document or email is being changed and if they're still unique
-        Optional<User> existingUser = userRepository.findById(user.getId());
-        if (existingUser.isPresent()) {
-            User existing = existingUser.get();
-            
-            // If document changed, check uniqueness
-            if (!existing.getDocument().equals(user.getDocument()) && 
-                userRepository.existsByDocument(user.getDocument())) {
-                throw new IllegalArgumentException("Document already exists");
+        hashPendingPassword(user);
+        return transactionTemplate.execute(tx -> {
+            if (!userRepository.existsById(user.getId())) {
+                throw new IllegalArgumentException("User not found");
             }
             
-            // If email changed, check uniqueness
-            if (!existing.getMail().equals(user.getMail()) && 
-                userRepository.existsByMail(user.getMail())) {
-                throw new IllegalArgumentException("Email already exists");
+            // Check if document or email is being changed and if they're still unique
+            Optional<User> existingUser = userRepository.findById(user.getId());
+            BigDecimal balanceBefore = null;
+            if (existingUser.isPresent()) {
+                User existing = existingUser.get();
+                balanceBefore = existing.getBalance();
+                
+                // If document changed, check uniqueness
+                if (!existing.getDocument().equals(user.getDocument()) && 
+                    userRepository.existsByDocument(user.getDocument())) {
+                    throw new IllegalArgumentException("Document already exists");
+                }
+                
+                // If email changed, check uniqueness
+                if (!existing.getMail().equals(user.getMail()) && 
+                    userRepository.existsByMail(user.getMail())) {
+                    throw new IllegalArgumentException("Email already exists");
+                }
             }
-        }
-        
-        return userRepository.save(user);
+            
+            recordBalanceChange(user.getId(), balanceBefore, user.getBalance());
+            return userRepository.save(user);
+        });
     }
 
+    @CacheEvict(cacheNames = PARTY_CACHE, key = "#id")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<User> update(Long id, User user) {
-        if (!userRepository.existsById(id)) {
-            return Optional.empty();
-        }
-        user.setId(id);
-        return Optional.of(userRepository.save(user));
+        hashPendingPassword(user);
+        return transactionTemplate.execute(tx -> {
+            Optional<User> existing = userRepository.findById(id);
+            if (existing.isEmpty()) {
+                return Optional.empty();
+            }
+            user.setId(id);
+            user.setVersion(existing.get().getVersion());
+            recordBalanceChange(id, existing.get().getBalance(), user.getBalance());
+            return Optional.of(userRepository.save(user));
+        });
     }
 
+    @CacheEvict(cacheNames = PARTY_CACHE, key = "#id")
     public void deleteById(Long id) {
         if (!userRepository.existsById(id)) {
             throw new IllegalArgumentException("User not found");
@@ -118,6 +227,7 @@ public class UserService {
         userRepository.deleteById(id);
     }
 
+    @CacheEvict(cacheNames = PARTY_CACHE, key = "#id")
     public boolean delete(Long id) {
         if (!userRepository.existsById(id)) {
             return false;
@@ -126,6 +236,7 @@ public class UserService {
         return true;
     }
 
+    @CacheEvict(cacheNames = PARTY_CACHE, key = "#user.id", condition = "#user.id != null")
     public void delete(User user) {
         userRepository.delete(user);
     }
@@ -142,7 +253,9 @@ public class UserService {
         }
         
         User user = optionalUser.get();
+        BigDecimal balanceBefore = user.getBalance();
         user.addToBalance(amount);
+        recordBalanceChange(userId, balanceBefore, user.getBalance());
         return userRepository.save(user);
     }
 
@@ -153,7 +266,9 @@ public class UserService {
         }
         
         User user = optionalUser.get();
+        BigDecimal balanceBefore = user.getBalance();
         user.subtractFromBalance(amount);
+        recordBalanceChange(userId, balanceBefore, user.getBalance());
         return userRepository.save(user);
     }
 
@@ -167,6 +282,69 @@ public class UserService {
         return optionalUser.get().hasBalance(amount);
     }
 
+    /**
+     * Subtracts {@code amount} in a single conditional UPDATE. Returns false when
+     * the user does not exist or its balance is lower than {@code amount}.
+     */
+    public boolean debit(Long userId, BigDecimal amount) {
+        return userRepository.debit(userId, amount, LocalDateTime.now()) == 1;
+    }
+
+    /**
+     * Adds {@code amount} in a single UPDATE. Returns false when the user does not exist.
+     */
+    public boolean credit(Long userId, BigDecimal amount) {
+        return userRepository.credit(userId, amount, LocalDateTime.now()) == 1;
+    }
+
+    /**
+     * Checks the password and, when it matches a hash made with an older
+     * algorithm or cost, stores a fresh hash with the current settings. Both
+     * run on the hashing pool outside any transaction.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean verifyPassword(Long userId, String plainPassword) {
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        if (!passwordHashingService.matches(plainPassword, user.getPassword())) {
+            return false;
+        }
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            user.applyPasswordHash(passwordHashingService.hash(plainPassword));
+            userRepository.save(user);
+        }
+        return true;
+    }
+
+    private User saveOpening(User user) {
+        User saved = userRepository.save(user);
+        ledgerService.recordAdjustment(TransactionPartyType.USER, saved.getId(), LedgerEntryType.OPENING, saved.getBalance());
+        return saved;
+    }
+
+    /**
+     * Balance edits outside transfers are appended to the ledger as adjustments,
+     * so the derived balance keeps matching the column.
+     */
+    private void recordBalanceChange(Long userId, BigDecimal before, BigDecimal after) {
+        if (before != null && after != null) {
+            ledgerService.recordAdjustment(TransactionPartyType.USER, userId, LedgerEntryType.ADJUSTMENT, after.subtract(before));
+        }
+    }
+
+    /**
+     * Hashes a password set in plain text on the hashing pool. It runs before
+     * the write transaction opens, so no JDBC connection is held while the
+     * hash waits on the pool; and a detached entity loses its transient
+     * pending password when merged, so it must run before {@code save}.
+     */
+    private void hashPendingPassword(User user) {
+        String pending = user.pendingPassword();
+        if (pending != null) {
+            user.applyPasswordHash(passwordHashingService.hash(pending));
+        }
+    }
+
     private void validateUserUniqueness(User user) {
         // For new users (no ID)
         if (user.getId() == null) {
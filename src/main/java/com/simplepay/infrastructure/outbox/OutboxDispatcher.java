@@ -0,0 +1,238 @@
+package com.simplepay.infrastructure.outbox;
+
+import com.simplepay.domain.entity.OutboxMessage;
+import com.simplepay.domain.enums.OutboxStatus;
+import com.simplepay.domain.repository.OutboxMessageRepository;
+import com.simplepay.infrastructure.stream.TransferEventPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the outbox in batches. Due rows are claimed in a short transaction
+ * (SKIP LOCKED plus a lease on next_attempt_at), delivered with no transaction
+ * open, and the outcome is recorded in a second short transaction. Delivery
+ * runs in parallel and gives up at a deadline shorter than the lease, so a
+ * slow notifier cannot outlast the lease and get a batch claimed twice. The
+ * batch's transfer events are sent to Kafka together and only count as
+ * delivered once Kafka has acknowledged them. Failed deliveries are retried
+ * with exponential backoff until max-attempts.
+ */
+@Component
+public class OutboxDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RestTemplate restTemplate;
+    private final TransferEventPublisher transferEventPublisher;
+    private final Duration lease;
+    private final Duration deliveryDeadline;
+    private final int deliveryConcurrency;
+
+    @Value("${simplepay.outbox.dispatcher.enabled:true}")
+    private boolean enabled;
+    @Value("${simplepay.outbox.batch-size:100}")
+    private int batchSize;
+    @Value("${simplepay.outbox.max-attempts:10}")
+    private int maxAttempts;
+    @Value("${simplepay.outbox.initial-backoff:1s}")
+    private Duration initialBackoff;
+    @Value("${simplepay.outbox.max-backoff:5m}")
+    private Duration maxBackoff;
+    @Value("${simplepay.outbox.retention:7d}")
+    private Duration retention;
+    @Value("${simplepay.outbox.purge-batch-size:1000}")
+    private int purgeBatchSize;
+    @Value("${simplepay.notifier.url:https://util.devi.tools/api/v1/notify}")
+    private String notifyUrl;
+
+    public OutboxDispatcher(OutboxMessageRepository outboxMessageRepository, TransactionTemplate transactionTemplate,
+                            RestTemplate restTemplate, TransferEventPublisher transferEventPublisher,
+                            @Value("${simplepay.outbox.lease:30s}") Duration lease,
+                            @Value("${simplepay.outbox.delivery-deadline:20s}") Duration deliveryDeadline,
+                            @Value("${simplepay.outbox.delivery-concurrency:16}") int deliveryConcurrency) {
+        if (deliveryDeadline.compareTo(lease) >= 0) {
+            throw new IllegalStateException("simplepay.outbox.delivery-deadline (" + deliveryDeadline
+                + ") must be shorter than simplepay.outbox.lease (" + lease + ")");
+        }
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.restTemplate = restTemplate;
+        this.transferEventPublisher = transferEventPublisher;
+        this.lease = lease;
+        this.deliveryDeadline = deliveryDeadline;
+        this.deliveryConcurrency = deliveryConcurrency;
+    }
+
+    @Scheduled(fixedDelayString = "${simplepay.outbox.poll-interval:1s}")
+    public void poll() {
+        if (enabled) {
+            dispatchPending();
+        }
+    }
+
+    /**
+     * Delivers one batch of due messages and returns how many were delivered.
+     */
+    public int dispatchPending() {
+        List<OutboxMessage> batch = transactionTemplate.execute(tx -> claimBatch());
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        Map<Long, String> failures = new ConcurrentHashMap<>();
+        Set<Long> released = deliver(batch, failures);
+        transactionTemplate.executeWithoutResult(tx -> recordOutcome(batch, failures, released));
+        if (!failures.isEmpty()) {
+            log.warn("Outbox dispatch: {} of {} messages failed and will be retried", failures.size(), batch.size());
+        }
+        return batch.size() - failures.size() - released.size();
+    }
+
+    /**
+     * Deletes DELIVERED messages older than the retention window, one
+     * purge-batch-size transaction at a time so the purge never holds a long
+     * transaction or a large set of row locks. Returns how many were deleted.
+     */
+    @Scheduled(fixedDelayString = "${simplepay.outbox.purge-interval:1h}")
+    public int purgeDelivered() {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(tx -> outboxMessageRepository.deleteByIds(
+                outboxMessageRepository.findIdsByStatusDeliveredBefore(OutboxStatus.DELIVERED, before, Limit.of(purgeBatchSize))));
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+        if (purged > 0) {
+            log.info("Purged {} delivered outbox messages", purged);
+        }
+        return purged;
+    }
+
+    /**
+     * Delivers the batch on up to delivery-concurrency threads and stops
+     * waiting at the delivery deadline, which is shorter than the lease, so no
+     * other node can claim a message that is still being delivered here.
+     * Notifications are posted one per thread; transfer events are all sent
+     * by one thread without waiting for each ack, and wait for their acks
+     * together. Messages still in flight at the deadline count as failed
+     * attempts; notifications not started by then are returned, to be
+     * released untouched.
+     */
+    private Set<Long> deliver(List<OutboxMessage> batch, Map<Long, String> failures) {
+        long deadline = System.nanoTime() + deliveryDeadline.toNanos();
+        // Whoever adds an id first decides: a worker delivers it, the deadline releases it.
+        Set<Long> taken = ConcurrentHashMap.newKeySet();
+        Map<Long, Future<?>> deliveries = new LinkedHashMap<>();
+        ExecutorService workers = Executors.newFixedThreadPool(deliveryConcurrency,
+            Thread.ofVirtual().name("outbox-delivery-", 0).factory());
+        try {
+            List<OutboxMessage> events = new ArrayList<>();
+            for (OutboxMessage message : batch) {
+                switch (message.getType()) {
+                    case PAYEE_NOTIFICATION -> deliveries.put(message.getId(), workers.submit(() -> {
+                        if (taken.add(message.getId())) {
+                            postJson(notifyUrl, message.getPayload());
+                        }
+                        return null;
+                    }));
+                    case TRANSFER_COMPLETED -> events.add(message);
+                }
+            }
+            if (!events.isEmpty()) {
+                events.forEach(event -> taken.add(event.getId()));
+                CompletableFuture<Map<Long, CompletableFuture<Void>>> published =
+                    CompletableFuture.supplyAsync(() -> transferEventPublisher.publish(events), workers);
+                for (OutboxMessage event : events) {
+                    deliveries.put(event.getId(), published.thenCompose(acks -> acks.get(event.getId())));
+                }
+            }
+            Set<Long> released = new HashSet<>();
+            deliveries.forEach((id, delivery) -> {
+                try {
+                    delivery.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    if (taken.add(id)) {
+                        released.add(id);
+                    } else {
+                        failures.put(id, "Delivery did not finish within " + deliveryDeadline);
+                    }
+                } catch (ExecutionException e) {
+                    Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+                    failures.put(id, cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failures.put(id, "Interrupted");
+                }
+            });
+            return released;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private List<OutboxMessage> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> due = outboxMessageRepository.findDueForUpdate(OutboxStatus.PENDING, now, Limit.of(batchSize));
+        for (OutboxMessage message : due) {
+            message.setAttempts(message.getAttempts() + 1);
+            message.setNextAttemptAt(now.plus(lease));
+        }
+        return due;
+    }
+
+    private void postJson(String url, String payload) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        restTemplate.postForEntity(url, new HttpEntity<>(payload, headers), String.class);
+    }
+
+    private void recordOutcome(List<OutboxMessage> batch, Map<Long, String> failures, Set<Long> released) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = batch.stream().map(OutboxMessage::getId).toList();
+        for (OutboxMessage message : outboxMessageRepository.findAllById(ids)) {
+            String error = failures.get(message.getId());
+            if (released.contains(message.getId())) {
+                message.setAttempts(message.getAttempts() - 1);
+                message.setNextAttemptAt(now);
+            } else if (error == null) {
+                message.markDelivered();
+            } else {
+                boolean exhausted = message.getAttempts() >= maxAttempts;
+                message.markFailedAttempt(error, now.plus(backoff(message.getAttempts())), exhausted);
+            }
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
@@ -0,0 +1,214 @@
+package com.simplepay.infrastructure.partition;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSetMetaData;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the monthly partitions of financial_transactions and
+ * financial_transaction_history (see the V4 migration) in shape: partitions
+ * for the coming months are created ahead of time, so inserts never hit a
+ * missing range, and partitions entirely older than the retention window are
+ * detached. With {@code retention-action: ARCHIVE} such a partition is
+ * first written to a gzipped CSV file, then detached and dropped.
+ * Does nothing unless the database is PostgreSQL and the tables are partitioned.
+ */
+@Component
+public class PartitionMaintenanceJob {
+    private static final Logger log = LoggerFactory.getLogger(PartitionMaintenanceJob.class);
+    private static final List<String> PARTITIONED_TABLES = List.of("financial_transactions", "financial_transaction_history");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+    private static final int ARCHIVE_FETCH_SIZE = 1000;
+
+    public enum RetentionAction { DETACH, ARCHIVE }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private volatile Boolean postgres;
+
+    @Value("${simplepay.partitioning.enabled:true}")
+    private boolean enabled = true;
+    @Value("${simplepay.partitioning.months-ahead:3}")
+    private int monthsAhead = 3;
+    @Value("${simplepay.partitioning.retention-months:12}")
+    private int retentionMonths = 12;
+    @Value("${simplepay.partitioning.retention-action:DETACH}")
+    private RetentionAction retentionAction = RetentionAction.DETACH;
+    @Value("${simplepay.partitioning.archive-dir:archive}")
+    private String archiveDir = "archive";
+
+    public PartitionMaintenanceJob(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(initialDelayString = "${simplepay.partitioning.initial-delay:1m}",
+               fixedDelayString = "${simplepay.partitioning.interval:6h}")
+    public void maintainScheduled() {
+        if (enabled && isPostgres()) {
+            maintain(LocalDate.now());
+        }
+    }
+
+    public void maintain(LocalDate today) {
+        YearMonth current = YearMonth.from(today);
+        LocalDate retainFrom = current.minusMonths(retentionMonths).atDay(1);
+        for (String parent : PARTITIONED_TABLES) {
+            if (!isPartitioned(parent)) {
+                continue;
+            }
+            try {
+                for (int ahead = 0; ahead <= monthsAhead; ahead++) {
+                    createPartition(parent, current.plusMonths(ahead));
+                }
+                retireBefore(parent, retainFrom);
+            } catch (DataAccessException | UncheckedIOException e) {
+                // Another node may be doing the same work; the next run picks up what is left.
+                log.warn("Partition maintenance of {} did not finish", parent, e);
+            }
+        }
+    }
+
+    private void createPartition(String parent, YearMonth month) {
+        jdbcTemplate.execute(String.format(
+            "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+            partitionName(parent, month), parent, month.atDay(1), month.plusMonths(1).atDay(1)));
+    }
+
+    private void retireBefore(String parent, LocalDate retainFrom) {
+        List<Map<String, Object>> partitions = jdbcTemplate.queryForList(
+            "SELECT c.relname AS name, pg_get_expr(c.relpartbound, c.oid) AS bound " +
+            "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(?)", parent);
+        for (Map<String, Object> partition : partitions) {
+            String name = (String) partition.get("name");
+            LocalDateTime upperBound = upperBound((String) partition.get("bound"));
+            if (upperBound == null || upperBound.isAfter(retainFrom.atStartOfDay())) {
+                continue;
+            }
+            if (retentionAction == RetentionAction.ARCHIVE) {
+                // Archived while still attached, then detached and dropped in
+                // one transaction: a failure at any point leaves the partition
+                // attached, so the next run finds it and starts over.
+                Path file = archive(name, Path.of(archiveDir));
+                transactionTemplate.executeWithoutResult(tx -> {
+                    jdbcTemplate.execute("ALTER TABLE " + parent + " DETACH PARTITION " + quote(name));
+                    jdbcTemplate.execute("DROP TABLE " + quote(name));
+                });
+                log.info("Archived partition {} of {} to {}", name, parent, file);
+            } else {
+                jdbcTemplate.execute("ALTER TABLE " + parent + " DETACH PARTITION " + quote(name));
+                log.info("Detached partition {} of {}", name, parent);
+            }
+        }
+    }
+
+    /**
+     * Writes every row of {@code table} to {@code <dir>/<table>.csv.gz} with a
+     * header line, streaming rows so memory stays flat. The file only appears
+     * under its final name once it is complete.
+     */
+    Path archive(String table, Path dir) {
+        Path target = dir.resolve(table + ".csv.gz");
+        Path partial = dir.resolve(table + ".csv.gz.partial");
+        try {
+            Files.createDirectories(dir);
+            try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(partial)), StandardCharsets.UTF_8)) {
+                // PostgreSQL only honours the fetch size inside a transaction.
+                transactionTemplate.executeWithoutResult(tx -> {
+                    JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+                    streaming.setFetchSize(ARCHIVE_FETCH_SIZE);
+                    streaming.query("SELECT * FROM " + quote(table), (ResultSetExtractor<Void>) rs -> {
+                        ResultSetMetaData meta = rs.getMetaData();
+                        try {
+                            for (int column = 1; column <= meta.getColumnCount(); column++) {
+                                writer.write((column > 1 ? "," : "") + csv(meta.getColumnLabel(column).toLowerCase()));
+                            }
+                            writer.write('\n');
+                            while (rs.next()) {
+                                for (int column = 1; column <= meta.getColumnCount(); column++) {
+                                    Object value = rs.getObject(column);
+                                    writer.write((column > 1 ? "," : "") + (value == null ? "" : csv(value.toString())));
+                                }
+                                writer.write('\n');
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        return null;
+                    });
+                });
+            }
+            return Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not archive " + table, e);
+        }
+    }
+
+    static String partitionName(String parent, YearMonth month) {
+        return parent + "_p" + month.format(PARTITION_SUFFIX);
+    }
+
+    /**
+     * Upper bound of a range partition from its {@code pg_get_expr} form, e.g.
+     * {@code FOR VALUES FROM (MINVALUE) TO ('2025-01-01 00:00:00')}; null for
+     * MAXVALUE or a default partition.
+     */
+    static LocalDateTime upperBound(String bound) {
+        Matcher matcher = bound != null ? UPPER_BOUND.matcher(bound) : null;
+        if (matcher == null || !matcher.find()) {
+            return null;
+        }
+        return LocalDateTime.parse(matcher.group(1).replace(' ', 'T'));
+    }
+
+    private static String csv(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    private static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+
+    private boolean isPartitioned(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))", Boolean.class, table));
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = "PostgreSQL".equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,92 @@
+package com.simplepay.infrastructure.stream;
+
+import com.simplepay.domain.entity.OutboxMessage;
+import org.springframework.cloud.stream.config.ProducerMessageHandlerCustomizer;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.integration.kafka.outbound.KafkaProducerMessageHandler;
+import org.springframework.integration.kafka.support.KafkaIntegrationHeaders;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Relays TRANSFER_COMPLETED outbox rows to the transferCompleted-out-0
+ * binding. The payload is already JSON, so it is sent as-is; the transaction
+ * id is used as the record key. Batching, linger and compression are producer
+ * settings of the Kafka binder (see application.yaml).
+ * <p>
+ * A batch is sent without waiting for each record: the Kafka binder hands the
+ * producer's send future for every record back through a futures channel
+ * (registered by {@link #configure}), the last record of the batch flushes the
+ * producer, and each returned future completes once the broker has
+ * acknowledged (required-acks: all) or rejected its record. Accepted into the
+ * producer buffer is not enough to mark an outbox row delivered.
+ */
+@Component
+public class TransferEventPublisher implements ProducerMessageHandlerCustomizer<KafkaProducerMessageHandler<?, ?>> {
+    public static final String BINDING = "transferCompleted-out-0";
+
+    private final StreamBridge streamBridge;
+    private final Map<String, CompletableFuture<?>> sendFutures = new ConcurrentHashMap<>();
+
+    public TransferEventPublisher(StreamBridge streamBridge) {
+        this.streamBridge = streamBridge;
+    }
+
+    @Override
+    public void configure(KafkaProducerMessageHandler<?, ?> handler, String destinationName) {
+        handler.setFuturesChannel((future, timeout) -> {
+            sendFutures.put((String) future.getHeaders().get(KafkaIntegrationHeaders.FUTURE_TOKEN),
+                (CompletableFuture<?>) future.getPayload());
+            return true;
+        });
+    }
+
+    /**
+     * Sends the events and returns, per outbox id, the acknowledgement of its
+     * record. Returns once the last record has been flushed to the broker.
+     */
+    public Map<Long, CompletableFuture<Void>> publish(List<OutboxMessage> messages) {
+        Map<Long, CompletableFuture<Void>> acks = new LinkedHashMap<>();
+        for (int i = 0; i < messages.size(); i++) {
+            OutboxMessage message = messages.get(i);
+            acks.put(message.getId(), send(message, i == messages.size() - 1));
+        }
+        return acks;
+    }
+
+    private CompletableFuture<Void> send(OutboxMessage message, boolean flush) {
+        String token = UUID.randomUUID().toString();
+        Message<byte[]> event = MessageBuilder.withPayload(message.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setHeader(KafkaHeaders.KEY, String.valueOf(message.getAggregateId()).getBytes(StandardCharsets.UTF_8))
+                .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON_VALUE)
+                .setHeader(KafkaIntegrationHeaders.FUTURE_TOKEN, token)
+                .setHeader(KafkaIntegrationHeaders.FLUSH, flush)
+                .build();
+        boolean accepted;
+        try {
+            accepted = streamBridge.send(BINDING, event);
+        } catch (RuntimeException e) {
+            sendFutures.remove(token);
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<?> ack = sendFutures.remove(token);
+        if (!accepted) {
+            return CompletableFuture.failedFuture(
+                new IllegalStateException("Transfer event was not accepted by binding " + BINDING));
+        }
+        // Binders that hand out no send future (the test binder) have taken the record once send returns.
+        return ack != null ? ack.thenRun(() -> { }) : CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,49 @@
+package com.simplepay.infrastructure.stub;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Local stand-in for the external authorizer, enabled with the "stub"
+ * profile. Answers like util.devi.tools: 200 "Autorizado", or 403 when the
+ * transfer is denied. Latency, jitter, denial rate and failure rate (503) are
+ * set under simplepay.stub.authorizer, so load tests can mimic a slow or
+ * unstable authorizer.
+ */
+@Profile("stub")
+@RestController
+@RequestMapping("/stub/authorize")
+public class AuthorizerStubController {
+    @Value("${simplepay.stub.authorizer.latency:0ms}")
+    private Duration latency = Duration.ZERO;
+    @Value("${simplepay.stub.authorizer.jitter:0ms}")
+    private Duration jitter = Duration.ZERO;
+    @Value("${simplepay.stub.authorizer.denial-rate:0}")
+    private double denialRate = 0;
+    @Value("${simplepay.stub.authorizer.failure-rate:0}")
+    private double failureRate = 0;
+
+    @GetMapping
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> authorize() {
+        return StubLatency.delay(latency, jitter, () -> {
+            if (StubLatency.roll(failureRate)) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("status", "error"));
+            }
+            if (StubLatency.roll(denialRate)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("status", "fail", "data", Map.of("authorization", false)));
+            }
+            return ResponseEntity.ok(Map.of("status", "success", "message", "Autorizado",
+                "data", Map.of("authorization", true)));
+        });
+    }
+}
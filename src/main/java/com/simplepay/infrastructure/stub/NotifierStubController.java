@@ -0,0 +1,61 @@
+package com.simplepay.infrastructure.stub;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Local stand-in for the third-party notifier, enabled with the "stub"
+ * profile. Point simplepay.notifier.url at /stub/notify to exercise the
+ * outbox dispatcher without leaving the machine. Latency, jitter and failure
+ * rate (503) are set under simplepay.stub.notifier.
+ */
+@Profile("stub")
+@RestController
+@RequestMapping("/stub/notify")
+public class NotifierStubController {
+    private static final int MAX_RECORDED = 1000;
+
+    private final ConcurrentLinkedDeque<Map<String, Object>> received = new ConcurrentLinkedDeque<>();
+
+    @Value("${simplepay.stub.notifier.latency:0ms}")
+    private Duration latency = Duration.ZERO;
+    @Value("${simplepay.stub.notifier.jitter:0ms}")
+    private Duration jitter = Duration.ZERO;
+    @Value("${simplepay.stub.notifier.failure-rate:0}")
+    private double failureRate = 0;
+
+    @PostMapping
+    public CompletableFuture<ResponseEntity<Void>> notify(@RequestBody Map<String, Object> payload) {
+        return StubLatency.delay(latency, jitter, () -> {
+            if (StubLatency.roll(failureRate)) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).<Void>build();
+            }
+            received.addLast(payload);
+            while (received.size() > MAX_RECORDED) {
+                received.pollFirst();
+            }
+            return ResponseEntity.noContent().<Void>build();
+        });
+    }
+
+    public List<Map<String, Object>> received() {
+        return new ArrayList<>(received);
+    }
+
+    public void reset() {
+        received.clear();
+    }
+}
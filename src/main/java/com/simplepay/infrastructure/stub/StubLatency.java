@@ -0,0 +1,41 @@
+package com.simplepay.infrastructure.stub;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Latency and failure injection shared by the stub controllers. Responses are
+ * completed from a timer instead of sleeping on the request thread, so a slow
+ * stub does not eat into the Tomcat threads the application under test needs.
+ */
+final class StubLatency {
+
+    private StubLatency() {
+    }
+
+    /**
+     * Completes with {@code response} after {@code latency} plus a uniformly
+     * random extra of up to {@code jitter}.
+     */
+    static <T> CompletableFuture<T> delay(Duration latency, Duration jitter, Supplier<T> response) {
+        long delayMs = latency.toMillis();
+        if (jitter.toMillis() > 0) {
+            delayMs += ThreadLocalRandom.current().nextLong(jitter.toMillis() + 1);
+        }
+        Executor executor = delayMs > 0
+            ? CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS)
+            : Runnable::run;
+        return CompletableFuture.supplyAsync(response, executor);
+    }
+
+    /**
+     * True for roughly {@code rate} (0.0 to 1.0) of the calls.
+     */
+    static boolean roll(double rate) {
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+}
@@ -0,0 +1,33 @@
+-- Ids move from IDENTITY columns to pooled-lo sequences (allocationSize = 50),
+-- which lets Hibernate batch inserts. Each sequence is created with the same
+-- increment as the entity's allocation size and, when the table already holds
+-- rows, positioned past the highest existing id so no id is ever reused.
+-- Tables that do not exist yet are created afterwards by Hibernate.
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS sellers_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS financial_transactions_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS financial_transaction_history_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS outbox_messages_seq START WITH 1 INCREMENT BY 50;
+
+DO $$
+DECLARE
+    mapping record;
+BEGIN
+    FOR mapping IN
+        SELECT * FROM (VALUES
+            ('users', 'users_seq'),
+            ('sellers', 'sellers_seq'),
+            ('financial_transactions', 'financial_transactions_seq'),
+            ('financial_transaction_history', 'financial_transaction_history_seq'),
+            ('outbox_messages', 'outbox_messages_seq')
+        ) AS m(table_name, sequence_name)
+    LOOP
+        IF to_regclass(mapping.table_name) IS NOT NULL THEN
+            EXECUTE format(
+                'SELECT setval(%L, COALESCE((SELECT MAX(id) FROM %I), 0) + 1, false)',
+                mapping.sequence_name, mapping.table_name
+            );
+        END IF;
+    END LOOP;
+END $$;
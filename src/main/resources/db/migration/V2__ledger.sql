@@ -0,0 +1,47 @@
+-- Append-only ledger behind the wallet balance columns. Every balance change
+-- writes signed entries; snapshots periodically fold older entries so a
+-- wallet's derived balance never has to scan its whole history.
+
+CREATE SEQUENCE IF NOT EXISTS ledger_entries_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS balance_snapshots_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS ledger_entries (
+    id BIGINT PRIMARY KEY,
+    transaction_id BIGINT,
+    wallet_type VARCHAR(20) NOT NULL,
+    wallet_id BIGINT NOT NULL,
+    entry_type VARCHAR(20) NOT NULL,
+    amount NUMERIC(19, 2) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_ledger_entries_wallet_created ON ledger_entries (wallet_type, wallet_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_ledger_entries_created ON ledger_entries (created_at);
+
+CREATE TABLE IF NOT EXISTS balance_snapshots (
+    id BIGINT PRIMARY KEY,
+    wallet_type VARCHAR(20) NOT NULL,
+    wallet_id BIGINT NOT NULL,
+    balance NUMERIC(19, 2) NOT NULL,
+    as_of TIMESTAMP(6) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_balance_snapshots_wallet_as_of ON balance_snapshots (wallet_type, wallet_id, as_of);
+
+-- Wallets that already exist start the ledger with their current balance as an
+-- OPENING entry, so reconciliation holds from the first run.
+DO $$
+DECLARE
+    wallet record;
+BEGIN
+    FOR wallet IN
+        SELECT * FROM (VALUES ('users', 'USER'), ('sellers', 'SELLER')) AS w(table_name, wallet_type)
+    LOOP
+        IF to_regclass(wallet.table_name) IS NOT NULL THEN
+            EXECUTE format(
+                'INSERT INTO ledger_entries (id, transaction_id, wallet_type, wallet_id, entry_type, amount, created_at) '
+                'SELECT nextval(%L), NULL, %L, id, %L, balance, now() FROM %I WHERE balance <> 0',
+                'ledger_entries_seq', wallet.wallet_type, 'OPENING', wallet.table_name
+            );
+        END IF;
+    END LOOP;
+END $$;
@@ -0,0 +1,20 @@
+-- Statements read a party's transfers newest first, one page at a time:
+-- (party type, party id, created_at, id) turns each page into an index range
+-- scan on either side of the transfer. Tables that do not exist yet get the
+-- same indexes from Hibernate.
+
+DO $$
+BEGIN
+    IF to_regclass('financial_transactions') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_financial_transactions_payer_created
+            ON financial_transactions (payer_type, payer_id, created_at, id);
+        CREATE INDEX IF NOT EXISTS idx_financial_transactions_payee_created
+            ON financial_transactions (payee_type, payee_id, created_at, id);
+        CREATE INDEX IF NOT EXISTS idx_financial_transactions_status_updated
+            ON financial_transactions (status, updated_at);
+    END IF;
+    IF to_regclass('financial_transaction_history') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_financial_transaction_history_transaction
+            ON financial_transaction_history (transaction_id, id);
+    END IF;
+END $$;
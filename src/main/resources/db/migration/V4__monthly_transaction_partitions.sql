@@ -0,0 +1,94 @@
+-- financial_transactions and financial_transaction_history become tables
+-- range-partitioned by month on created_at / changed_at, so inserts and index
+-- maintenance only touch the current month and old months can be retired by
+-- detaching a partition instead of deleting rows.
+--
+-- A partitioned table's primary key must include the partition key, so the
+-- keys become (id, created_at) and (id, changed_at), and history can no longer
+-- reference financial_transactions with a foreign key. Older rows are not
+-- copied: the old table is attached as a single partition holding everything
+-- before the current month. Its rows from the current month on (or dated in
+-- the future) would fail that bound check, so they are moved into monthly
+-- partitions first. PartitionMaintenanceJob creates the months ahead
+-- and detaches or archives the ones past retention.
+
+CREATE FUNCTION pg_temp.create_month_partition(parent text, month date) RETURNS void AS $$
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   parent || '_p' || to_char(month, 'YYYYMM'), parent, month, month + interval '1 month');
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION pg_temp.partition_by_month(parent text, key_column text, columns text) RETURNS void AS $$
+DECLARE
+    legacy text := parent || '_legacy';
+    month_start date := date_trunc('month', now())::date;
+    existing record;
+BEGIN
+    IF to_regclass(parent) IS NOT NULL
+       AND NOT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(parent)) THEN
+        EXECUTE format('ALTER TABLE %I RENAME TO %I', parent, legacy);
+        FOR existing IN SELECT indexname FROM pg_indexes WHERE schemaname = current_schema() AND tablename = legacy
+        LOOP
+            EXECUTE format('ALTER INDEX %I RENAME TO %I', existing.indexname, left(existing.indexname, 55) || '_legacy');
+        END LOOP;
+        -- A partition cannot keep a primary key of its own; it takes the parent's.
+        FOR existing IN SELECT conname FROM pg_constraint WHERE conrelid = to_regclass(legacy) AND contype = 'p'
+        LOOP
+            EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', legacy, existing.conname);
+        END LOOP;
+        EXECUTE format('ALTER TABLE %I ADD PRIMARY KEY (id, %I)', legacy, key_column);
+        EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS, PRIMARY KEY (id, %I)) '
+                       'PARTITION BY RANGE (%I)', parent, legacy, key_column, key_column);
+        FOR existing IN EXECUTE format('SELECT DISTINCT date_trunc(''month'', %I)::date AS month FROM %I WHERE %I >= %L',
+                                       key_column, legacy, key_column, month_start)
+        LOOP
+            PERFORM pg_temp.create_month_partition(parent, existing.month);
+        END LOOP;
+        EXECUTE format('WITH moved AS (DELETE FROM %I WHERE %I >= %L RETURNING *) INSERT INTO %I SELECT * FROM moved',
+                       legacy, key_column, month_start, parent);
+        EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (MINVALUE) TO (%L)',
+                       parent, legacy, month_start);
+    ELSIF to_regclass(parent) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I (%s, PRIMARY KEY (id, %I)) PARTITION BY RANGE (%I)',
+                       parent, columns, key_column, key_column);
+    END IF;
+
+    FOR offset_months IN 0..3 LOOP
+        PERFORM pg_temp.create_month_partition(parent, (month_start + make_interval(months => offset_months))::date);
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    IF to_regclass('financial_transaction_history') IS NOT NULL THEN
+        FOR fk IN SELECT conname FROM pg_constraint
+                  WHERE conrelid = 'financial_transaction_history'::regclass AND contype = 'f'
+        LOOP
+            EXECUTE format('ALTER TABLE financial_transaction_history DROP CONSTRAINT %I', fk.conname);
+        END LOOP;
+    END IF;
+END $$;
+
+SELECT pg_temp.partition_by_month('financial_transactions', 'created_at',
+    'id BIGINT NOT NULL, value NUMERIC(19, 2) NOT NULL, payer_id BIGINT NOT NULL, payer_type VARCHAR(20) NOT NULL, '
+    'payee_id BIGINT NOT NULL, payee_type VARCHAR(20) NOT NULL, status VARCHAR(20) NOT NULL, '
+    'created_at TIMESTAMP(6) NOT NULL, updated_at TIMESTAMP(6)');
+
+SELECT pg_temp.partition_by_month('financial_transaction_history', 'changed_at',
+    'id BIGINT NOT NULL, transaction_id BIGINT NOT NULL, old_status VARCHAR(20), new_status VARCHAR(20) NOT NULL, '
+    'changed_at TIMESTAMP(6) NOT NULL, note VARCHAR(255)');
+
+-- Created on the parents, so every partition gets them; equivalent indexes
+-- already on an attached legacy table are reused rather than rebuilt.
+CREATE INDEX IF NOT EXISTS idx_financial_transactions_payer_created
+    ON financial_transactions (payer_type, payer_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_financial_transactions_payee_created
+    ON financial_transactions (payee_type, payee_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_financial_transactions_status_updated
+    ON financial_transactions (status, updated_at);
+CREATE INDEX IF NOT EXISTS idx_financial_transaction_history_transaction
+    ON financial_transaction_history (transaction_id, id);
@@ -0,0 +1,12 @@
+-- In-progress idempotency claims expire after a short timeout, measured from
+-- claimed_at. Existing rows were claimed when they were created. A table that
+-- does not exist yet gets the column from Hibernate.
+
+DO $$
+BEGIN
+    IF to_regclass('idempotency_keys') IS NOT NULL THEN
+        ALTER TABLE idempotency_keys ADD COLUMN IF NOT EXISTS claimed_at TIMESTAMP(6);
+        UPDATE idempotency_keys SET claimed_at = created_at WHERE claimed_at IS NULL;
+        ALTER TABLE idempotency_keys ALTER COLUMN claimed_at SET NOT NULL;
+    END IF;
+END $$;
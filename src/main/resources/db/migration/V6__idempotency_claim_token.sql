@@ -0,0 +1,13 @@
+-- Each claim on an idempotency key carries a token, and the key is completed
+-- in the transfer's own transaction only while that token still holds it.
+-- Existing rows get a random token. A table that does not exist yet gets the
+-- column from Hibernate.
+
+DO $$
+BEGIN
+    IF to_regclass('idempotency_keys') IS NOT NULL THEN
+        ALTER TABLE idempotency_keys ADD COLUMN IF NOT EXISTS claim_token VARCHAR(36);
+        UPDATE idempotency_keys SET claim_token = md5(random()::text || id::text)::uuid::text WHERE claim_token IS NULL;
+        ALTER TABLE idempotency_keys ALTER COLUMN claim_token SET NOT NULL;
+    END IF;
+END $$;
@@ -0,0 +1,25 @@
+-- Transfers no longer write DEBIT/CREDIT ledger entries: the ledger reads their
+-- legs from the SUCCESS rows of financial_transactions. Transfers settled until
+-- now are already in ledger_entries, or in the V2 OPENING entries, so every
+-- wallet is rebased on a snapshot of its current balance and only transfers
+-- settled after it are read from financial_transactions.
+
+DO $$
+BEGIN
+    IF to_regclass('users') IS NOT NULL THEN
+        INSERT INTO balance_snapshots (id, wallet_type, wallet_id, balance, as_of, created_at)
+        SELECT nextval('balance_snapshots_seq'), 'USER', id, balance, now(), now() FROM users;
+    END IF;
+    IF to_regclass('sellers') IS NOT NULL THEN
+        IF to_regclass('seller_balance_stripes') IS NOT NULL THEN
+            INSERT INTO balance_snapshots (id, wallet_type, wallet_id, balance, as_of, created_at)
+            SELECT nextval('balance_snapshots_seq'), 'SELLER', s.id,
+                   s.balance + COALESCE((SELECT SUM(st.balance) FROM seller_balance_stripes st WHERE st.seller_id = s.id), 0),
+                   now(), now()
+            FROM sellers s;
+        ELSE
+            INSERT INTO balance_snapshots (id, wallet_type, wallet_id, balance, as_of, created_at)
+            SELECT nextval('balance_snapshots_seq'), 'SELLER', id, balance, now(), now() FROM sellers;
+        END IF;
+    END IF;
+END $$;
@@ -0,0 +1,11 @@
+-- Delivered outbox rows are purged once they are older than the retention
+-- window: (status, delivered_at) keeps each purge batch an index range scan.
+-- A table that does not exist yet gets the same index from Hibernate.
+
+DO $$
+BEGIN
+    IF to_regclass('outbox_messages') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_outbox_messages_status_delivered
+            ON outbox_messages (status, delivered_at);
+    END IF;
+END $$;
@@ -0,0 +1,124 @@
+package com.simplepay.config;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JWT Auth Filter Tests")
+class JwtAuthFilterTest {
+
+    private static final String PREVIOUS_SECRET = "previousSecretKeyMustBeAtLeast32CharactersLong";
+    private static final String CURRENT_SECRET = "currentSecretKeyMustBeAtLeast32CharactersLong";
+    private static final SecretKey KEY = Keys.hmacShaKeyFor(CURRENT_SECRET.getBytes());
+
+    private final JwtKeyRing keyRing = new JwtKeyRing(
+            Map.of("2024", PREVIOUS_SECRET, "2025", CURRENT_SECRET), "2025");
+    private final JwtAuthFilter filter = new JwtAuthFilter(keyRing, 100);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate a valid token and serve repeats from the verified-token cache")
+    void shouldAuthenticateValidTokenAndCacheIt() throws Exception {
+        String token = token(KEY, new Date(System.currentTimeMillis() + 60_000));
+
+        assertEquals("simplepay-client", authenticate(token).getName());
+        SecurityContextHolder.clearContext();
+        assertEquals("simplepay-client", authenticate(token).getName());
+
+        assertEquals(1, filter.verifiedTokenCount());
+    }
+
+    @Test
+    @DisplayName("Should authenticate tokens issued by the key ring")
+    void shouldAuthenticateTokensIssuedByKeyRing() throws Exception {
+        String token = keyRing.sign(Jwts.builder()
+                .subject("simplepay-client")
+                .expiration(new Date(System.currentTimeMillis() + 60_000)));
+
+        assertEquals("simplepay-client", authenticate(token).getName());
+    }
+
+    @Test
+    @DisplayName("Should keep accepting tokens signed with a previous key during rotation")
+    void shouldAcceptTokensSignedWithPreviousKey() throws Exception {
+        JwtKeyRing previousRing = new JwtKeyRing(Map.of("2024", PREVIOUS_SECRET), "2024");
+        String token = previousRing.sign(Jwts.builder()
+                .subject("simplepay-client")
+                .expiration(new Date(System.currentTimeMillis() + 60_000)));
+
+        assertEquals("simplepay-client", authenticate(token).getName());
+    }
+
+    @Test
+    @DisplayName("Should not authenticate a token whose key id is not in the ring")
+    void shouldRejectTokenWithUnknownKeyId() throws Exception {
+        JwtKeyRing foreignRing = new JwtKeyRing(Map.of("2030", CURRENT_SECRET), "2030");
+        String token = foreignRing.sign(Jwts.builder()
+                .subject("simplepay-client")
+                .expiration(new Date(System.currentTimeMillis() + 60_000)));
+
+        assertNull(authenticate(token));
+    }
+
+    @Test
+    @DisplayName("Should not authenticate or cache a token signed with another key")
+    void shouldRejectTokenSignedWithAnotherKey() throws Exception {
+        SecretKey otherKey = Keys.hmacShaKeyFor("anotherSecretKeyThatIsAlsoAtLeast32CharsLong".getBytes());
+        String token = token(otherKey, new Date(System.currentTimeMillis() + 60_000));
+
+        assertNull(authenticate(token));
+        assertEquals(0, filter.verifiedTokenCount());
+    }
+
+    @Test
+    @DisplayName("Should not authenticate an expired token")
+    void shouldRejectExpiredToken() throws Exception {
+        String token = token(KEY, new Date(System.currentTimeMillis() - 1_000));
+
+        assertNull(authenticate(token));
+        assertEquals(0, filter.verifiedTokenCount());
+    }
+
+    @Test
+    @DisplayName("Should authenticate but not cache a token without expiration")
+    void shouldNotCacheTokenWithoutExpiration() throws Exception {
+        String token = token(KEY, null);
+
+        assertEquals("simplepay-client", authenticate(token).getName());
+        assertEquals(0, filter.verifiedTokenCount());
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/transfer/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private String token(SecretKey key, Date expiration) {
+        return Jwts.builder()
+                .header().keyId("2025").and()
+                .subject("simplepay-client")
+                .issuedAt(new Date())
+                .expiration(expiration)
+                .signWith(key)
+                .compact();
+    }
+}
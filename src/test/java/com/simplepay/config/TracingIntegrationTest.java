@@ -0,0 +1,130 @@
+package com.simplepay.config;
+
+import com.simplepay.domain.entity.User;
+import com.simplepay.domain.enums.TransactionPartyType;
+import com.simplepay.domain.enums.TransactionStatus;
+import com.simplepay.domain.repository.OutboxMessageRepository;
+import com.simplepay.domain.repository.UserRepository;
+import com.simplepay.domain.service.FinancialTransactionService;
+import com.simplepay.domain.service.UserService;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@SpringBootTest(properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureObservability
+@Import(TracingIntegrationTest.InMemoryExporterConfig.class)
+@ActiveProfiles("test")
+@DisplayName("Tracing Tests")
+class TracingIntegrationTest {
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @Autowired
+    private FinancialTransactionService transactionService;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    private MockRestServiceServer authorizer;
+    private User payer;
+    private User payee;
+
+    @BeforeEach
+    void setUp() {
+        authorizer = MockRestServiceServer.bindTo(restTemplate).build();
+        payer = userService.save(new User("Traced Payer", "44433322211", "traced.payer@example.com", "password123", new BigDecimal("50.00")));
+        payee = userService.save(new User("Traced Payee", "44433322200", "traced.payee@example.com", "password123", BigDecimal.ZERO));
+        spanExporter.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxMessageRepository.deleteAll();
+        userRepository.deleteAllById(List.of(payer.getId(), payee.getId()));
+    }
+
+    @Test
+    @DisplayName("Should trace each transfer stage, its JDBC statements and the authorizer call in one trace")
+    void shouldTraceTransferStagesJdbcAndAuthorizerCall() {
+        AtomicReference<String> traceparent = new AtomicReference<>();
+        authorizer.expect(requestTo("https://util.devi.tools/api/v2/authorize"))
+            .andExpect(request -> traceparent.set(request.getHeaders().getFirst("traceparent")))
+            .andRespond(withSuccess("{\"message\":\"Autorizado\"}", MediaType.APPLICATION_JSON));
+
+        TransactionStatus status = Observation.createNotStarted("test.request", observationRegistry)
+            .observe(() -> transactionService.transfer(new BigDecimal("10.00"), payer.getId(), TransactionPartyType.USER,
+                payee.getId(), TransactionPartyType.USER));
+
+        assertEquals(TransactionStatus.SUCCESS, status);
+        authorizer.verify();
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        SpanData transfer = span(spans, "transfer sync");
+        for (String stage : List.of("validation", "authorization", "settlement", "balance_update", "history", "notification")) {
+            assertEquals(transfer.getTraceId(), span(spans, "transfer " + stage).getTraceId(), stage);
+        }
+        SpanData authorization = span(spans, "transfer authorization");
+        assertTrue(spans.stream().anyMatch(span -> span.getName().startsWith("http get")
+            && span.getParentSpanId().equals(authorization.getSpanId())));
+        assertTrue(spans.stream().anyMatch(span -> span.getName().equals("query")
+            && span.getTraceId().equals(transfer.getTraceId())));
+        assertNotNull(traceparent.get());
+        assertTrue(traceparent.get().contains(transfer.getTraceId()));
+    }
+
+    private SpanData span(List<SpanData> spans, String name) {
+        return spans.stream().filter(span -> span.getName().equals(name)).findFirst()
+            .orElseThrow(() -> new AssertionError("no span " + name + " in "
+                + spans.stream().map(SpanData::getName).toList()));
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Map;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -92,4 +93,23 @@ class AuthControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("Invalid client credentials"));
     }
+
+    @Test
+    void shouldAcceptIssuedTokenOnProtectedEndpoints() throws Exception {
+        Map<String, String> authRequest = Map.of(
+                "clientId", "simplepay-client",
+                "clientSecret", "simplepay-secret-key-2025"
+        );
+        String body = mockMvc.perform(post("/auth")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(authRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(body).get("access_token").asText();
+
+        mockMvc.perform(get("/transfer/0"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/transfer/0").header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -0,0 +1,135 @@
+package com.simplepay.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simplepay.domain.entity.FinancialTransaction;
+import com.simplepay.domain.enums.TransactionPartyType;
+import com.simplepay.domain.enums.TransactionStatus;
+import com.simplepay.domain.repository.FinancialTransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+@DisplayName("Transaction Controller Tests")
+class TransactionControllerTest {
+
+    private static final long PARTY = 990001L;
+    private static final long OTHER = 990002L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FinancialTransactionRepository financialTransactionRepository;
+
+    @MockitoBean
+    private RestTemplate restTemplate;
+
+    private final List<Long> transactionIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        save(PARTY, TransactionPartyType.USER, OTHER, TransactionPartyType.USER);
+        save(OTHER, TransactionPartyType.USER, PARTY, TransactionPartyType.USER);
+        save(PARTY, TransactionPartyType.USER, OTHER, TransactionPartyType.SELLER);
+        save(OTHER, TransactionPartyType.USER, OTHER, TransactionPartyType.SELLER);
+        save(PARTY, TransactionPartyType.USER, OTHER, TransactionPartyType.USER);
+        save(OTHER, TransactionPartyType.USER, PARTY, TransactionPartyType.USER);
+        save(OTHER, TransactionPartyType.USER, PARTY, TransactionPartyType.SELLER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        financialTransactionRepository.deleteAllById(transactionIds);
+    }
+
+    @Test
+    @DisplayName("Should walk a party's paid and received transfers newest first")
+    void shouldWalkStatementNewestFirst() throws Exception {
+        List<Long> expected = financialTransactionRepository.findAllById(transactionIds).stream()
+            .filter(t -> isParty(t.getPayer(), t.getPayerType()) || isParty(t.getPayee(), t.getPayeeType()))
+            .sorted(Comparator.comparing(FinancialTransaction::getCreatedAt).thenComparing(FinancialTransaction::getId).reversed())
+            .map(FinancialTransaction::getId)
+            .toList();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = get("/transactions").param("party", String.valueOf(PARTY)).param("type", "USER").param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+            page.get("items").forEach(item -> seen.add(item.get("transactionId").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(5, expected.size());
+        assertEquals(expected, seen);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    @DisplayName("Should leave out transfers created before from")
+    void shouldLeaveOutTransfersCreatedBeforeFrom() throws Exception {
+        FinancialTransaction latest = financialTransactionRepository.findAllById(transactionIds).stream()
+            .max(Comparator.comparing(FinancialTransaction::getCreatedAt).thenComparing(FinancialTransaction::getId))
+            .orElseThrow();
+
+        JsonNode page = objectMapper.readTree(mockMvc.perform(get("/transactions")
+                .param("party", String.valueOf(PARTY)).param("type", "SELLER")
+                .param("from", latest.getCreatedAt().toString()))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString());
+
+        assertEquals(1, page.get("items").size());
+        assertEquals(latest.getId(), page.get("items").get(0).get("transactionId").asLong());
+        assertTrue(page.get("nextCursor").isNull());
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed cursor")
+    void shouldRejectMalformedCursor() throws Exception {
+        mockMvc.perform(get("/transactions").param("party", String.valueOf(PARTY)).param("type", "USER")
+                .param("cursor", "not-a-cursor"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("Cursor inválido"));
+    }
+
+    private boolean isParty(Long id, TransactionPartyType type) {
+        return id == PARTY && type == TransactionPartyType.USER;
+    }
+
+    private void save(long payer, TransactionPartyType payerType, long payee, TransactionPartyType payeeType) {
+        FinancialTransaction transaction = financialTransactionRepository.save(new FinancialTransaction(
+            BigDecimal.TEN, payer, payerType, payee, payeeType, TransactionStatus.SUCCESS));
+        transactionIds.add(transaction.getId());
+    }
+}
@@ -0,0 +1,109 @@
+package com.simplepay.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simplepay.domain.entity.User;
+import com.simplepay.domain.repository.UserRepository;
+import com.simplepay.domain.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+@DisplayName("User Controller Tests")
+class UserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @MockitoBean
+    private RestTemplate restTemplate;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            User user = userService.save(new User("Listed " + i, "5550000000" + i, "listed" + i + "@example.com", "password123"));
+            userIds.add(user.getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllById(userIds);
+    }
+
+    @Test
+    @DisplayName("Should walk all users page by page with the returned cursor")
+    void shouldWalkAllUsersPageByPage() throws Exception {
+        List<Long> seen = new ArrayList<>();
+        String after = String.valueOf(userIds.get(0) - 1);
+        int pages = 0;
+        while (after != null) {
+            String body = mockMvc.perform(get("/users").param("after", after).param("size", "2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            JsonNode page = objectMapper.readTree(body);
+            page.get("items").forEach(item -> {
+                seen.add(item.get("id").asLong());
+                assertFalse(item.has("password"));
+            });
+            after = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        }
+
+        assertEquals(userIds, seen);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    @DisplayName("Should export every user as one JSON object per line")
+    void shouldExportUsersAsNdjson() throws Exception {
+        MvcResult started = mockMvc.perform(get("/users/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn().getResponse().getContentAsString();
+
+        List<Long> exported = new ArrayList<>();
+        for (String line : Arrays.stream(body.split("\n")).filter(l -> !l.isBlank()).toList()) {
+            exported.add(objectMapper.readTree(line).get("id").asLong());
+        }
+        assertTrue(exported.containsAll(userIds));
+        assertEquals(exported.stream().sorted().toList(), exported);
+    }
+}
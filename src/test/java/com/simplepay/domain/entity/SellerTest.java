@@ -1,7 +1,7 @@
 package com.simplepay.domain.entity;
 
+import com.simplepay.domain.service.PasswordHashingService;
 import org.junit.jupiter.api.Test;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import java.math.BigDecimal;
 
@@ -9,10 +9,17 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class SellerTest {
 
+    private static final PasswordHashingService HASHING = new PasswordHashingService("bcrypt", 4, 1000, 1, 100);
+
+    private static Seller hashed(Seller seller) {
+        seller.applyPasswordHash(HASHING.hash(seller.pendingPassword()));
+        return seller;
+    }
+
     @Test
     void shouldCreateSellerWithEncryptedPassword() {
         String plainPassword = "password123";
-        Seller seller = new Seller("John's Store", "12345678000123", "store@example.com", plainPassword);
+        Seller seller = hashed(new Seller("John's Store", "12345678000123", "store@example.com", plainPassword));
 
         assertNotNull(seller.getName());
         assertEquals("John's Store", seller.getName());
@@ -38,18 +45,19 @@ class SellerTest {
         String plainPassword = "newPassword123";
         
         seller.setPassword(plainPassword);
+        hashed(seller);
         
         assertNotEquals(plainPassword, seller.getPassword());
-        assertTrue(seller.verifyPassword(plainPassword));
+        assertTrue(HASHING.matches(plainPassword, seller.getPassword()));
     }
 
     @Test
     void shouldVerifyCorrectPassword() {
         String plainPassword = "correctPassword";
-        Seller seller = new Seller("Store", "12345678000123", "store@example.com", plainPassword);
+        Seller seller = hashed(new Seller("Store", "12345678000123", "store@example.com", plainPassword));
 
-        assertTrue(seller.verifyPassword(plainPassword));
-        assertFalse(seller.verifyPassword("wrongPassword"));
+        assertTrue(HASHING.matches(plainPassword, seller.getPassword()));
+        assertFalse(HASHING.matches("wrongPassword", seller.getPassword()));
     }
 
     @Test
@@ -58,9 +66,10 @@ class SellerTest {
         String newPassword = "newSecurePassword";
 
         seller.updatePassword(newPassword);
+        hashed(seller);
 
-        assertTrue(seller.verifyPassword(newPassword));
-        assertFalse(seller.verifyPassword("oldPassword"));
+        assertTrue(HASHING.matches(newPassword, seller.getPassword()));
+        assertFalse(HASHING.matches("oldPassword", seller.getPassword()));
     }
 
     @Test
@@ -171,10 +180,10 @@ class SellerTest {
     @Test
     void shouldEncryptPasswordUsingBCrypt() {
         String plainPassword = "testPassword123";
-        Seller seller = new Seller("Test Store", "12345678000123", "test@example.com", plainPassword);
+        Seller seller = hashed(new Seller("Test Store", "12345678000123", "test@example.com", plainPassword));
         
-        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-        assertTrue(encoder.matches(plainPassword, seller.getPassword()));
+        assertTrue(seller.getPassword().startsWith("{bcrypt}$2a$04$"));
+        assertTrue(HASHING.matches(plainPassword, seller.getPassword()));
     }
 
     @Test
@@ -1,5 +1,6 @@
 package com.simplepay.domain.entity;
 
+import com.simplepay.domain.service.PasswordHashingService;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
@@ -7,7 +8,6 @@ import jakarta.validation.ValidatorFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import java.time.LocalDateTime;
 import java.util.Set;
@@ -17,6 +17,8 @@ import static org.junit.jupiter.api.Assertions.*;
 @DisplayName("User Entity Tests")
 class UserTest {
 
+    private static final PasswordHashingService HASHING = new PasswordHashingService("bcrypt", 4, 1000, 1, 100);
+
     private Validator validator;
     private User user;
 
@@ -25,7 +27,12 @@ class UserTest {
         ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
         validator = factory.getValidator();
         
-        user = new User("John Doe", "12345678901", "john@example.com", "password123");
+        user = hashed(new User("John Doe", "12345678901", "john@example.com", "password123"));
+    }
+
+    private static User hashed(User user) {
+        user.applyPasswordHash(HASHING.hash(user.pendingPassword()));
+        return user;
     }
 
     @Test
@@ -42,18 +49,25 @@ class UserTest {
     }
 
     @Test
-    @DisplayName("Should encrypt password on creation")
-    void shouldEncryptPasswordOnCreation() {
-        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-        assertTrue(encoder.matches("password123", user.getPassword()));
-        assertNotEquals("password123", user.getPassword());
+    @DisplayName("Should keep plain password pending until hashed")
+    void shouldKeepPlainPasswordPendingUntilHashed() {
+        User pending = new User("John Doe", "12345678901", "john@example.com", "password123");
+
+        assertEquals("password123", pending.pendingPassword());
+        assertNull(pending.getPassword());
+
+        hashed(pending);
+
+        assertNull(pending.pendingPassword());
+        assertTrue(HASHING.matches("password123", pending.getPassword()));
+        assertNotEquals("password123", pending.getPassword());
     }
 
     @Test
     @DisplayName("Should verify password correctly")
     void shouldVerifyPasswordCorrectly() {
-        assertTrue(user.verifyPassword("password123"));
-        assertFalse(user.verifyPassword("wrongpassword"));
+        assertTrue(HASHING.matches("password123", user.getPassword()));
+        assertFalse(HASHING.matches("wrongpassword", user.getPassword()));
     }
 
     @Test
@@ -61,10 +75,11 @@ class UserTest {
     void shouldUpdatePasswordWithEncryption() {
         String oldPassword = user.getPassword();
         user.updatePassword("newpassword456");
+        hashed(user);
         
         assertNotEquals(oldPassword, user.getPassword());
-        assertTrue(user.verifyPassword("newpassword456"));
-        assertFalse(user.verifyPassword("password123"));
+        assertTrue(HASHING.matches("newpassword456", user.getPassword()));
+        assertFalse(HASHING.matches("password123", user.getPassword()));
     }
 
     @Test
@@ -72,10 +87,11 @@ class UserTest {
     void shouldEncryptPasswordWhenUsingSetter() {
         String oldPassword = user.getPassword();
         user.setPassword("newpassword789");
+        hashed(user);
         
         assertNotEquals(oldPassword, user.getPassword());
         assertNotEquals("newpassword789", user.getPassword());
-        assertTrue(user.verifyPassword("newpassword789"));
+        assertTrue(HASHING.matches("newpassword789", user.getPassword()));
     }
 
     @Test
@@ -293,12 +309,12 @@ class UserTest {
     @DisplayName("Should accept valid document lengths")
     void shouldAcceptValidDocumentLengths() {
         // Test CPF (11 digits)
-        User userWithCPF = new User("John Doe", "12345678901", "john@example.com", "password123");
+        User userWithCPF = hashed(new User("John Doe", "12345678901", "john@example.com", "password123"));
         Set<ConstraintViolation<User>> violations = validator.validate(userWithCPF);
         assertTrue(violations.isEmpty());
 
         // Test CNPJ (14 digits)
-        User userWithCNPJ = new User("Company Name", "12345678901234", "company@example.com", "password123");
+        User userWithCNPJ = hashed(new User("Company Name", "12345678901234", "company@example.com", "password123"));
         violations = validator.validate(userWithCNPJ);
         assertTrue(violations.isEmpty());
     }
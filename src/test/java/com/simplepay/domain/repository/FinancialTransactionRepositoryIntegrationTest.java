@@ -0,0 +1,56 @@
+package com.simplepay.domain.repository;
+
+import com.simplepay.domain.entity.FinancialTransaction;
+import com.simplepay.domain.enums.TransactionPartyType;
+import com.simplepay.domain.enums.TransactionStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import com.simplepay.domain.service.PasswordHashingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(PasswordHashingService.class)
+@DisplayName("Financial Transaction Repository Tests")
+class FinancialTransactionRepositoryIntegrationTest {
+
+    @Autowired
+    private FinancialTransactionRepository financialTransactionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Should group inserts into JDBC batches with pooled sequence ids")
+    void shouldGroupInsertsIntoJdbcBatches() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<FinancialTransaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            transactions.add(new FinancialTransaction(BigDecimal.ONE, 1L, TransactionPartyType.USER,
+                2L, TransactionPartyType.USER, TransactionStatus.SUCCESS));
+        }
+
+        financialTransactionRepository.saveAllAndFlush(transactions);
+
+        assertEquals(100, statistics.getEntityInsertCount());
+        // Two insert batches plus a few sequence fetches instead of one statement per row.
+        assertTrue(statistics.getPrepareStatementCount() < 10,
+            () -> "prepared statements: " + statistics.getPrepareStatementCount());
+        assertEquals(99, transactions.get(99).getId() - transactions.get(0).getId());
+    }
+}
@@ -1,31 +1,47 @@
 package com.simplepay.domain.repository;
 
 import com.simplepay.domain.entity.Seller;
+import com.simplepay.domain.service.PasswordHashingService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
 @ActiveProfiles("test")
+@Import(PasswordHashingService.class)
 @DisplayName("Seller Repository Tests")
 class SellerRepositoryIntegrationTest {
 
     @Autowired
     private SellerRepository sellerRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
     private Seller testSeller;
 
     @BeforeEach
     void setUp() {
-        testSeller = new Seller("John's Store", "12345678000123", "store@example.com", "password123");
+        testSeller = hashed(new Seller("John's Store", "12345678000123", "store@example.com", "password123"));
+    }
+
+    private Seller hashed(Seller seller) {
+        seller.applyPasswordHash(passwordHashingService.hash(seller.pendingPassword()));
+        return seller;
     }
 
     @Test
@@ -141,8 +157,8 @@ class SellerRepositoryIntegrationTest {
     @Test
     @DisplayName("Should enforce unique constraint on document")
     void shouldEnforceUniqueConstraintOnDocument() {
-        Seller seller1 = new Seller("Store One", "12345678000123", "store1@example.com", "password123");
-        Seller seller2 = new Seller("Store Two", "12345678000123", "store2@example.com", "password456");
+        Seller seller1 = hashed(new Seller("Store One", "12345678000123", "store1@example.com", "password123"));
+        Seller seller2 = hashed(new Seller("Store Two", "12345678000123", "store2@example.com", "password456"));
         
         sellerRepository.save(seller1);
         
@@ -154,8 +170,8 @@ class SellerRepositoryIntegrationTest {
     @Test
     @DisplayName("Should enforce unique constraint on email")
     void shouldEnforceUniqueConstraintOnEmail() {
-        Seller seller1 = new Seller("Store One", "12345678000123", "same@example.com", "password123");
-        Seller seller2 = new Seller("Store Two", "98765432000123", "same@example.com", "password456");
+        Seller seller1 = hashed(new Seller("Store One", "12345678000123", "same@example.com", "password123"));
+        Seller seller2 = hashed(new Seller("Store Two", "98765432000123", "same@example.com", "password456"));
         
         sellerRepository.save(seller1);
         
@@ -185,7 +201,7 @@ class SellerRepositoryIntegrationTest {
         sellerRepository.save(testSeller);
         assertEquals(1, sellerRepository.count());
         
-        Seller anotherSeller = new Seller("Another Store", "98765432000123", "another@example.com", "password456");
+        Seller anotherSeller = hashed(new Seller("Another Store", "98765432000123", "another@example.com", "password456"));
         sellerRepository.save(anotherSeller);
         assertEquals(2, sellerRepository.count());
     }
@@ -196,7 +212,7 @@ class SellerRepositoryIntegrationTest {
         assertTrue(sellerRepository.findAll().isEmpty());
         
         sellerRepository.save(testSeller);
-        Seller anotherSeller = new Seller("Another Store", "98765432000123", "another@example.com", "password456");
+        Seller anotherSeller = hashed(new Seller("Another Store", "98765432000123", "another@example.com", "password456"));
         sellerRepository.save(anotherSeller);
         
         assertEquals(2, sellerRepository.findAll().size());
@@ -206,10 +222,23 @@ class SellerRepositoryIntegrationTest {
     @DisplayName("Should save seller with balance")
     void shouldSaveSellerWithBalance() {
         BigDecimal initialBalance = new BigDecimal("1000.00");
-        Seller sellerWithBalance = new Seller("Rich Store", "12345678000123", "rich@example.com", "password123", initialBalance);
+        Seller sellerWithBalance = hashed(new Seller("Rich Store", "12345678000123", "rich@example.com", "password123", initialBalance));
         
         Seller savedSeller = sellerRepository.save(sellerWithBalance);
         
         assertEquals(initialBalance, savedSeller.getBalance());
     }
+
+    @Test
+    @DisplayName("Should credit balance atomically")
+    void shouldCreditBalanceAtomically() {
+        Seller saved = sellerRepository.saveAndFlush(testSeller);
+
+        int updated = sellerRepository.credit(saved.getId(), new BigDecimal("25.50"), LocalDateTime.now());
+        entityManager.clear();
+
+        assertEquals(1, updated);
+        assertEquals(0, new BigDecimal("25.50").compareTo(sellerRepository.findById(saved.getId()).orElseThrow().getBalance()));
+        assertEquals(0, sellerRepository.credit(-1L, BigDecimal.ONE, LocalDateTime.now()));
+    }
 }
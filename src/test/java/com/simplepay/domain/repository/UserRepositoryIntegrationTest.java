@@ -1,30 +1,52 @@
 package com.simplepay.domain.repository;
 
+import com.simplepay.domain.dto.UserView;
 import com.simplepay.domain.entity.User;
+import com.simplepay.domain.service.PasswordHashingService;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
 @ActiveProfiles("test")
+@Import(PasswordHashingService.class)
 @DisplayName("User Repository Tests")
 class UserRepositoryIntegrationTest {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
     private User testUser;
 
     @BeforeEach
     void setUp() {
-        testUser = new User("John Doe", "12345678901", "john@example.com", "password123");
+        testUser = hashed(new User("John Doe", "12345678901", "john@example.com", "password123"));
+    }
+
+    private User hashed(User user) {
+        user.applyPasswordHash(passwordHashingService.hash(user.pendingPassword()));
+        return user;
     }
 
     @Test
@@ -150,8 +172,8 @@ class UserRepositoryIntegrationTest {
     @Test
     @DisplayName("Should enforce unique constraint on document")
     void shouldEnforceUniqueConstraintOnDocument() {
-        User user1 = new User("User One", "12345678901", "user1@example.com", "password123");
-        User user2 = new User("User Two", "12345678901", "user2@example.com", "password456");
+        User user1 = hashed(new User("User One", "12345678901", "user1@example.com", "password123"));
+        User user2 = hashed(new User("User Two", "12345678901", "user2@example.com", "password456"));
         
         userRepository.save(user1);
         
@@ -163,8 +185,8 @@ class UserRepositoryIntegrationTest {
     @Test
     @DisplayName("Should enforce unique constraint on email")
     void shouldEnforceUniqueConstraintOnEmail() {
-        User user1 = new User("User One", "12345678901", "same@example.com", "password123");
-        User user2 = new User("User Two", "98765432100", "same@example.com", "password456");
+        User user1 = hashed(new User("User One", "12345678901", "same@example.com", "password123"));
+        User user2 = hashed(new User("User Two", "98765432100", "same@example.com", "password456"));
         
         userRepository.save(user1);
         
@@ -194,7 +216,7 @@ class UserRepositoryIntegrationTest {
         userRepository.save(testUser);
         assertEquals(1, userRepository.count());
         
-        User anotherUser = new User("Jane Doe", "98765432100", "jane@example.com", "password456");
+        User anotherUser = hashed(new User("Jane Doe", "98765432100", "jane@example.com", "password456"));
         userRepository.save(anotherUser);
         assertEquals(2, userRepository.count());
     }
@@ -205,9 +227,84 @@ class UserRepositoryIntegrationTest {
         assertTrue(userRepository.findAll().isEmpty());
         
         userRepository.save(testUser);
-        User anotherUser = new User("Jane Doe", "98765432100", "jane@example.com", "password456");
+        User anotherUser = hashed(new User("Jane Doe", "98765432100", "jane@example.com", "password456"));
         userRepository.save(anotherUser);
         
         assertEquals(2, userRepository.findAll().size());
     }
+
+    @Test
+    @DisplayName("Should debit balance atomically when funds are sufficient")
+    void shouldDebitBalanceAtomicallyWhenFundsAreSufficient() {
+        testUser.setBalance(new BigDecimal("100.00"));
+        User saved = userRepository.saveAndFlush(testUser);
+
+        int updated = userRepository.debit(saved.getId(), new BigDecimal("40.00"), LocalDateTime.now());
+        entityManager.clear();
+
+        assertEquals(1, updated);
+        User reloaded = userRepository.findById(saved.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("60.00").compareTo(reloaded.getBalance()));
+        assertEquals(saved.getVersion() + 1, reloaded.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should not debit balance when funds are insufficient")
+    void shouldNotDebitBalanceWhenFundsAreInsufficient() {
+        testUser.setBalance(new BigDecimal("10.00"));
+        User saved = userRepository.saveAndFlush(testUser);
+
+        int updated = userRepository.debit(saved.getId(), new BigDecimal("40.00"), LocalDateTime.now());
+        entityManager.clear();
+
+        assertEquals(0, updated);
+        assertEquals(0, new BigDecimal("10.00").compareTo(userRepository.findById(saved.getId()).orElseThrow().getBalance()));
+    }
+
+    @Test
+    @DisplayName("Should credit balance atomically")
+    void shouldCreditBalanceAtomically() {
+        User saved = userRepository.saveAndFlush(testUser);
+
+        int updated = userRepository.credit(saved.getId(), new BigDecimal("25.50"), LocalDateTime.now());
+        entityManager.clear();
+
+        assertEquals(1, updated);
+        assertEquals(0, new BigDecimal("25.50").compareTo(userRepository.findById(saved.getId()).orElseThrow().getBalance()));
+        assertEquals(0, userRepository.credit(-1L, BigDecimal.ONE, LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("Should page user views by id cursor and stream them in id order")
+    void shouldPageUserViewsByIdCursorAndStreamThemInIdOrder() {
+        User first = userRepository.save(hashed(new User("User One", "11111111111", "one@example.com", "password123")));
+        User second = userRepository.save(hashed(new User("User Two", "22222222222", "two@example.com", "password123")));
+        User third = userRepository.save(hashed(new User("User Three", "33333333333", "three@example.com", "password123")));
+        entityManager.flush();
+
+        List<UserView> firstPage = userRepository.findViewPageAfter(first.getId() - 1, Limit.of(2));
+        List<UserView> nextPage = userRepository.findViewPageAfter(firstPage.get(1).id(), Limit.of(2));
+
+        assertEquals(List.of(first.getId(), second.getId()), firstPage.stream().map(UserView::id).toList());
+        assertEquals(List.of(third.getId()), nextPage.stream().map(UserView::id).toList());
+        try (Stream<UserView> users = userRepository.streamViewsOrderById()) {
+            assertEquals(List.of(first.getId(), second.getId(), third.getId()),
+                users.map(UserView::id).filter(id -> id >= first.getId()).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Should select only public fields into the user view")
+    void shouldSelectOnlyPublicFieldsIntoUserView() {
+        User saved = userRepository.saveAndFlush(testUser);
+        entityManager.clear();
+
+        UserView view = userRepository.findViewById(saved.getId()).orElseThrow();
+
+        assertEquals(UserView.from(saved).id(), view.id());
+        assertEquals("John Doe", view.name());
+        assertEquals("john@example.com", view.mail());
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+        assertTrue(userRepository.findViewById(-1L).isEmpty());
+    }
 }
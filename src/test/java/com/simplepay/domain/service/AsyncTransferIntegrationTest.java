@@ -0,0 +1,116 @@
+package com.simplepay.domain.service;
+
+import com.simplepay.domain.entity.FinancialTransactionHistory;
+import com.simplepay.domain.entity.User;
+import com.simplepay.domain.enums.TransactionPartyType;
+import com.simplepay.domain.enums.TransactionStatus;
+import com.simplepay.domain.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Async Transfer Integration Tests")
+class AsyncTransferIntegrationTest {
+
+    private static final AtomicInteger DOCUMENT_SEQUENCE = new AtomicInteger(20000000);
+
+    @Autowired
+    private FinancialTransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @MockitoBean
+    private RestTemplate restTemplate;
+
+    private User payer;
+    private User payee;
+
+    @BeforeEach
+    void setUp() {
+        payer = userService.save(newUser());
+        payee = userService.save(newUser());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllById(List.of(payer.getId(), payee.getId()));
+    }
+
+    @Test
+    @DisplayName("Should complete a submitted transfer in the background")
+    void shouldCompleteSubmittedTransferInBackground() throws InterruptedException {
+        when(restTemplate.getForEntity(anyString(), eq(Map.class)))
+            .thenReturn(new ResponseEntity<>(Map.of("message", "Autorizado"), HttpStatus.OK));
+
+        Long transactionId = transactionService.submit(new BigDecimal("30.00"), payer.getId(), TransactionPartyType.USER,
+            payee.getId(), TransactionPartyType.USER);
+
+        assertEquals(TransactionStatus.SUCCESS, awaitCompletion(transactionId));
+        assertEquals(0, new BigDecimal("70.00").compareTo(balanceOf(payer)));
+        assertEquals(0, new BigDecimal("130.00").compareTo(balanceOf(payee)));
+        List<TransactionStatus> statuses = transactionService.findHistory(transactionId).stream()
+            .map(FinancialTransactionHistory::getNewStatus)
+            .toList();
+        assertEquals(List.of(TransactionStatus.PENDING, TransactionStatus.SUCCESS), statuses);
+    }
+
+    @Test
+    @DisplayName("Should mark a submitted transfer FAILED when the authorizer is unreachable")
+    void shouldMarkSubmittedTransferFailedWhenAuthorizerIsUnreachable() throws InterruptedException {
+        when(restTemplate.getForEntity(anyString(), eq(Map.class)))
+            .thenThrow(new ResourceAccessException("Read timed out"));
+
+        Long transactionId = transactionService.submit(new BigDecimal("30.00"), payer.getId(), TransactionPartyType.USER,
+            payee.getId(), TransactionPartyType.USER);
+
+        assertEquals(TransactionStatus.FAILED, awaitCompletion(transactionId));
+        assertEquals(0, new BigDecimal("100.00").compareTo(balanceOf(payer)));
+        List<FinancialTransactionHistory> history = transactionService.findHistory(transactionId);
+        assertEquals(TransactionStatus.FAILED, history.get(history.size() - 1).getNewStatus());
+    }
+
+    private TransactionStatus awaitCompletion(Long transactionId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            TransactionStatus status = transactionService.findById(transactionId).orElseThrow().getStatus();
+            if (status != TransactionStatus.PENDING) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        return TransactionStatus.PENDING;
+    }
+
+    private BigDecimal balanceOf(User user) {
+        return userRepository.findById(user.getId()).orElseThrow().getBalance();
+    }
+
+    private User newUser() {
+        int document = DOCUMENT_SEQUENCE.incrementAndGet();
+        return new User("Async " + document, "000" + document, "async" + document + "@example.com",
+            "password123", new BigDecimal("100.00"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.simplepay.domain.service;
+
+import com.simplepay.domain.entity.User;
+import com.simplepay.domain.repository.UserRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+@DisplayName("Authorizer Circuit Breaker Tests")
+class AuthorizerCircuitBreakerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @MockitoBean
+    private RestTemplate restTemplate;
+
+    private CircuitBreaker breaker;
+    private User payer;
+    private User payee;
+
+    @BeforeEach
+    void setUp() {
+        breaker = circuitBreakerRegistry.circuitBreaker(ExternalAuthorizer.NAME);
+        payer = userService.save(new User("Breaker Payer", "55544433322", "breaker.payer@example.com", "password123", new BigDecimal("50.00")));
+        payee = userService.save(new User("Breaker Payee", "55544433311", "breaker.payee@example.com", "password123", BigDecimal.ZERO));
+    }
+
+    @AfterEach
+    void tearDown() {
+        breaker.reset();
+        userRepository.deleteAllById(List.of(payer.getId(), payee.getId()));
+    }
+
+    @Test
+    @DisplayName("Should answer 503 without calling the authorizer while the breaker is open")
+    void shouldFailFastWith503WhileBreakerIsOpen() throws Exception {
+        breaker.transitionToOpenState();
+
+        mockMvc.perform(post("/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.format("{\"value\":10.00,\"payer\":%d,\"payerType\":\"USER\",\"payee\":%d,\"payeeType\":\"USER\"}",
+                    payer.getId(), payee.getId())))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(jsonPath("$.error").value("Serviço autorizador indisponível, tente novamente"));
+
+        verifyNoInteractions(restTemplate);
+        assertEquals(0, new BigDecimal("50.00").compareTo(userRepository.findById(payer.getId()).orElseThrow().getBalance()));
+    }
+
+    @Test
+    @DisplayName("Should expose the breaker and bulkhead state through Actuator")
+    void shouldExposeBreakerAndBulkheadStateThroughActuator() throws Exception {
+        breaker.transitionToOpenState();
+
+        mockMvc.perform(get("/actuator/circuitbreakers"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.circuitBreakers.authorizer.state").value("OPEN"));
+        mockMvc.perform(get("/actuator/bulkheads"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.bulkheads", hasItem(ExternalAuthorizer.NAME)));
+    }
+}
@@ -0,0 +1,102 @@
+package com.simplepay.domain.service;
+
+import com.simplepay.domain.dto.BatchTransferItemResult;
+import com.simplepay.domain.dto.TransferCommand;
+import com.simplepay.domain.entity.Seller;
+import com.simplepay.domain.entity.User;
+import com.simplepay.domain.enums.TransactionPartyType;
+import com.simplepay.domain.enums.TransactionStatus;
+import com.simplepay.domain.repository.SellerRepository;
+import com.simplepay.domain.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Batch Transfer Integration Tests")
+class BatchTransferIntegrationTest {
+
+    @Autowired
+    private FinancialTransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @MockitoBean
+    private RestTemplate restTemplate;
+
+    private User payer;
+    private User payee;
+    private Seller store;
+
+    @BeforeEach
+    void setUp() {
+        when(restTemplate.getForEntity(anyString(), eq(Map.class)))
+            .thenReturn(new ResponseEntity<>(Map.of("message", "Autorizado"), HttpStatus.OK));
+        payer = userService.save(new User("Payroll", "30000000001", "payroll@example.com", "password123", new BigDecimal("1000.00")));
+        payee = userService.save(new User("Employee", "30000000002", "employee@example.com", "password123", BigDecimal.ZERO));
+        store = sellerService.save(new Seller("Store", "30000003000199", "batch-store@example.com", "password123", BigDecimal.ZERO));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllById(List.of(payer.getId(), payee.getId()));
+        sellerRepository.deleteById(store.getId());
+    }
+
+    @Test
+    @DisplayName("Should settle a batch with a single update per wallet and report each item")
+    void shouldSettleBatchWithSingleUpdatePerWallet() {
+        List<TransferCommand> items = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            items.add(new TransferCommand(new BigDecimal("5.00"), payer.getId(), TransactionPartyType.USER,
+                payee.getId(), TransactionPartyType.USER));
+        }
+        items.add(new TransferCommand(new BigDecimal("200.00"), payer.getId(), TransactionPartyType.USER,
+            store.getId(), TransactionPartyType.SELLER));
+        items.add(new TransferCommand(new BigDecimal("500.00"), payer.getId(), TransactionPartyType.USER,
+            store.getId(), TransactionPartyType.SELLER));
+
+        List<BatchTransferItemResult> results = transactionService.transferBatch(items);
+
+        assertEquals(items.size(), results.size());
+        assertEquals(TransactionStatus.SUCCESS, results.get(0).status());
+        assertEquals(TransactionStatus.SUCCESS, results.get(120).status());
+        assertEquals("Saldo insuficiente", results.get(121).error());
+        assertEquals(121, results.stream().filter(r -> r.status() == TransactionStatus.SUCCESS).count());
+        assertTrue(transactionService.findById(results.get(119).transactionId()).isPresent());
+
+        User settledPayer = userRepository.findById(payer.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("200.00").compareTo(settledPayer.getBalance()));
+        assertEquals(1L, settledPayer.getVersion());
+        assertEquals(0, new BigDecimal("600.00").compareTo(userRepository.findById(payee.getId()).orElseThrow().getBalance()));
+        assertEquals(0, new BigDecimal("200.00").compareTo(sellerRepository.findById(store.getId()).orElseThrow().getBalance()));
+    }
+}
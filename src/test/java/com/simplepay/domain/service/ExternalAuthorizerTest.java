@@ -0,0 +1,126 @@
+package com.simplepay.domain.service;
+
+import com.simplepay.domain.exception.AuthorizerUnavailableException;
+import com.simplepay.domain.exception.BusinessException;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("External Authorizer Tests")
+class ExternalAuthorizerTest {
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private CircuitBreakerRegistry circuitBreakers;
+    private ExternalAuthorizer authorizer;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMillis(100))
+            .permittedNumberOfCallsInHalfOpenState(2)
+            .ignoreExceptions(HttpClientErrorException.class)
+            .build());
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+        authorizer = new ExternalAuthorizer(restTemplate, circuitBreakers, bulkheads);
+    }
+
+    @Test
+    @DisplayName("Should open after repeated failures and fail fast without calling the authorizer")
+    void shouldOpenAfterFailuresAndFailFast() {
+        when(restTemplate.getForEntity(anyString(), eq(Map.class)))
+            .thenThrow(new ResourceAccessException("Read timed out"));
+        for (int i = 0; i < 4; i++) {
+            BusinessException failure = assertThrows(BusinessException.class, authorizer::authorize);
+            assertFalse(failure instanceof AuthorizerUnavailableException);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker().getState());
+        assertThrows(AuthorizerUnavailableException.class, authorizer::authorize);
+        verify(restTemplate, times(4)).getForEntity(anyString(), eq(Map.class));
+    }
+
+    @Test
+    @DisplayName("Should close again once the half-open probes succeed")
+    void shouldCloseAfterSuccessfulHalfOpenProbes() throws Exception {
+        breaker().transitionToOpenState();
+        authorizeWith("Autorizado");
+        Thread.sleep(150);
+
+        authorizer.authorize();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker().getState());
+        authorizer.authorize();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker().getState());
+    }
+
+    @Test
+    @DisplayName("Should not count denials as authorizer failures")
+    void shouldNotCountDenialsAsFailures() {
+        when(restTemplate.getForEntity(anyString(), eq(Map.class)))
+            .thenThrow(HttpClientErrorException.create(HttpStatus.FORBIDDEN, "Forbidden", null, null, null));
+        for (int i = 0; i < 6; i++) {
+            BusinessException denial = assertThrows(BusinessException.class, authorizer::authorize);
+            assertEquals("Transação não autorizada pelo serviço externo", denial.getMessage());
+        }
+        authorizeWith("Negado");
+        assertThrows(BusinessException.class, authorizer::authorize);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker().getState());
+    }
+
+    @Test
+    @DisplayName("Should fail fast when the bulkhead is full")
+    void shouldFailFastWhenBulkheadIsFull() throws Exception {
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(restTemplate.getForEntity(anyString(), eq(Map.class))).thenAnswer(invocation -> {
+            inFlight.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new ResponseEntity<>(Map.of("message", "Autorizado"), HttpStatus.OK);
+        });
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(authorizer::authorize);
+        assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+
+        assertThrows(AuthorizerUnavailableException.class, authorizer::authorize);
+
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+        verify(restTemplate, times(1)).getForEntity(anyString(), eq(Map.class));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker().getState());
+    }
+
+    private CircuitBreaker breaker() {
+        return circuitBreakers.circuitBreaker(ExternalAuthorizer.NAME);
+    }
+
+    private void authorizeWith(String message) {
+        when(restTemplate.getForEntity(anyString(), eq(Map.class)))
+            .thenReturn(new ResponseEntity<>(Map.of("message", message), HttpStatus.OK));
+    }
+}
@@ -1,24 +1,50 @@
 package com.simplepay.domain.service;
 
+import com.simplepay.domain.dto.BatchTransferItemResult;
+import com.simplepay.domain.dto.PartyInfo;
+import com.simplepay.domain.dto.TransferCommand;
+import com.simplepay.domain.entity.FinancialTransaction;
+import com.simplepay.domain.entity.FinancialTransactionHistory;
 import com.simplepay.domain.entity.User;
 import com.simplepay.domain.entity.Seller;
 import com.simplepay.domain.enums.TransactionPartyType;
 import com.simplepay.domain.enums.TransactionStatus;
+import com.simplepay.domain.enums.WalletConcurrencyMode;
+import com.simplepay.domain.event.TransferCompletedEvent;
 import com.simplepay.domain.exception.BusinessException;
+import com.simplepay.domain.repository.FinancialTransactionHistoryRepository;
+import com.simplepay.domain.repository.FinancialTransactionRepository;
 
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -35,19 +61,34 @@ class FinancialTransactionServiceUnitTest {
     private RestTemplate restTemplate;
     @Mock
     private EntityManager entityManager;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private FinancialTransactionRepository financialTransactionRepository;
+    @Mock
+    private FinancialTransactionHistoryRepository financialTransactionHistoryRepository;
+    @Mock
+    private TaskExecutor transferExecutor;
+    @Spy
+    private TransferMetrics transferMetrics = new TransferMetrics(new SimpleMeterRegistry(), ObservationRegistry.NOOP);
     @InjectMocks
     private FinancialTransactionService subject;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(subject, "externalAuthorizer",
+            new ExternalAuthorizer(restTemplate, CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults()));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     @Test
     @DisplayName("Should throw if payer not found")
     void shouldThrowIfPayerNotFound() {
-        when(userService.findById(1L)).thenReturn(Optional.empty());
-        when(sellerService.findById(1L)).thenReturn(Optional.empty());
+        givenUsers();
         Exception ex = assertThrows(BusinessException.class, () ->
             subject.transfer(BigDecimal.TEN, 1L, TransactionPartyType.USER, 2L, TransactionPartyType.USER)
         );
@@ -57,11 +98,8 @@ class FinancialTransactionServiceUnitTest {
     @Test
     @DisplayName("Should throw if payee not found")
     void shouldThrowIfPayeeNotFound() {
-        User payer = mock(User.class);
-        when(userService.findById(1L)).thenReturn(Optional.of(payer));
-        when(sellerService.findById(1L)).thenReturn(Optional.empty());
-        when(userService.findById(2L)).thenReturn(Optional.empty());
-        when(sellerService.findById(2L)).thenReturn(Optional.empty());
+        User payer = user(1L);
+        givenUsers(payer);
         Exception ex = assertThrows(BusinessException.class, () ->
             subject.transfer(BigDecimal.TEN, 1L, TransactionPartyType.USER, 2L, TransactionPartyType.USER)
         );
@@ -71,10 +109,10 @@ class FinancialTransactionServiceUnitTest {
     @Test
     @DisplayName("Should throw if payer is seller")
     void shouldThrowIfPayerIsSeller() {
-        Seller seller = mock(Seller.class);
-        when(userService.findById(1L)).thenReturn(Optional.empty());
-        when(sellerService.findById(1L)).thenReturn(Optional.of(seller));
-        when(userService.findById(2L)).thenReturn(Optional.of(mock(User.class)));
+        Seller seller = seller(1L);
+        User payee = user(2L);
+        givenSellers(seller);
+        givenUsers(payee);
         Exception ex = assertThrows(BusinessException.class, () ->
             subject.transfer(BigDecimal.TEN, 1L, TransactionPartyType.SELLER, 2L, TransactionPartyType.USER)
         );
@@ -84,10 +122,9 @@ class FinancialTransactionServiceUnitTest {
     @Test
     @DisplayName("Should throw if payer has insufficient balance")
     void shouldThrowIfPayerHasInsufficientBalance() {
-        User payer = mock(User.class);
-        when(userService.findById(1L)).thenReturn(Optional.of(payer));
-        when(sellerService.findById(1L)).thenReturn(Optional.empty());
-        when(userService.findById(2L)).thenReturn(Optional.of(mock(User.class)));
+        User payer = user(1L);
+        User payee = user(2L);
+        givenUsers(payer, payee);
         when(payer.hasBalance(any())).thenReturn(false);
         Exception ex = assertThrows(BusinessException.class, () ->
             subject.transfer(BigDecimal.TEN, 1L, TransactionPartyType.USER, 2L, TransactionPartyType.USER)
@@ -98,10 +135,9 @@ class FinancialTransactionServiceUnitTest {
     @Test
     @DisplayName("Should throw if not authorized by external service")
     void shouldThrowIfNotAuthorizedByExternalService() {
-        User payer = mock(User.class);
-        when(userService.findById(1L)).thenReturn(Optional.of(payer));
-        when(sellerService.findById(1L)).thenReturn(Optional.empty());
-        when(userService.findById(2L)).thenReturn(Optional.of(mock(User.class)));
+        User payer = user(1L);
+        User payee = user(2L);
+        givenUsers(payer, payee);
         when(payer.hasBalance(any())).thenReturn(true);
         Map<String, String> response = new HashMap<>();
         response.put("message", "Negado");
@@ -116,20 +152,482 @@ class FinancialTransactionServiceUnitTest {
     @Test
     @DisplayName("Should succeed for valid transfer between users")
     void shouldSucceedForValidTransferBetweenUsers() {
-        User payer = mock(User.class);
-        User payee = mock(User.class);
-        when(userService.findById(1L)).thenReturn(Optional.of(payer));
-        when(sellerService.findById(1L)).thenReturn(Optional.empty());
-        when(userService.findById(2L)).thenReturn(Optional.of(payee));
-        when(sellerService.findById(2L)).thenReturn(Optional.empty());
+        User payer = user(1L);
+        User payee = user(2L);
+        givenUsers(payer, payee);
         when(payer.hasBalance(any())).thenReturn(true);
-        Map<String, String> response = new HashMap<>();
-        response.put("message", "Autorizado");
-        when(restTemplate.getForEntity(anyString(), eq(Map.class)))
-            .thenReturn(new ResponseEntity<>(response, HttpStatus.OK));
+        when(userService.debit(1L, BigDecimal.TEN)).thenReturn(true);
+        when(userService.credit(2L, BigDecimal.TEN)).thenReturn(true);
+        authorize("Autorizado");
         TransactionStatus status = subject.transfer(BigDecimal.TEN, 1L, TransactionPartyType.USER, 2L, TransactionPartyType.USER);
         assertEquals(TransactionStatus.SUCCESS, status);
+        verify(userService).debit(1L, BigDecimal.TEN);
+        verify(userService).credit(2L, BigDecimal.TEN);
+        verify(userService, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should enqueue the payee notification instead of calling the notifier")
+    void shouldEnqueuePayeeNotificationInsteadOfCallingNotifier() {
+        User payer = user(1L);
+        User payee = user(2L);
+        when(payee.getMail()).thenReturn("payee@example.com");
+        givenUsers(payer, payee);
+        when(payer.hasBalance(any())).thenReturn(true);
+        when(userService.debit(1L, BigDecimal.TEN)).thenReturn(true);
+        when(userService.credit(2L, BigDecimal.TEN)).thenReturn(true);
+        authorize("Autorizado");
+        subject.transfer(BigDecimal.TEN, 1L, TransactionPartyType.USER, 2L, TransactionPartyType.USER);
+        verify(outboxService).enqueuePayeeNotification(any(), eq("payee@example.com"), contains("R$ 10"));
+        verify(restTemplate, never()).postForEntity(anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should credit seller payee with an atomic update")
+    void shouldCreditSellerPayeeWithAtomicUpdate() {
+        User payer = user(1L);
+        Seller payee = seller(2L);
+        givenUsers(payer);
+        givenSellers(payee);
+        when(payer.hasBalance(any())).thenReturn(true);
+        when(userService.debit(1L, BigDecimal.TEN)).thenReturn(true);
+        when(sellerService.credit(2L, 0, BigDecimal.TEN)).thenReturn(true);
+        authorize("Autorizado");
+        TransactionStatus status = subject.transfer(BigDecimal.TEN, 1L, TransactionPartyType.USER, 2L, TransactionPartyType.SELLER);
+        assertEquals(TransactionStatus.SUCCESS, status);
+        verify(sellerService).credit(2L, 0, BigDecimal.TEN);
+        verify(sellerService, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should fail when the atomic debit finds insufficient balance")
+    void shouldFailWhenAtomicDebitFindsInsufficientBalance() {
+        User payer = user(1L);
+        User payee = user(2L);
+        givenUsers(payer, payee);
+        when(payer.hasBalance(any())).thenReturn(true);
+        when(userService.debit(1L, BigDecimal.TEN)).thenReturn(false);
+        authorize("Autorizado");
+        Exception ex = assertThrows(BusinessException.class, () ->
+            subject.transfer(BigDecimal.TEN, 1L, TransactionPartyType.USER, 2L, TransactionPartyType.USER)
+        );
+        assertTrue(ex.getMessage().contains("Saldo insuficiente"));
+        verify(userService, never()).credit(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should apply atomic updates in ascending id order")
+    void shouldApplyAtomicUpdatesInAscendingIdOrder() {
+        User payer = user(2L);
+        User payee = user(1L);
+        givenUsers(payer, payee);
+        when(payer.hasBalance(any())).thenReturn(true);
+        when(userService.debit(2L, BigDecimal.TEN)).thenReturn(true);
+        when(userService.credit(1L, BigDecimal.TEN)).thenReturn(true);
+        authorize("Autorizado");
+        subject.transfer(BigDecimal.TEN, 2L, TransactionPartyType.USER, 1L, TransactionPartyType.USER);
+        InOrder inOrder = inOrder(userService);
+        inOrder.verify(userService).credit(1L, BigDecimal.TEN);
+        inOrder.verify(userService).debit(2L, BigDecimal.TEN);
+    }
+
+    @Test
+    @DisplayName("Should lock parties and save entities in pessimistic mode")
+    void shouldLockPartiesAndSaveEntitiesInPessimisticMode() {
+        ReflectionTestUtils.setField(subject, "concurrencyMode", WalletConcurrencyMode.PESSIMISTIC);
+        User payer = user(1L);
+        User payee = user(2L);
+        givenUsers(payer, payee);
+        when(userService.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(payer, payee));
+        when(payer.hasBalance(any())).thenReturn(true);
+        authorize("Autorizado");
+        TransactionStatus status = subject.transfer(BigDecimal.TEN, 1L, TransactionPartyType.USER, 2L, TransactionPartyType.USER);
+        assertEquals(TransactionStatus.SUCCESS, status);
+        verify(userService).findAllByIdForUpdate(anyCollection());
         verify(userService).save(payer);
         verify(userService).save(payee);
     }
+
+    @Test
+    @DisplayName("Should read only the payer wallet and take the payee from the party cache")
+    void shouldReadOnlyPayerWalletAndTakePayeeFromPartyCache() {
+        User payer = user(1L);
+        User payee = user(2L);
+        givenUsers(payer, payee);
+        when(payer.hasBalance(any())).thenReturn(false);
+        assertThrows(BusinessException.class, () ->
+            subject.transfer(BigDecimal.TEN, 1L, TransactionPartyType.USER, 2L, TransactionPartyType.USER)
+        );
+        verify(userService, times(1)).findAllById(argThat(ids -> ids.size() == 1 && ids.contains(1L)));
+        verify(userService).findPartyInfo(2L);
+        verify(userService, never()).findById(any());
+        verifyNoInteractions(sellerService);
+    }
+
+    @Test
+    @DisplayName("Should not query the seller table for a cached seller payee")
+    void shouldNotQuerySellerTableForCachedSellerPayee() {
+        User payer = user(1L);
+        Seller payee = seller(2L);
+        givenUsers(payer);
+        givenSellers(payee);
+        when(payer.hasBalance(any())).thenReturn(false);
+        assertThrows(BusinessException.class, () ->
+            subject.transfer(BigDecimal.TEN, 1L, TransactionPartyType.USER, 2L, TransactionPartyType.SELLER)
+        );
+        verify(userService, times(1)).findAllById(anyCollection());
+        verify(sellerService).findPartyInfo(2L);
+        verify(sellerService, never()).findAllById(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should load parties without locks in optimistic mode")
+    void shouldLoadPartiesWithoutLocksInOptimisticMode() {
+        ReflectionTestUtils.setField(subject, "concurrencyMode", WalletConcurrencyMode.OPTIMISTIC);
+        User payer = user(1L);
+        User payee = user(2L);
+        givenUsers(payer, payee);
+        when(payer.hasBalance(any())).thenReturn(false);
+        assertThrows(BusinessException.class, () ->
+            subject.transfer(BigDecimal.TEN, 1L, TransactionPartyType.USER, 2L, TransactionPartyType.USER)
+        );
+        verify(userService, never()).findAllByIdForUpdate(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should retry optimistic lock conflicts up to the configured attempts")
+    void shouldRetryOptimisticLockConflictsUpToConfiguredAttempts() {
+        ReflectionTestUtils.setField(subject, "concurrencyMode", WalletConcurrencyMode.OPTIMISTIC);
+        ReflectionTestUtils.setField(subject, "optimisticMaxAttempts", 3);
+        givenAuthorizedTransferBetweenUsers();
+        doThrow(new OptimisticLockingFailureException("conflict")).when(transactionTemplate).execute(any());
+        Exception ex = assertThrows(BusinessException.class, () ->
+            subject.transfer(BigDecimal.TEN, 1L, TransactionPartyType.USER, 2L, TransactionPartyType.USER)
+        );
+        assertTrue(ex.getMessage().contains("Carteira em uso"));
+        verify(transactionTemplate, times(3)).execute(any());
+        verify(restTemplate, times(1)).getForEntity(anyString(), eq(Map.class));
+    }
+
+    @Test
+    @DisplayName("Should not retry lock conflicts outside optimistic mode")
+    void shouldNotRetryLockConflictsOutsideOptimisticMode() {
+        givenAuthorizedTransferBetweenUsers();
+        doThrow(new OptimisticLockingFailureException("conflict")).when(transactionTemplate).execute(any());
+        assertThrows(BusinessException.class, () ->
+            subject.transfer(BigDecimal.TEN, 1L, TransactionPartyType.USER, 2L, TransactionPartyType.USER)
+        );
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    @Test
+    @DisplayName("Should not open a transaction when the authorizer denies the transfer")
+    void shouldNotOpenTransactionWhenAuthorizerDenies() {
+        User payer = user(1L);
+        User payee = user(2L);
+        givenUsers(payer, payee);
+        when(payer.hasBalance(any())).thenReturn(true);
+        authorize("Negado");
+        assertThrows(BusinessException.class, () ->
+            subject.transfer(BigDecimal.TEN, 1L, TransactionPartyType.USER, 2L, TransactionPartyType.USER)
+        );
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("Should reject the transfer when the authorizer times out")
+    void shouldRejectTransferWhenAuthorizerTimesOut() {
+        User payer = user(1L);
+        User payee = user(2L);
+        givenUsers(payer, payee);
+        when(payer.hasBalance(any())).thenReturn(true);
+        when(restTemplate.getForEntity(anyString(), eq(Map.class)))
+            .thenThrow(new ResourceAccessException("Read timed out"));
+        Exception ex = assertThrows(BusinessException.class, () ->
+            subject.transfer(BigDecimal.TEN, 1L, TransactionPartyType.USER, 2L, TransactionPartyType.USER)
+        );
+        assertTrue(ex.getMessage().contains("Transação não autorizada"));
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("Should record an async transfer as PENDING and hand it to the worker pool")
+    void shouldRecordAsyncTransferAsPendingAndHandItToWorkerPool() {
+        givenAuthorizedTransferBetweenUsers();
+        givenPersistAssignsId(42L);
+
+        Long transactionId = subject.submit(BigDecimal.TEN, 1L, TransactionPartyType.USER, 2L, TransactionPartyType.USER);
+
+        assertEquals(42L, transactionId);
+        ArgumentCaptor<Object> persisted = ArgumentCaptor.forClass(Object.class);
+        verify(entityManager, times(2)).persist(persisted.capture());
+        FinancialTransaction transaction = (FinancialTransaction) persisted.getAllValues().get(0);
+        assertEquals(TransactionStatus.PENDING, transaction.getStatus());
+        verify(transferExecutor).execute(any(Runnable.class));
+        verifyNoInteractions(restTemplate);
+        verify(userService, never()).debit(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should settle a submitted transfer on the worker")
+    void shouldSettleSubmittedTransferOnWorker() {
+        givenAuthorizedTransferBetweenUsers();
+        when(userService.debit(1L, BigDecimal.TEN)).thenReturn(true);
+        when(userService.credit(2L, BigDecimal.TEN)).thenReturn(true);
+        FinancialTransaction pending = givenPendingTransaction(42L);
+
+        Runnable worker = submitAndCaptureWorker();
+        worker.run();
+
+        assertEquals(TransactionStatus.SUCCESS, pending.getStatus());
+        verify(outboxService).enqueueTransferCompleted(any());
+    }
+
+    @Test
+    @DisplayName("Should stamp the TransferCompleted event with the settlement time, not the submission time")
+    void shouldStampTransferCompletedWithSettlementTime() {
+        givenAuthorizedTransferBetweenUsers();
+        when(userService.debit(1L, BigDecimal.TEN)).thenReturn(true);
+        when(userService.credit(2L, BigDecimal.TEN)).thenReturn(true);
+        FinancialTransaction pending = givenPendingTransaction(42L);
+        LocalDateTime submittedAt = LocalDateTime.now().minusMinutes(1);
+        pending.setUpdatedAt(submittedAt);
+
+        Runnable worker = submitAndCaptureWorker();
+        worker.run();
+
+        ArgumentCaptor<TransferCompletedEvent> event = ArgumentCaptor.forClass(TransferCompletedEvent.class);
+        verify(outboxService).enqueueTransferCompleted(event.capture());
+        assertTrue(event.getValue().completedAt().isAfter(submittedAt));
+        assertEquals(pending.getUpdatedAt(), event.getValue().completedAt());
+    }
+
+    @Test
+    @DisplayName("Should not re-queue a stale transfer that is still queued on this node")
+    void shouldNotRequeueStaleTransferStillQueuedOnThisNode() {
+        givenAuthorizedTransferBetweenUsers();
+        givenPendingTransaction(42L);
+        when(financialTransactionRepository.findIdsByStatusUpdatedBefore(eq(TransactionStatus.PENDING), any(), any()))
+            .thenReturn(List.of(42L));
+
+        Runnable worker = submitAndCaptureWorker();
+        subject.resumeStalePending();
+
+        verify(transferExecutor, times(1)).execute(any(Runnable.class));
+
+        worker.run();
+        subject.resumeStalePending();
+
+        verify(transferExecutor, times(2)).execute(any(Runnable.class));
+    }
+
+    @Test
+    @DisplayName("Should re-queue a stale transfer once the pool has room again")
+    void shouldRequeueStaleTransferOncePoolHasRoom() {
+        when(financialTransactionRepository.findIdsByStatusUpdatedBefore(eq(TransactionStatus.PENDING), any(), any()))
+            .thenReturn(List.of(42L));
+        doThrow(new TaskRejectedException("queue full")).doNothing().when(transferExecutor).execute(any(Runnable.class));
+
+        subject.resumeStalePending();
+        subject.resumeStalePending();
+
+        verify(transferExecutor, times(2)).execute(any(Runnable.class));
+    }
+
+    @Test
+    @DisplayName("Should mark a submitted transfer FAILED when the authorizer denies it")
+    void shouldMarkSubmittedTransferFailedWhenAuthorizerDenies() {
+        givenAuthorizedTransferBetweenUsers();
+        authorize("Negado");
+        FinancialTransaction pending = givenPendingTransaction(42L);
+
+        Runnable worker = submitAndCaptureWorker();
+        worker.run();
+
+        assertEquals(TransactionStatus.FAILED, pending.getStatus());
+        ArgumentCaptor<Object> persisted = ArgumentCaptor.forClass(Object.class);
+        verify(entityManager, atLeastOnce()).persist(persisted.capture());
+        FinancialTransactionHistory failure = (FinancialTransactionHistory) persisted.getValue();
+        assertEquals(TransactionStatus.FAILED, failure.getNewStatus());
+        assertTrue(failure.getNote().contains("Transação não autorizada"));
+        verify(userService, never()).debit(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should skip a submitted transfer that already left PENDING")
+    void shouldSkipSubmittedTransferThatAlreadyLeftPending() {
+        givenAuthorizedTransferBetweenUsers();
+        FinancialTransaction pending = givenPendingTransaction(42L);
+
+        Runnable worker = submitAndCaptureWorker();
+        pending.setStatus(TransactionStatus.SUCCESS);
+        worker.run();
+
+        verifyNoInteractions(restTemplate);
+        verify(userService, never()).debit(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should skip a submitted transfer whose row is gone by settlement")
+    void shouldSkipSubmittedTransferWhoseRowIsGoneBySettlement() {
+        givenAuthorizedTransferBetweenUsers();
+        givenPendingTransaction(42L);
+        when(entityManager.find(FinancialTransaction.class, 42L, LockModeType.PESSIMISTIC_WRITE)).thenReturn(null);
+
+        Runnable worker = submitAndCaptureWorker();
+        worker.run();
+
+        // Only the settlement looked the row up; an NPE there would also have run markFailed.
+        verify(entityManager, times(1)).find(FinancialTransaction.class, 42L, LockModeType.PESSIMISTIC_WRITE);
+        verify(userService, never()).debit(any(), any());
+        verify(outboxService, never()).enqueueTransferCompleted(any());
+    }
+
+    @Test
+    @DisplayName("Should fail the submission when the worker pool is saturated")
+    void shouldFailSubmissionWhenWorkerPoolIsSaturated() {
+        givenAuthorizedTransferBetweenUsers();
+        FinancialTransaction pending = givenPendingTransaction(42L);
+        doThrow(new TaskRejectedException("queue full")).when(transferExecutor).execute(any(Runnable.class));
+
+        Exception ex = assertThrows(BusinessException.class, () ->
+            subject.submit(BigDecimal.TEN, 1L, TransactionPartyType.USER, 2L, TransactionPartyType.USER)
+        );
+
+        assertTrue(ex.getMessage().contains("Muitas transferências"));
+        assertEquals(TransactionStatus.FAILED, pending.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should lock each wallet once and apply one net update per wallet in a batch")
+    void shouldApplyOneNetUpdatePerWalletInBatch() {
+        User payer = user(1L);
+        User payee = user(2L);
+        Seller store = seller(3L);
+        when(payer.getBalance()).thenReturn(new BigDecimal("100.00"));
+        when(payee.getBalance()).thenReturn(BigDecimal.ZERO);
+        when(userService.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(payer, payee));
+        when(sellerService.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(store));
+        when(userService.debit(any(), any())).thenReturn(true);
+        when(userService.credit(any(), any())).thenReturn(true);
+        when(sellerService.credit(any(), anyInt(), any())).thenReturn(true);
+        authorize("Autorizado");
+
+        List<BatchTransferItemResult> results = subject.transferBatch(List.of(
+            new TransferCommand(BigDecimal.TEN, 1L, TransactionPartyType.USER, 2L, TransactionPartyType.USER),
+            new TransferCommand(new BigDecimal("5"), 1L, TransactionPartyType.USER, 3L, TransactionPartyType.SELLER),
+            new TransferCommand(BigDecimal.TEN, 1L, TransactionPartyType.USER, 2L, TransactionPartyType.USER)
+        ));
+
+        assertTrue(results.stream().allMatch(r -> r.status() == TransactionStatus.SUCCESS));
+        verify(userService, times(1)).findAllByIdForUpdate(anyCollection());
+        verify(userService).debit(1L, new BigDecimal("25"));
+        verify(userService).credit(2L, new BigDecimal("20"));
+        verify(sellerService).credit(3L, 0, new BigDecimal("5"));
+        verify(userService, times(1)).debit(any(), any());
+        verify(restTemplate, times(1)).getForEntity(anyString(), eq(Map.class));
+        verify(outboxService, times(3)).enqueueTransferCompleted(any());
+    }
+
+    @Test
+    @DisplayName("Should reject batch items that exceed the running balance")
+    void shouldRejectBatchItemsThatExceedRunningBalance() {
+        User payer = user(1L);
+        User payee = user(2L);
+        when(payer.getBalance()).thenReturn(new BigDecimal("15.00"));
+        when(payee.getBalance()).thenReturn(BigDecimal.ZERO);
+        when(userService.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(payer, payee));
+        when(userService.debit(any(), any())).thenReturn(true);
+        when(userService.credit(any(), any())).thenReturn(true);
+        authorize("Autorizado");
+
+        List<BatchTransferItemResult> results = subject.transferBatch(List.of(
+            new TransferCommand(BigDecimal.TEN, 1L, TransactionPartyType.USER, 2L, TransactionPartyType.USER),
+            new TransferCommand(BigDecimal.TEN, 1L, TransactionPartyType.USER, 2L, TransactionPartyType.USER),
+            new TransferCommand(BigDecimal.ONE, 3L, TransactionPartyType.SELLER, 2L, TransactionPartyType.USER)
+        ));
+
+        assertEquals(TransactionStatus.SUCCESS, results.get(0).status());
+        assertEquals("Saldo insuficiente", results.get(1).error());
+        assertEquals("Lojistas não podem enviar transferências", results.get(2).error());
+        assertNull(results.get(1).transactionId());
+        verify(userService).debit(1L, BigDecimal.TEN);
+        verify(userService).credit(2L, BigDecimal.TEN);
+    }
+
+    @Test
+    @DisplayName("Should reject a batch above the configured size before calling the authorizer")
+    void shouldRejectOversizedBatch() {
+        ReflectionTestUtils.setField(subject, "batchMaxItems", 1);
+        TransferCommand item = new TransferCommand(BigDecimal.TEN, 1L, TransactionPartyType.USER, 2L, TransactionPartyType.USER);
+        assertThrows(BusinessException.class, () -> subject.transferBatch(List.of(item, item)));
+        verifyNoInteractions(restTemplate, transactionTemplate);
+    }
+
+    private Runnable submitAndCaptureWorker() {
+        subject.submit(BigDecimal.TEN, 1L, TransactionPartyType.USER, 2L, TransactionPartyType.USER);
+        ArgumentCaptor<Runnable> worker = ArgumentCaptor.forClass(Runnable.class);
+        verify(transferExecutor).execute(worker.capture());
+        return worker.getValue();
+    }
+
+    private FinancialTransaction givenPendingTransaction(Long id) {
+        FinancialTransaction pending = new FinancialTransaction(BigDecimal.TEN, 1L, TransactionPartyType.USER,
+            2L, TransactionPartyType.USER, TransactionStatus.PENDING);
+        pending.setId(id);
+        givenPersistAssignsId(id);
+        when(financialTransactionRepository.findById(id)).thenReturn(Optional.of(pending));
+        when(entityManager.find(FinancialTransaction.class, id, LockModeType.PESSIMISTIC_WRITE)).thenReturn(pending);
+        return pending;
+    }
+
+    private void givenPersistAssignsId(Long id) {
+        doAnswer(invocation -> {
+            if (invocation.getArgument(0) instanceof FinancialTransaction transaction) {
+                transaction.setId(id);
+            }
+            return null;
+        }).when(entityManager).persist(any());
+    }
+
+    private void givenAuthorizedTransferBetweenUsers() {
+        User payer = user(1L);
+        User payee = user(2L);
+        givenUsers(payer, payee);
+        when(payer.hasBalance(any())).thenReturn(true);
+        authorize("Autorizado");
+    }
+
+    private void authorize(String message) {
+        when(restTemplate.getForEntity(anyString(), eq(Map.class)))
+            .thenReturn(new ResponseEntity<>(Map.of("message", message), HttpStatus.OK));
+    }
+
+    private void givenUsers(User... users) {
+        when(userService.findAllById(anyCollection())).thenReturn(List.of(users));
+        for (User user : users) {
+            Optional<PartyInfo> info = Optional.of(PartyInfo.of(user));
+            when(userService.findPartyInfo(user.getId())).thenReturn(info);
+        }
+    }
+
+    private void givenSellers(Seller... sellers) {
+        when(sellerService.findAllById(anyCollection())).thenReturn(List.of(sellers));
+        for (Seller seller : sellers) {
+            Optional<PartyInfo> info = Optional.of(PartyInfo.of(seller));
+            when(sellerService.findPartyInfo(seller.getId())).thenReturn(info);
+        }
+    }
+
+    private User user(Long id) {
+        User user = mock(User.class);
+        when(user.getId()).thenReturn(id);
+        return user;
+    }
+
+    private Seller seller(Long id) {
+        Seller seller = mock(Seller.class);
+        when(seller.getId()).thenReturn(id);
+        return seller;
+    }
 }
@@ -0,0 +1,271 @@
+package com.simplepay.domain.service;
+
+import com.simplepay.domain.dto.IdempotencyClaim;
+import com.simplepay.domain.dto.IdempotentResult;
+import com.simplepay.domain.entity.IdempotencyRecord;
+import com.simplepay.domain.entity.User;
+import com.simplepay.domain.enums.IdempotencyState;
+import com.simplepay.domain.enums.TransactionPartyType;
+import com.simplepay.domain.enums.TransactionStatus;
+import com.simplepay.domain.exception.BusinessException;
+import com.simplepay.domain.exception.IdempotencyConflictException;
+import com.simplepay.domain.repository.IdempotencyRecordRepository;
+import com.simplepay.domain.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Idempotency Service Integration Tests")
+class IdempotencyServiceIntegrationTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private FinancialTransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @MockitoBean
+    private RestTemplate restTemplate;
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyRecordRepository.deleteAll();
+        executions.set(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllById(users.stream().map(User::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should run the action once and replay its result for the same request")
+    void shouldRunActionOnceAndReplayResult() {
+        IdempotentResult first = idempotencyService.execute("key-replay", "request", counting(42L));
+        IdempotentResult second = idempotencyService.execute("key-replay", "request", counting(43L));
+
+        assertEquals(first, second);
+        assertEquals(1, executions.get());
+        IdempotencyRecord record = idempotencyRecordRepository.findByIdempotencyKey("key-replay").orElseThrow();
+        assertEquals(IdempotencyState.COMPLETED, record.getState());
+        assertEquals(42L, record.getTransactionId());
+    }
+
+    @Test
+    @DisplayName("Should replay from the table when the key is not cached on this node")
+    void shouldReplayFromTableWhenKeyIsNotCached() {
+        idempotencyService.execute("key-table", "request", counting(42L));
+        IdempotencyService otherNode = new IdempotencyService(idempotencyRecordRepository, transactionTemplate,
+            100, Duration.ofHours(1), Duration.ofMinutes(5));
+
+        IdempotentResult replayed = otherNode.execute("key-table", "request", counting(43L));
+
+        assertEquals(42L, replayed.transactionId());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should reject a different request under an existing key")
+    void shouldRejectDifferentRequestUnderExistingKey() {
+        idempotencyService.execute("key-mismatch", "request", counting(42L));
+
+        assertThrows(IdempotencyConflictException.class, () ->
+            idempotencyService.execute("key-mismatch", "other request", counting(43L)));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should reject a retry while the first request is still in progress")
+    void shouldRejectRetryWhileFirstRequestIsInProgress() throws NoSuchAlgorithmException {
+        idempotencyRecordRepository.saveAndFlush(new IdempotencyRecord("key-busy",
+            sha256("request"), "other-claim"));
+
+        assertThrows(IdempotencyConflictException.class, () ->
+            idempotencyService.execute("key-busy", "request", counting(42L)));
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should take over a claim left in progress past the claim timeout")
+    void shouldTakeOverClaimLeftInProgressPastTimeout() throws NoSuchAlgorithmException {
+        IdempotencyRecord abandoned = new IdempotencyRecord("key-abandoned", sha256("request"), "other-claim");
+        abandoned.setClaimedAt(LocalDateTime.now().minusMinutes(10));
+        idempotencyRecordRepository.saveAndFlush(abandoned);
+
+        IdempotentResult result = idempotencyService.execute("key-abandoned", "request", counting(42L));
+
+        assertEquals(42L, result.transactionId());
+        assertEquals(1, executions.get());
+        IdempotencyRecord record = idempotencyRecordRepository.findByIdempotencyKey("key-abandoned").orElseThrow();
+        assertEquals(IdempotencyState.COMPLETED, record.getState());
+    }
+
+    @Test
+    @DisplayName("Should not take over an abandoned claim for a different request")
+    void shouldNotTakeOverAbandonedClaimForDifferentRequest() throws NoSuchAlgorithmException {
+        IdempotencyRecord abandoned = new IdempotencyRecord("key-abandoned-other", sha256("request"), "other-claim");
+        abandoned.setClaimedAt(LocalDateTime.now().minusMinutes(10));
+        idempotencyRecordRepository.saveAndFlush(abandoned);
+
+        assertThrows(IdempotencyConflictException.class, () ->
+            idempotencyService.execute("key-abandoned-other", "other request", counting(42L)));
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should replay, not re-run, a request that failed after its outcome was committed")
+    void shouldReplayRequestThatFailedAfterItsOutcomeWasCommitted() {
+        Function<IdempotencyClaim, IdempotentResult> committedThenFailed = counting(42L).andThen(result -> {
+            throw new IllegalStateException("connection reset after commit");
+        });
+        assertThrows(IllegalStateException.class, () ->
+            idempotencyService.execute("key-committed", "request", committedThenFailed));
+
+        IdempotentResult retried = idempotencyService.execute("key-committed", "request", counting(43L));
+
+        assertEquals(42L, retried.transactionId());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should not let a request whose claim was taken over commit its outcome")
+    void shouldNotLetTakenOverClaimCommitItsOutcome() {
+        IdempotencyConflictException conflict = assertThrows(IdempotencyConflictException.class, () ->
+            idempotencyService.execute("key-taken-over", "request", claim -> {
+                // Another node takes the claim over while this request is still running.
+                transactionTemplate.executeWithoutResult(tx -> idempotencyRecordRepository.reclaim("key-taken-over",
+                    IdempotencyState.IN_PROGRESS, LocalDateTime.now().plusMinutes(1), LocalDateTime.now(), "other-claim"));
+                return counting(42L).apply(claim);
+            }));
+
+        assertEquals("Requisição com esta Idempotency-Key em processamento", conflict.getMessage());
+        IdempotencyRecord record = idempotencyRecordRepository.findByIdempotencyKey("key-taken-over").orElseThrow();
+        assertEquals(IdempotencyState.IN_PROGRESS, record.getState());
+        assertEquals("other-claim", record.getClaimToken());
+    }
+
+    @Test
+    @DisplayName("Should complete the key in the settlement transaction and roll the transfer back when it cannot")
+    void shouldCompleteKeyInSettlementTransaction() {
+        when(restTemplate.getForEntity(anyString(), eq(Map.class)))
+            .thenReturn(new ResponseEntity<>(Map.of("message", "Autorizado"), HttpStatus.OK));
+        User payer = user("Idempotent Payer", "11122233344", new BigDecimal("50.00"));
+        User payee = user("Idempotent Payee", "11122233355", BigDecimal.ZERO);
+        Function<IdempotencyClaim, IdempotentResult> transfer = claim -> new IdempotentResult(transactionService.transfer(
+            BigDecimal.TEN, payer.getId(), TransactionPartyType.USER, payee.getId(), TransactionPartyType.USER, claim), null);
+
+        idempotencyService.execute("key-settled", "request", transfer);
+        IdempotencyRecord settled = idempotencyRecordRepository.findByIdempotencyKey("key-settled").orElseThrow();
+        assertEquals(IdempotencyState.COMPLETED, settled.getState());
+        assertEquals(TransactionStatus.SUCCESS, settled.getTransactionStatus());
+        assertNotNull(settled.getTransactionId());
+
+        assertThrows(IdempotencyConflictException.class, () ->
+            idempotencyService.execute("key-lost", "request", claim -> {
+                transactionTemplate.executeWithoutResult(tx -> idempotencyRecordRepository.reclaim("key-lost",
+                    IdempotencyState.IN_PROGRESS, LocalDateTime.now().plusMinutes(1), LocalDateTime.now(), "other-claim"));
+                return transfer.apply(claim);
+            }));
+        assertEquals(0, new BigDecimal("40.00").compareTo(userRepository.findById(payer.getId()).orElseThrow().getBalance()));
+        assertEquals(0, BigDecimal.TEN.compareTo(userRepository.findById(payee.getId()).orElseThrow().getBalance()));
+    }
+
+    @Test
+    @DisplayName("Should purge abandoned claims after the claim timeout and completed keys after the retention")
+    void shouldPurgeAbandonedClaimsAndExpiredCompletedKeys() throws NoSuchAlgorithmException {
+        IdempotencyRecord fresh = new IdempotencyRecord("key-fresh", sha256("request"), "other-claim");
+        IdempotencyRecord abandoned = new IdempotencyRecord("key-stale-claim", sha256("request"), "other-claim");
+        abandoned.setClaimedAt(LocalDateTime.now().minusMinutes(10));
+        IdempotencyRecord recent = new IdempotencyRecord("key-recent", sha256("request"), "other-claim");
+        recent.complete(TransactionStatus.PENDING, 42L);
+        recent.setCreatedAt(LocalDateTime.now().minusHours(2));
+        IdempotencyRecord expired = new IdempotencyRecord("key-expired", sha256("request"), "other-claim");
+        expired.complete(TransactionStatus.PENDING, 43L);
+        expired.setCreatedAt(LocalDateTime.now().minusHours(25));
+        idempotencyRecordRepository.saveAllAndFlush(List.of(fresh, abandoned, recent, expired));
+
+        idempotencyService.purgeExpired();
+
+        assertTrue(idempotencyRecordRepository.findByIdempotencyKey("key-fresh").isPresent());
+        assertTrue(idempotencyRecordRepository.findByIdempotencyKey("key-stale-claim").isEmpty());
+        assertTrue(idempotencyRecordRepository.findByIdempotencyKey("key-recent").isPresent());
+        assertTrue(idempotencyRecordRepository.findByIdempotencyKey("key-expired").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should release the key when the action fails so the client can retry")
+    void shouldReleaseKeyWhenActionFails() {
+        assertThrows(BusinessException.class, () ->
+            idempotencyService.execute("key-retry", "request", claim -> {
+                throw new BusinessException("Saldo insuficiente");
+            }));
+        assertTrue(idempotencyRecordRepository.findByIdempotencyKey("key-retry").isEmpty());
+
+        IdempotentResult retried = idempotencyService.execute("key-retry", "request", counting(42L));
+
+        assertEquals(42L, retried.transactionId());
+    }
+
+    private Function<IdempotencyClaim, IdempotentResult> counting(Long transactionId) {
+        return claim -> {
+            executions.incrementAndGet();
+            transactionTemplate.executeWithoutResult(tx ->
+                idempotencyService.complete(claim, TransactionStatus.PENDING, transactionId));
+            return new IdempotentResult(TransactionStatus.PENDING, transactionId);
+        };
+    }
+
+    private User user(String name, String document, BigDecimal balance) {
+        User user = userService.save(new User(name, document, document + "@example.com", "password123", balance));
+        users.add(user);
+        return user;
+    }
+
+    private static String sha256(String value) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,159 @@
+package com.simplepay.domain.service;
+
+import com.simplepay.domain.dto.BalanceMismatch;
+import com.simplepay.domain.dto.ReconciliationReport;
+import com.simplepay.domain.dto.TransferCommand;
+import com.simplepay.domain.entity.Seller;
+import com.simplepay.domain.entity.User;
+import com.simplepay.domain.enums.TransactionPartyType;
+import com.simplepay.domain.enums.TransactionStatus;
+import com.simplepay.domain.repository.SellerRepository;
+import com.simplepay.domain.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Ledger Integration Tests")
+class LedgerIntegrationTest {
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private FinancialTransactionService transactionService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private RestTemplate restTemplate;
+
+    private User payer;
+    private User payee;
+    private Seller store;
+
+    @BeforeEach
+    void setUp() {
+        when(restTemplate.getForEntity(anyString(), eq(Map.class)))
+            .thenReturn(new ResponseEntity<>(Map.of("message", "Autorizado"), HttpStatus.OK));
+        LocalDateTime openedAt = LocalDateTime.now();
+        payer = userService.create("Ledger Payer", "40000000001", "ledger-payer@example.com", "password123", new BigDecimal("500.00"));
+        payee = userService.create("Ledger Payee", "40000000002", "ledger-payee@example.com", "password123", new BigDecimal("20.00"));
+        store = sellerService.create("Ledger Store", "40000004000199", "ledger-store@example.com", "password123", BigDecimal.ZERO);
+        // Test contexts sharing the database hand out the same ids again: drop
+        // what earlier wallets with these ids left behind.
+        deleteWalletRows(openedAt);
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteWalletRows(LocalDateTime.now().plusMinutes(1));
+        userRepository.deleteAllById(List.of(payer.getId(), payee.getId()));
+        sellerRepository.deleteById(store.getId());
+    }
+
+    @Test
+    @DisplayName("Should derive every wallet balance from snapshots plus later entries")
+    void shouldDeriveBalancesFromSnapshotsAndEntries() {
+        assertEquals(TransactionStatus.SUCCESS, transactionService.transfer(new BigDecimal("100.00"),
+            payer.getId(), TransactionPartyType.USER, store.getId(), TransactionPartyType.SELLER));
+
+        assertTrue(ledgerService.takeSnapshots(LocalDateTime.now()) >= 3);
+
+        transactionService.transferBatch(List.of(
+            new TransferCommand(new BigDecimal("30.00"), payer.getId(), TransactionPartyType.USER, payee.getId(), TransactionPartyType.USER),
+            new TransferCommand(new BigDecimal("45.50"), payer.getId(), TransactionPartyType.USER, store.getId(), TransactionPartyType.SELLER)));
+        userService.addToBalance(payee.getId(), new BigDecimal("7.25"));
+
+        assertDerivedBalanceMatches(TransactionPartyType.USER, payer.getId(), new BigDecimal("324.50"));
+        assertDerivedBalanceMatches(TransactionPartyType.USER, payee.getId(), new BigDecimal("57.25"));
+        assertDerivedBalanceMatches(TransactionPartyType.SELLER, store.getId(), new BigDecimal("145.50"));
+        assertTrue(ownMismatches(ledgerService.reconcile()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should settle a transfer without appending ledger entries")
+    void shouldSettleTransferWithoutAppendingLedgerEntries() {
+        Integer before = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ledger_entries", Integer.class);
+
+        assertEquals(TransactionStatus.SUCCESS, transactionService.transfer(new BigDecimal("12.00"),
+            payer.getId(), TransactionPartyType.USER, payee.getId(), TransactionPartyType.USER));
+
+        assertEquals(before, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ledger_entries", Integer.class));
+        assertDerivedBalanceMatches(TransactionPartyType.USER, payer.getId(), new BigDecimal("488.00"));
+        assertDerivedBalanceMatches(TransactionPartyType.USER, payee.getId(), new BigDecimal("32.00"));
+        assertTrue(ownMismatches(ledgerService.reconcile()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should report a wallet whose balance column changed without a ledger entry")
+    void shouldReportWalletChangedWithoutLedgerEntry() {
+        jdbcTemplate.update("UPDATE users SET balance = balance + 1 WHERE id = ?", payee.getId());
+
+        List<BalanceMismatch> mismatches = ownMismatches(ledgerService.reconcile());
+
+        assertEquals(1, mismatches.size());
+        assertEquals(payee.getId(), mismatches.get(0).walletId());
+        assertEquals(0, new BigDecimal("21.00").compareTo(mismatches.get(0).materialized()));
+        assertEquals(0, new BigDecimal("20.00").compareTo(mismatches.get(0).derived()));
+    }
+
+    /** Deletes the wallets' ledger entries written before {@code before}, their snapshots and their transfers. */
+    private void deleteWalletRows(LocalDateTime before) {
+        for (Object[] wallet : List.<Object[]>of(new Object[]{"USER", payer.getId()}, new Object[]{"USER", payee.getId()},
+                new Object[]{"SELLER", store.getId()})) {
+            jdbcTemplate.update("DELETE FROM ledger_entries WHERE wallet_type = ? AND wallet_id = ? AND created_at < ?",
+                wallet[0], wallet[1], before);
+            jdbcTemplate.update("DELETE FROM balance_snapshots WHERE wallet_type = ? AND wallet_id = ?", wallet[0], wallet[1]);
+            jdbcTemplate.update("DELETE FROM financial_transactions WHERE (payer_type = ? AND payer_id = ?) "
+                + "OR (payee_type = ? AND payee_id = ?)", wallet[0], wallet[1], wallet[0], wallet[1]);
+        }
+    }
+
+    private void assertDerivedBalanceMatches(TransactionPartyType walletType, Long walletId, BigDecimal expected) {
+        BigDecimal column = walletType == TransactionPartyType.USER
+            ? userRepository.findById(walletId).orElseThrow().getBalance()
+            : sellerRepository.findById(walletId).orElseThrow().getBalance();
+        assertEquals(0, expected.compareTo(column));
+        assertEquals(0, expected.compareTo(ledgerService.derivedBalance(walletType, walletId)));
+    }
+
+    private List<BalanceMismatch> ownMismatches(ReconciliationReport report) {
+        return report.mismatches().stream()
+            .filter(m -> (m.walletType() == TransactionPartyType.USER && List.of(payer.getId(), payee.getId()).contains(m.walletId()))
+                || (m.walletType() == TransactionPartyType.SELLER && m.walletId().equals(store.getId())))
+            .toList();
+    }
+}
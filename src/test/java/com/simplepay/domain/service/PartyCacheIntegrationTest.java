@@ -0,0 +1,86 @@
+package com.simplepay.domain.service;
+
+import com.simplepay.domain.dto.PartyInfo;
+import com.simplepay.domain.entity.User;
+import com.simplepay.domain.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Party Cache Integration Tests")
+class PartyCacheIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private RestTemplate restTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userService.create("Cached User", "77700000001", "cached@example.com", "password123", BigDecimal.TEN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllById(List.of(user.getId()));
+    }
+
+    @Test
+    @DisplayName("Should serve repeat lookups from the cache and report hits")
+    void shouldServeRepeatLookupsFromCacheAndReportHits() {
+        double hitsBefore = cacheGets("hit");
+
+        PartyInfo first = userService.findPartyInfo(user.getId()).orElseThrow();
+        assertTrue(userService.debit(user.getId(), BigDecimal.ONE));
+        PartyInfo second = userService.findPartyInfo(user.getId()).orElseThrow();
+
+        assertEquals(first, second);
+        assertEquals("cached@example.com", second.email());
+        assertEquals(1.0, cacheGets("hit") - hitsBefore);
+    }
+
+    @Test
+    @DisplayName("Should evict the entry when the party is updated or deleted")
+    void shouldEvictEntryWhenPartyIsUpdatedOrDeleted() {
+        userService.findPartyInfo(user.getId());
+
+        User changed = userService.findById(user.getId()).orElseThrow();
+        changed.setMail("changed@example.com");
+        userService.update(changed);
+        assertEquals("changed@example.com", userService.findPartyInfo(user.getId()).orElseThrow().email());
+
+        userService.delete(user.getId());
+        assertTrue(userService.findPartyInfo(user.getId()).isEmpty());
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+            .tag("cache", UserService.PARTY_CACHE)
+            .tag("result", result)
+            .functionCounter()
+            .count();
+    }
+}
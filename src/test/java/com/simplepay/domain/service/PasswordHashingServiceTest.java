@@ -0,0 +1,74 @@
+package com.simplepay.domain.service;
+
+import com.simplepay.domain.exception.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Password Hashing Service Tests")
+class PasswordHashingServiceTest {
+
+    private final List<PasswordHashingService> services = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(PasswordHashingService::shutdown);
+    }
+
+    private PasswordHashingService service(String algorithm, int bcryptStrength, int threads, int queueCapacity) {
+        PasswordHashingService service = new PasswordHashingService(algorithm, bcryptStrength, 1000, threads, queueCapacity);
+        services.add(service);
+        return service;
+    }
+
+    @Test
+    @DisplayName("Should hash with the configured algorithm and verify")
+    void shouldHashWithConfiguredAlgorithmAndVerify() {
+        PasswordHashingService bcrypt = service("bcrypt", 4, 1, 10);
+        PasswordHashingService pbkdf2 = service("pbkdf2", 4, 1, 10);
+
+        String bcryptHash = bcrypt.hash("password123");
+        String pbkdf2Hash = pbkdf2.hash("password123");
+
+        assertTrue(bcryptHash.startsWith("{bcrypt}$2a$04$"));
+        assertTrue(pbkdf2Hash.startsWith("{pbkdf2}"));
+        assertTrue(bcrypt.matches("password123", bcryptHash));
+        assertFalse(bcrypt.matches("wrongpassword", bcryptHash));
+        assertTrue(bcrypt.matches("password123", pbkdf2Hash));
+        assertFalse(bcrypt.matches("password123", null));
+    }
+
+    @Test
+    @DisplayName("Should flag legacy, lower-cost and other-algorithm hashes for rehash")
+    void shouldFlagOutdatedHashesForRehash() {
+        PasswordHashingService current = service("bcrypt", 5, 1, 10);
+        String legacy = new BCryptPasswordEncoder(4).encode("password123");
+
+        assertTrue(current.matches("password123", legacy));
+        assertTrue(current.needsRehash(legacy));
+        assertTrue(current.needsRehash(service("bcrypt", 4, 1, 10).hash("password123")));
+        assertTrue(current.needsRehash(service("pbkdf2", 4, 1, 10).hash("password123")));
+        assertFalse(current.needsRehash(current.hash("password123")));
+    }
+
+    @Test
+    @DisplayName("Should reject hashing when the queue is full")
+    void shouldRejectHashingWhenQueueIsFull() {
+        PasswordHashingService slow = service("bcrypt", 12, 1, 1);
+        List<CompletableFuture<String>> accepted = new ArrayList<>();
+
+        assertThrows(BusinessException.class, () -> {
+            for (int i = 0; i < 10; i++) {
+                accepted.add(slow.hashAsync("password123"));
+            }
+        });
+        assertTrue(accepted.size() <= 2);
+    }
+}
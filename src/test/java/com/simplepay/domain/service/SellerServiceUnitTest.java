@@ -1,6 +1,8 @@
 package com.simplepay.domain.service;
 
 import com.simplepay.domain.entity.Seller;
+import com.simplepay.domain.exception.BusinessException;
+import com.simplepay.domain.repository.SellerBalanceStripeRepository;
 import com.simplepay.domain.repository.SellerRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,6 +11,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.Optional;
@@ -24,6 +28,18 @@ class SellerServiceUnitTest {
     @Mock
     private SellerRepository sellerRepository;
 
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private SellerBalanceStripeRepository sellerBalanceStripeRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private SellerService sellerService;
 
@@ -32,6 +48,8 @@ class SellerServiceUnitTest {
     @BeforeEach
     void setUp() {
         testSeller = new Seller("John's Store", "12345678000123", "store@example.com", "password123");
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
         testSeller.setId(1L);
     }
 
@@ -142,4 +160,32 @@ class SellerServiceUnitTest {
         verify(sellerRepository).findById(999L);
         verify(sellerRepository, never()).save(any(Seller.class));
     }
+
+    @Test
+    @DisplayName("Should credit a stripe when the seller is striped")
+    void shouldCreditStripeWhenSellerIsStriped() {
+        when(sellerBalanceStripeRepository.add(eq(1L), anyInt(), eq(BigDecimal.TEN), any())).thenReturn(1);
+
+        assertTrue(sellerService.credit(1L, 4, BigDecimal.TEN));
+
+        verify(sellerRepository, never()).credit(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the balance column when the stripe is gone")
+    void shouldFallBackToBalanceColumnWhenStripeIsGone() {
+        when(sellerBalanceStripeRepository.add(eq(1L), anyInt(), eq(BigDecimal.TEN), any())).thenReturn(0);
+        when(sellerRepository.credit(eq(1L), eq(BigDecimal.TEN), any())).thenReturn(1);
+
+        assertTrue(sellerService.credit(1L, 4, BigDecimal.TEN));
+    }
+
+    @Test
+    @DisplayName("Should reject a stripe count outside the allowed range")
+    void shouldRejectStripeCountOutsideAllowedRange() {
+        assertThrows(BusinessException.class, () -> sellerService.configureBalanceStripes(1L, 65));
+        assertThrows(BusinessException.class, () -> sellerService.configureBalanceStripes(1L, -1));
+
+        verifyNoInteractions(sellerBalanceStripeRepository);
+    }
 }
@@ -0,0 +1,146 @@
+package com.simplepay.domain.service;
+
+import com.simplepay.domain.entity.Seller;
+import com.simplepay.domain.entity.User;
+import com.simplepay.domain.enums.TransactionPartyType;
+import com.simplepay.domain.enums.WalletConcurrencyMode;
+import com.simplepay.domain.repository.SellerBalanceStripeRepository;
+import com.simplepay.domain.repository.SellerRepository;
+import com.simplepay.domain.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Many payers credit one seller at once, with the seller's balance on a single
+ * row and spread over a growing number of stripes, and checks that no credit
+ * is lost, before or after compaction.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Seller Stripe Contention Benchmark")
+class SellerStripeContentionBenchmarkTest {
+
+    private static final int THREADS = 8;
+    private static final int TRANSFERS_PER_THREAD = 25;
+    private static final AtomicInteger DOCUMENT_SEQUENCE = new AtomicInteger(20000000);
+
+    @Autowired
+    private FinancialTransactionService transactionService;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private SellerBalanceCompactor compactor;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private SellerBalanceStripeRepository sellerBalanceStripeRepository;
+
+    @MockitoBean
+    private RestTemplate restTemplate;
+
+    private Object previousMode;
+    private final List<User> payers = new ArrayList<>();
+    private Seller seller;
+
+    @BeforeEach
+    void setUp() {
+        when(restTemplate.getForEntity(anyString(), eq(Map.class)))
+            .thenReturn(new ResponseEntity<>(Map.of("message", "Autorizado"), HttpStatus.OK));
+        previousMode = ReflectionTestUtils.getField(transactionService, "concurrencyMode");
+        ReflectionTestUtils.setField(transactionService, "concurrencyMode", WalletConcurrencyMode.ATOMIC);
+        for (int t = 0; t < THREADS; t++) {
+            int document = DOCUMENT_SEQUENCE.incrementAndGet();
+            payers.add(userService.save(new User("Payer " + document, "000" + document,
+                "payer" + document + "@example.com", "password123", new BigDecimal("1000.00"))));
+        }
+        int document = DOCUMENT_SEQUENCE.incrementAndGet();
+        seller = sellerService.save(new Seller("Hot Seller", "000" + document + "000",
+            "hot" + document + "@example.com", "password123", BigDecimal.ZERO));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(transactionService, "concurrencyMode", previousMode);
+        sellerService.delete(seller.getId());
+        userRepository.deleteAllById(payers.stream().map(User::getId).toList());
+        payers.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 4, 16})
+    @DisplayName("Should spread concurrent credits over stripes without losing any")
+    void shouldSpreadConcurrentCreditsOverStripesWithoutLosingAny(int stripes) throws InterruptedException {
+        sellerService.configureBalanceStripes(seller.getId(), stripes);
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (User payer : payers) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    try {
+                        transactionService.transfer(BigDecimal.ONE, payer.getId(), TransactionPartyType.USER,
+                            seller.getId(), TransactionPartyType.SELLER);
+                    } catch (Throwable e) {
+                        unexpected.add(e);
+                    }
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS), "transfers did not finish");
+
+        int total = THREADS * TRANSFERS_PER_THREAD;
+        assertTrue(unexpected.isEmpty(), () -> "unexpected failures: " + unexpected);
+        BigDecimal expected = BigDecimal.valueOf(total);
+        assertEquals(0, expected.compareTo(sellerService.findViewById(seller.getId()).orElseThrow().balance()));
+
+        compactor.compact();
+
+        assertEquals(0, expected.compareTo(sellerRepository.findById(seller.getId()).orElseThrow().getBalance()));
+        assertEquals(stripes, sellerBalanceStripeRepository.findBySellerIdOrderByStripe(seller.getId()).size());
+        assertTrue(sellerBalanceStripeRepository.findBySellerIdOrderByStripe(seller.getId()).stream()
+            .allMatch(stripe -> stripe.getBalance().signum() == 0));
+    }
+}
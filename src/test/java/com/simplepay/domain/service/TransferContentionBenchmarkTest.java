@@ -0,0 +1,137 @@
+package com.simplepay.domain.service;
+
+import com.simplepay.domain.entity.User;
+import com.simplepay.domain.enums.TransactionPartyType;
+import com.simplepay.domain.enums.WalletConcurrencyMode;
+import com.simplepay.domain.exception.BusinessException;
+import com.simplepay.domain.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Hammers two wallets with transfers in both directions at once, the classic
+ * lock-ordering deadlock shape, and checks that every transfer finishes and
+ * that no update is lost in either concurrency mode.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Transfer Contention Benchmark")
+class TransferContentionBenchmarkTest {
+
+    private static final int THREADS = 8;
+    private static final int TRANSFERS_PER_THREAD = 25;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000.00");
+    private static final AtomicInteger DOCUMENT_SEQUENCE = new AtomicInteger(10000000);
+
+    @Autowired
+    private FinancialTransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @MockitoBean
+    private RestTemplate restTemplate;
+
+    private Object previousMode;
+    private User walletA;
+    private User walletB;
+
+    @BeforeEach
+    void setUp() {
+        when(restTemplate.getForEntity(anyString(), eq(Map.class)))
+            .thenReturn(new ResponseEntity<>(Map.of("message", "Autorizado"), HttpStatus.OK));
+        previousMode = ReflectionTestUtils.getField(transactionService, "concurrencyMode");
+        walletA = userService.save(newUser());
+        walletB = userService.save(newUser());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(transactionService, "concurrencyMode", previousMode);
+        userRepository.deleteAllById(List.of(walletA.getId(), walletB.getId()));
+    }
+
+    @ParameterizedTest
+    @EnumSource(WalletConcurrencyMode.class)
+    @DisplayName("Should complete crossing transfers without deadlocks or lost updates")
+    void shouldCompleteCrossingTransfersWithoutDeadlocksOrLostUpdates(WalletConcurrencyMode mode) throws InterruptedException {
+        ReflectionTestUtils.setField(transactionService, "concurrencyMode", mode);
+        AtomicInteger aToB = new AtomicInteger();
+        AtomicInteger bToA = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (int t = 0; t < THREADS; t++) {
+            boolean forward = t % 2 == 0;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    User payer = forward ? walletA : walletB;
+                    User payee = forward ? walletB : walletA;
+                    try {
+                        transactionService.transfer(BigDecimal.ONE, payer.getId(), TransactionPartyType.USER,
+                            payee.getId(), TransactionPartyType.USER);
+                        (forward ? aToB : bToA).incrementAndGet();
+                    } catch (BusinessException e) {
+                        rejected.incrementAndGet();
+                    } catch (Throwable e) {
+                        unexpected.add(e);
+                    }
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS), "transfers did not finish, possible deadlock");
+
+        int total = THREADS * TRANSFERS_PER_THREAD;
+        assertTrue(unexpected.isEmpty(), () -> "unexpected failures: " + unexpected);
+        assertEquals(total, aToB.get() + bToA.get() + rejected.get());
+        BigDecimal net = BigDecimal.valueOf(aToB.get() - bToA.get());
+        assertEquals(0, INITIAL_BALANCE.subtract(net).compareTo(balanceOf(walletA)));
+        assertEquals(0, INITIAL_BALANCE.add(net).compareTo(balanceOf(walletB)));
+    }
+
+    private BigDecimal balanceOf(User user) {
+        return userRepository.findById(user.getId()).orElseThrow().getBalance();
+    }
+
+    private User newUser() {
+        int document = DOCUMENT_SEQUENCE.incrementAndGet();
+        return new User("Wallet " + document, "000" + document, "wallet" + document + "@example.com",
+            "password123", INITIAL_BALANCE);
+    }
+}
@@ -0,0 +1,135 @@
+package com.simplepay.domain.service;
+
+import com.simplepay.domain.entity.User;
+import com.simplepay.domain.enums.TransactionPartyType;
+import com.simplepay.domain.exception.BusinessException;
+import com.simplepay.domain.repository.OutboxMessageRepository;
+import com.simplepay.domain.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@DisplayName("Transfer Metrics Tests")
+class TransferMetricsIntegrationTest {
+
+    @Autowired
+    private FinancialTransactionService transactionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @MockitoBean
+    private RestTemplate restTemplate;
+
+    private User payer;
+    private User payee;
+
+    @BeforeEach
+    void setUp() {
+        when(restTemplate.getForEntity(anyString(), eq(Map.class)))
+            .thenReturn(new ResponseEntity<>(Map.of("message", "Autorizado"), HttpStatus.OK));
+        payer = userService.save(new User("Metrics Payer", "88877766655", "metrics.payer@example.com", "password123", new BigDecimal("50.00")));
+        payee = userService.save(new User("Metrics Payee", "88877766644", "metrics.payee@example.com", "password123", BigDecimal.ZERO));
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxMessageRepository.deleteAll();
+        userRepository.deleteAllById(List.of(payer.getId(), payee.getId()));
+    }
+
+    @Test
+    @DisplayName("Should time every stage and count outcomes by status and reason")
+    void shouldTimeStagesAndCountOutcomes() {
+        double succeeded = outcomes("SUCCESS", "NONE");
+        double insufficient = outcomes("FAILED", "INSUFFICIENT_BALANCE");
+        long settlements = stageCount("settlement");
+
+        transactionService.transfer(new BigDecimal("10.00"), payer.getId(), TransactionPartyType.USER,
+            payee.getId(), TransactionPartyType.USER);
+        assertThrows(BusinessException.class, () -> transactionService.transfer(new BigDecimal("100.00"),
+            payer.getId(), TransactionPartyType.USER, payee.getId(), TransactionPartyType.USER));
+
+        assertEquals(succeeded + 1, outcomes("SUCCESS", "NONE"));
+        assertEquals(insufficient + 1, outcomes("FAILED", "INSUFFICIENT_BALANCE"));
+        assertEquals(settlements + 1, stageCount("settlement"));
+        for (String stage : List.of("validation", "authorization", "balance_update", "history", "notification")) {
+            assertTrue(stageCount(stage) > 0, stage);
+        }
+        assertEquals(0, meterRegistry.get("simplepay.transfer.in.flight").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should export the transfer meters with histograms to Prometheus")
+    void shouldExportTransferMetersToPrometheus() throws Exception {
+        transactionService.transfer(new BigDecimal("1.00"), payer.getId(), TransactionPartyType.USER,
+            payee.getId(), TransactionPartyType.USER);
+
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("simplepay_transfer_stage_seconds_bucket{")))
+            .andExpect(content().string(containsString("simplepay_transfer_outcomes_total{mode=\"sync\",reason=\"NONE\",status=\"SUCCESS\"}")))
+            .andExpect(content().string(containsString("simplepay_transfer_in_flight ")));
+    }
+
+    @Test
+    @DisplayName("Should map business messages to stable reason codes")
+    void shouldMapBusinessMessagesToStableReasonCodes() {
+        assertEquals("NOT_AUTHORIZED", TransferMetrics.reasonCode("Transação não autorizada pelo serviço externo"));
+        assertEquals("INVALID_BATCH", TransferMetrics.reasonCode("O lote excede o limite de 1000 transferências"));
+        assertEquals("OTHER", TransferMetrics.reasonCode("Algo inesperado"));
+        assertEquals("OTHER", TransferMetrics.reasonCode(null));
+    }
+
+    private double outcomes(String status, String reason) {
+        Counter counter = meterRegistry.find("simplepay.transfer.outcomes")
+            .tags("mode", "sync", "status", status, "reason", reason).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private long stageCount(String stage) {
+        Timer timer = meterRegistry.find("simplepay.transfer.stage").tag("stage", stage).timer();
+        return timer != null ? timer.count() : 0;
+    }
+}
@@ -6,9 +6,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Arrays;
 import java.util.List;
@@ -25,6 +28,15 @@ class UserServiceUnitTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private UserService userService;
 
@@ -34,6 +46,8 @@ class UserServiceUnitTest {
     void setUp() {
         testUser = new User("John Doe", "12345678901", "john@example.com", "password123");
         testUser.setId(1L);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     @Test
@@ -170,6 +184,22 @@ class UserServiceUnitTest {
         verify(userRepository).save(newUser);
     }
 
+    @Test
+    @DisplayName("Should hash the password before opening the write transaction")
+    void shouldHashPasswordBeforeOpeningWriteTransaction() {
+        User newUser = new User("Jane Doe", "98765432100", "jane@example.com", "password456");
+        when(passwordHashingService.hash("password456")).thenReturn("hashed");
+        when(userRepository.save(newUser)).thenReturn(newUser);
+
+        userService.save(newUser);
+
+        InOrder inOrder = inOrder(passwordHashingService, transactionTemplate, userRepository);
+        inOrder.verify(passwordHashingService).hash("password456");
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verify(userRepository).save(newUser);
+        assertEquals("hashed", newUser.getPassword());
+    }
+
     @Test
     @DisplayName("Should throw exception when saving user with existing document or email")
     void shouldThrowExceptionWhenSavingUserWithExistingDocumentOrEmail() {
@@ -304,4 +334,32 @@ class UserServiceUnitTest {
         when(userRepository.existsByDocumentOrMail(anyString(), anyString())).thenReturn(true);
         assertThrows(IllegalArgumentException.class, () -> userService.create("User", "123", "mail", "pass"));
     }
+
+    @Test
+    @DisplayName("Should rehash password on successful verify when hash is outdated")
+    void shouldRehashPasswordOnVerifyWhenOutdated() {
+        testUser.applyPasswordHash("old-hash");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(passwordHashingService.matches("password123", "old-hash")).thenReturn(true);
+        when(passwordHashingService.needsRehash("old-hash")).thenReturn(true);
+        when(passwordHashingService.hash("password123")).thenReturn("new-hash");
+
+        assertTrue(userService.verifyPassword(1L, "password123"));
+
+        assertEquals("new-hash", testUser.getPassword());
+        verify(userRepository).save(testUser);
+    }
+
+    @Test
+    @DisplayName("Should not rehash password when verify fails")
+    void shouldNotRehashPasswordWhenVerifyFails() {
+        testUser.applyPasswordHash("old-hash");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(passwordHashingService.matches("wrongpassword", "old-hash")).thenReturn(false);
+
+        assertFalse(userService.verifyPassword(1L, "wrongpassword"));
+
+        verify(passwordHashingService, never()).hash(anyString());
+        verify(userRepository, never()).save(any());
+    }
 }
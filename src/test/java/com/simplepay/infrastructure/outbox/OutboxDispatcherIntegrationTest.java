@@ -0,0 +1,174 @@
+package com.simplepay.infrastructure.outbox;
+
+import com.simplepay.domain.entity.OutboxMessage;
+import com.simplepay.domain.enums.OutboxStatus;
+import com.simplepay.domain.repository.OutboxMessageRepository;
+import com.simplepay.domain.service.OutboxService;
+import com.simplepay.infrastructure.stub.NotifierStubController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "stub"})
+@DisplayName("Outbox Dispatcher Tests")
+class OutboxDispatcherIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OutboxDispatcher dispatcher;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private NotifierStubController notifierStub;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(dispatcher, "notifyUrl", "http://localhost:" + port + "/stub/notify");
+        notifierStub.reset();
+        outboxMessageRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(notifierStub, "latency", Duration.ZERO);
+        ReflectionTestUtils.setField(dispatcher, "deliveryDeadline", Duration.ofSeconds(20));
+        ReflectionTestUtils.setField(dispatcher, "deliveryConcurrency", 16);
+        ReflectionTestUtils.setField(dispatcher, "purgeBatchSize", 1000);
+        outboxMessageRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should deliver pending notifications and mark them delivered")
+    void shouldDeliverPendingNotificationsAndMarkThemDelivered() {
+        OutboxMessage message = transactionTemplate.execute(tx ->
+            outboxService.enqueuePayeeNotification(1L, "payee@example.com", "Você recebeu R$ 10"));
+
+        int delivered = dispatcher.dispatchPending();
+
+        assertEquals(1, delivered);
+        OutboxMessage stored = outboxMessageRepository.findById(message.getId()).orElseThrow();
+        assertEquals(OutboxStatus.DELIVERED, stored.getStatus());
+        assertEquals(1, stored.getAttempts());
+        assertNotNull(stored.getDeliveredAt());
+        assertEquals(1, notifierStub.received().size());
+        assertEquals("payee@example.com", notifierStub.received().get(0).get("to"));
+    }
+
+    @Test
+    @DisplayName("Should back off and keep message pending when delivery fails")
+    void shouldBackOffAndKeepMessagePendingWhenDeliveryFails() {
+        ReflectionTestUtils.setField(dispatcher, "notifyUrl", "http://localhost:" + port + "/stub/missing");
+        OutboxMessage message = transactionTemplate.execute(tx ->
+            outboxService.enqueuePayeeNotification(1L, "payee@example.com", "Você recebeu R$ 10"));
+
+        int delivered = dispatcher.dispatchPending();
+
+        assertEquals(0, delivered);
+        OutboxMessage stored = outboxMessageRepository.findById(message.getId()).orElseThrow();
+        assertEquals(OutboxStatus.PENDING, stored.getStatus());
+        assertEquals(1, stored.getAttempts());
+        assertNotNull(stored.getLastError());
+        assertTrue(stored.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertEquals(0, dispatcher.dispatchPending(), "message is not due again until its backoff elapses");
+    }
+
+    @Test
+    @DisplayName("Should mark message failed once attempts are exhausted")
+    void shouldMarkMessageFailedOnceAttemptsAreExhausted() {
+        ReflectionTestUtils.setField(dispatcher, "notifyUrl", "http://localhost:" + port + "/stub/missing");
+        OutboxMessage message = transactionTemplate.execute(tx -> {
+            OutboxMessage enqueued = outboxService.enqueuePayeeNotification(1L, "payee@example.com", "Você recebeu R$ 10");
+            enqueued.setAttempts(9);
+            return enqueued;
+        });
+
+        dispatcher.dispatchPending();
+
+        assertEquals(OutboxStatus.FAILED, outboxMessageRepository.findById(message.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should stop at the delivery deadline, failing in-flight messages and releasing unstarted ones")
+    void shouldStopAtDeliveryDeadline() {
+        ReflectionTestUtils.setField(notifierStub, "latency", Duration.ofMillis(1000));
+        ReflectionTestUtils.setField(dispatcher, "deliveryDeadline", Duration.ofMillis(1500));
+        ReflectionTestUtils.setField(dispatcher, "deliveryConcurrency", 1);
+        List<OutboxMessage> messages = transactionTemplate.execute(tx -> List.of(
+            outboxService.enqueuePayeeNotification(1L, "first@example.com", "Você recebeu R$ 10"),
+            outboxService.enqueuePayeeNotification(2L, "second@example.com", "Você recebeu R$ 10"),
+            outboxService.enqueuePayeeNotification(3L, "third@example.com", "Você recebeu R$ 10")));
+
+        long startedAt = System.nanoTime();
+        int delivered = dispatcher.dispatchPending();
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - startedAt).toMillis() < 2500);
+        assertEquals(1, delivered);
+        List<OutboxMessage> stored = messages.stream()
+            .map(message -> outboxMessageRepository.findById(message.getId()).orElseThrow())
+            .toList();
+        assertEquals(OutboxStatus.DELIVERED, stored.get(0).getStatus());
+        assertEquals(OutboxStatus.PENDING, stored.get(1).getStatus());
+        assertEquals(1, stored.get(1).getAttempts());
+        assertTrue(stored.get(1).getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertEquals(OutboxStatus.PENDING, stored.get(2).getStatus());
+        assertEquals(0, stored.get(2).getAttempts(), "a message never started does not spend an attempt");
+        assertFalse(stored.get(2).getNextAttemptAt().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("Should purge delivered messages past the retention window in batches")
+    void shouldPurgeDeliveredMessagesPastRetentionInBatches() {
+        ReflectionTestUtils.setField(dispatcher, "purgeBatchSize", 2);
+        LocalDateTime expired = LocalDateTime.now().minusDays(8);
+        List<OutboxMessage> messages = transactionTemplate.execute(tx -> {
+            List<OutboxMessage> enqueued = List.of(
+                outboxService.enqueuePayeeNotification(1L, "first@example.com", "Você recebeu R$ 10"),
+                outboxService.enqueuePayeeNotification(2L, "second@example.com", "Você recebeu R$ 10"),
+                outboxService.enqueuePayeeNotification(3L, "third@example.com", "Você recebeu R$ 10"),
+                outboxService.enqueuePayeeNotification(4L, "recent@example.com", "Você recebeu R$ 10"),
+                outboxService.enqueuePayeeNotification(5L, "pending@example.com", "Você recebeu R$ 10"));
+            enqueued.subList(0, 4).forEach(OutboxMessage::markDelivered);
+            enqueued.subList(0, 3).forEach(message -> message.setDeliveredAt(expired));
+            return enqueued;
+        });
+
+        assertEquals(3, dispatcher.purgeDelivered());
+
+        assertFalse(outboxMessageRepository.existsById(messages.get(0).getId()));
+        assertFalse(outboxMessageRepository.existsById(messages.get(2).getId()));
+        assertEquals(OutboxStatus.DELIVERED, outboxMessageRepository.findById(messages.get(3).getId()).orElseThrow().getStatus());
+        assertEquals(OutboxStatus.PENDING, outboxMessageRepository.findById(messages.get(4).getId()).orElseThrow().getStatus());
+        assertEquals(0, dispatcher.purgeDelivered());
+    }
+
+    @Test
+    @DisplayName("Should require an existing transaction to enqueue")
+    void shouldRequireExistingTransactionToEnqueue() {
+        assertThrows(Exception.class, () ->
+            outboxService.enqueuePayeeNotification(1L, "payee@example.com", "Você recebeu R$ 10"));
+    }
+}
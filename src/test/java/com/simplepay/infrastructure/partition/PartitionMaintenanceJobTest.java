@@ -0,0 +1,83 @@
+package com.simplepay.infrastructure.partition;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Partition Maintenance Job Tests")
+class PartitionMaintenanceJobTest {
+
+    @Autowired
+    private PartitionMaintenanceJob job;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private RestTemplate restTemplate;
+
+    @TempDir
+    private Path archiveDir;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE TABLE \"archive_probe\" (id BIGINT, note VARCHAR(50))");
+        jdbcTemplate.update("INSERT INTO \"archive_probe\" VALUES (1, 'plain'), (2, 'with, comma'), (3, NULL)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE \"archive_probe\"");
+    }
+
+    @Test
+    @DisplayName("Should archive a table to a gzipped CSV file with a header")
+    void shouldArchiveTableToGzippedCsv() throws IOException {
+        Path file = job.archive("archive_probe", archiveDir);
+
+        assertEquals(archiveDir.resolve("archive_probe.csv.gz"), file);
+        assertFalse(Files.exists(archiveDir.resolve("archive_probe.csv.gz.partial")));
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            assertEquals("id,note\n1,plain\n2,\"with, comma\"\n3,\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Should read the upper bound of a range partition")
+    void shouldReadUpperBoundOfRangePartition() {
+        assertEquals(LocalDateTime.of(2025, 1, 1, 0, 0),
+            PartitionMaintenanceJob.upperBound("FOR VALUES FROM (MINVALUE) TO ('2025-01-01 00:00:00')"));
+        assertEquals(LocalDateTime.of(2025, 3, 1, 0, 0),
+            PartitionMaintenanceJob.upperBound("FOR VALUES FROM ('2025-02-01 00:00:00') TO ('2025-03-01 00:00:00')"));
+        assertNull(PartitionMaintenanceJob.upperBound("FOR VALUES FROM ('2025-02-01 00:00:00') TO (MAXVALUE)"));
+        assertNull(PartitionMaintenanceJob.upperBound("DEFAULT"));
+    }
+
+    @Test
+    @DisplayName("Should name partitions after the parent table and month")
+    void shouldNamePartitionsAfterParentAndMonth() {
+        assertEquals("financial_transactions_p202503",
+            PartitionMaintenanceJob.partitionName("financial_transactions", YearMonth.of(2025, 3)));
+    }
+}
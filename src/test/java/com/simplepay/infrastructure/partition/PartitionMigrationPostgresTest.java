@@ -0,0 +1,180 @@
+package com.simplepay.infrastructure.partition;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Runs the Flyway migrations against a real PostgreSQL (embedded binaries, no
+ * Docker needed) holding a pre-partitioning schema with rows in past, current
+ * and future months, then exercises PartitionMaintenanceJob on the result.
+ */
+@DisplayName("Partition Migration PostgreSQL Tests")
+class PartitionMigrationPostgresTest {
+
+    private static final AtomicInteger DATABASE_SEQUENCE = new AtomicInteger();
+    private static EmbeddedPostgres postgres;
+
+    private final YearMonth current = YearMonth.now();
+    private JdbcTemplate jdbcTemplate;
+    private PartitionMaintenanceJob job;
+
+    @TempDir
+    private Path archiveDir;
+
+    @BeforeAll
+    static void startPostgres() throws IOException {
+        assumeFalse("root".equals(System.getProperty("user.name")), "PostgreSQL refuses to run as root");
+        postgres = EmbeddedPostgres.start();
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        String database = "partitioning_" + DATABASE_SEQUENCE.incrementAndGet();
+        new JdbcTemplate(postgres.getPostgresDatabase()).execute("CREATE DATABASE " + database);
+        DataSource dataSource = postgres.getDatabase("postgres", database);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        job = new PartitionMaintenanceJob(jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+
+        // The schema Hibernate created before the migrations partitioned it.
+        jdbcTemplate.execute("CREATE TABLE financial_transactions (id BIGINT NOT NULL PRIMARY KEY, "
+            + "value NUMERIC(19, 2) NOT NULL, payer_id BIGINT NOT NULL, payer_type VARCHAR(20) NOT NULL, "
+            + "payee_id BIGINT NOT NULL, payee_type VARCHAR(20) NOT NULL, status VARCHAR(20) NOT NULL, "
+            + "created_at TIMESTAMP(6) NOT NULL, updated_at TIMESTAMP(6))");
+        jdbcTemplate.execute("CREATE TABLE financial_transaction_history (id BIGINT NOT NULL PRIMARY KEY, "
+            + "transaction_id BIGINT NOT NULL REFERENCES financial_transactions, old_status VARCHAR(20), "
+            + "new_status VARCHAR(20) NOT NULL, changed_at TIMESTAMP(6) NOT NULL, note VARCHAR(255))");
+        List<LocalDateTime> createdAt = List.of(
+            current.minusMonths(14).atDay(3).atStartOfDay(),
+            current.minusMonths(1).atDay(20).atStartOfDay(),
+            LocalDateTime.now(),
+            current.plusMonths(6).atDay(1).atStartOfDay());
+        for (int i = 0; i < createdAt.size(); i++) {
+            jdbcTemplate.update("INSERT INTO financial_transactions VALUES (?, 10.00, 1, 'USER', 2, 'USER', 'SUCCESS', ?, ?)",
+                i + 1, createdAt.get(i), createdAt.get(i));
+            jdbcTemplate.update("INSERT INTO financial_transaction_history VALUES (?, ?, NULL, 'SUCCESS', ?, NULL)",
+                i + 1, i + 1, createdAt.get(i));
+        }
+
+        Flyway.configure()
+            .dataSource(dataSource)
+            .baselineOnMigrate(true)
+            .baselineVersion("0")
+            .load()
+            .migrate();
+    }
+
+    @Test
+    @DisplayName("Should partition live tables by month, moving current and future rows out of the legacy partition")
+    void shouldPartitionLiveTablesByMonth() {
+        for (String parent : List.of("financial_transactions", "financial_transaction_history")) {
+            assertTrue(partitions(parent).containsAll(List.of(parent + "_legacy",
+                name(parent, current), name(parent, current.plusMonths(3)), name(parent, current.plusMonths(6)))));
+            assertEquals(4, count(parent));
+            assertEquals(2, count("ONLY " + parent + "_legacy"));
+            assertEquals(1, count(name(parent, current)));
+            assertEquals(1, count(name(parent, current.plusMonths(6))));
+        }
+        jdbcTemplate.update("INSERT INTO financial_transactions VALUES (5, 1.00, 1, 'USER', 2, 'USER', 'PENDING', now(), NULL)");
+        assertEquals(1, count("financial_transactions WHERE id = 5"));
+    }
+
+    @Test
+    @DisplayName("Should create the months ahead and archive, detach and drop partitions past retention")
+    void shouldCreateMonthsAheadAndArchivePartitionsPastRetention() throws IOException {
+        configure(PartitionMaintenanceJob.RetentionAction.ARCHIVE, archiveDir);
+
+        job.maintain(current.plusMonths(13).atDay(1));
+
+        String parent = "financial_transactions";
+        List<String> partitions = partitions(parent);
+        assertFalse(partitions.contains(parent + "_legacy"));
+        assertFalse(partitions.contains(name(parent, current)));
+        assertTrue(partitions.contains(name(parent, current.plusMonths(16))));
+        assertNull(jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class, parent + "_legacy"));
+        assertEquals(1, count(parent));
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(archiveDir.resolve(parent + "_legacy.csv.gz")))) {
+            assertEquals(3, new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep a partition attached when archiving fails and retire it on a later run")
+    void shouldKeepPartitionAttachedWhenArchivingFails() throws IOException {
+        Path notADirectory = Files.createFile(archiveDir.resolve("blocked"));
+        configure(PartitionMaintenanceJob.RetentionAction.ARCHIVE, notADirectory);
+        LocalDate today = current.plusMonths(13).atDay(1);
+
+        job.maintain(today);
+
+        assertTrue(partitions("financial_transactions").contains("financial_transactions_legacy"));
+        assertEquals(4, count("financial_transactions"));
+
+        configure(PartitionMaintenanceJob.RetentionAction.ARCHIVE, archiveDir);
+        job.maintain(today);
+
+        assertFalse(partitions("financial_transactions").contains("financial_transactions_legacy"));
+        assertTrue(Files.exists(archiveDir.resolve("financial_transactions_legacy.csv.gz")));
+    }
+
+    @Test
+    @DisplayName("Should detach partitions past retention and keep them as standalone tables")
+    void shouldDetachPartitionsPastRetention() {
+        configure(PartitionMaintenanceJob.RetentionAction.DETACH, archiveDir);
+
+        job.maintain(current.plusMonths(13).atDay(1));
+
+        assertFalse(partitions("financial_transaction_history").contains("financial_transaction_history_legacy"));
+        assertEquals(2, count("financial_transaction_history_legacy"));
+    }
+
+    private void configure(PartitionMaintenanceJob.RetentionAction action, Path dir) {
+        ReflectionTestUtils.setField(job, "retentionAction", action);
+        ReflectionTestUtils.setField(job, "archiveDir", dir.toString());
+    }
+
+    private List<String> partitions(String parent) {
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+            + "WHERE i.inhparent = to_regclass(?)", String.class, parent);
+    }
+
+    private long count(String from) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + from, Long.class);
+    }
+
+    private static String name(String parent, YearMonth month) {
+        return PartitionMaintenanceJob.partitionName(parent, month);
+    }
+}
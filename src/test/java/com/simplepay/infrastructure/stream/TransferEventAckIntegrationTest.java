@@ -0,0 +1,142 @@
+package com.simplepay.infrastructure.stream;
+
+import com.simplepay.domain.entity.OutboxMessage;
+import com.simplepay.domain.enums.OutboxMessageType;
+import com.simplepay.domain.enums.OutboxStatus;
+import com.simplepay.domain.repository.OutboxMessageRepository;
+import com.simplepay.domain.service.OutboxService;
+import com.simplepay.infrastructure.outbox.OutboxDispatcher;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.integration.kafka.support.KafkaIntegrationHeaders;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Relays transfer events to a real (embedded) Kafka broker, whose topic only
+ * accepts records up to 1 KB: a larger record is accepted by the producer and
+ * rejected by the broker, which must leave the outbox row pending.
+ */
+@SpringBootTest(properties = {
+    "spring.cloud.stream.default-binder=kafka",
+    "spring.cloud.stream.kafka.binder.brokers=${spring.embedded.kafka.brokers}"
+})
+@EmbeddedKafka(kraft = true)
+@ActiveProfiles("test")
+@DisplayName("Transfer Event Acknowledgement Tests")
+class TransferEventAckIntegrationTest {
+
+    private static final String DESTINATION = "simplepay.transfer-completed";
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Autowired
+    private OutboxDispatcher dispatcher;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        if (!broker.getTopics().contains(DESTINATION)) {
+            broker.addTopics(new NewTopic(DESTINATION, 1, (short) 1).configs(Map.of("max.message.bytes", "1024")));
+        }
+        outboxMessageRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxMessageRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should mark a transfer event delivered once the broker acknowledges it")
+    void shouldMarkEventDeliveredOnceBrokerAcknowledgesIt() {
+        OutboxMessage message = enqueue("small");
+
+        assertEquals(1, dispatcher.dispatchPending());
+
+        assertEquals(OutboxStatus.DELIVERED, outboxMessageRepository.findById(message.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should keep a transfer event pending when the broker rejects it after the producer accepted it")
+    void shouldKeepEventPendingWhenBrokerRejectsIt() {
+        // Random text does not compress, so the record stays over the topic limit.
+        OutboxMessage rejected = enqueue(IntStream.range(0, 64).mapToObj(i -> UUID.randomUUID().toString())
+            .collect(Collectors.joining()));
+
+        assertEquals(0, dispatcher.dispatchPending());
+
+        OutboxMessage stored = outboxMessageRepository.findById(rejected.getId()).orElseThrow();
+        assertEquals(OutboxStatus.PENDING, stored.getStatus());
+        assertEquals(1, stored.getAttempts());
+        assertTrue(stored.getLastError().contains("larger than the max message size"), stored.getLastError());
+    }
+
+    @Test
+    @DisplayName("Should send a batch of transfer events together and mark each one delivered from its ack")
+    void shouldSendBatchTogetherAndMarkEachDeliveredFromItsAck() {
+        List<OutboxMessage> batch = List.of(enqueue("first"), enqueue("second"), enqueue("third"));
+
+        assertEquals(3, dispatcher.dispatchPending());
+
+        for (OutboxMessage message : batch) {
+            assertEquals(OutboxStatus.DELIVERED, outboxMessageRepository.findById(message.getId()).orElseThrow().getStatus());
+        }
+        Map<String, Object> props = KafkaTestUtils.consumerProps("ack-test-" + UUID.randomUUID(), "false", broker);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        try (Consumer<byte[], byte[]> consumer = new DefaultKafkaConsumerFactory<>(props,
+                new ByteArrayDeserializer(), new ByteArrayDeserializer()).createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumer, DESTINATION);
+            List<ConsumerRecord<byte[], byte[]>> records = new ArrayList<>();
+            KafkaTestUtils.getRecords(consumer).forEach(records::add);
+            List<String> payloads = records.stream().map(record -> new String(record.value(), StandardCharsets.UTF_8)).toList();
+            for (String note : List.of("first", "second", "third")) {
+                assertTrue(payloads.stream().anyMatch(payload -> payload.contains(note)), () -> note + " not in " + payloads);
+            }
+            assertTrue(records.stream().allMatch(record ->
+                record.headers().lastHeader(KafkaIntegrationHeaders.FUTURE_TOKEN) == null));
+        }
+    }
+
+    private OutboxMessage enqueue(String note) {
+        return transactionTemplate.execute(tx ->
+            outboxService.enqueue(OutboxMessageType.TRANSFER_COMPLETED, 1L, Map.of("note", note)));
+    }
+}
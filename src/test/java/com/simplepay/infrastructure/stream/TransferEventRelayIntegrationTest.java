@@ -0,0 +1,119 @@
+package com.simplepay.infrastructure.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simplepay.domain.entity.Seller;
+import com.simplepay.domain.entity.User;
+import com.simplepay.domain.enums.TransactionPartyType;
+import com.simplepay.domain.event.TransferCompletedEvent;
+import com.simplepay.domain.repository.OutboxMessageRepository;
+import com.simplepay.domain.repository.SellerRepository;
+import com.simplepay.domain.repository.UserRepository;
+import com.simplepay.domain.service.FinancialTransactionService;
+import com.simplepay.domain.service.SellerService;
+import com.simplepay.domain.service.UserService;
+import com.simplepay.infrastructure.outbox.OutboxDispatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.stream.binder.test.OutputDestination;
+import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = "spring.cloud.stream.default-binder=integration")
+@Import(TestChannelBinderConfiguration.class)
+@ActiveProfiles("test")
+@DisplayName("Transfer Event Relay Tests")
+class TransferEventRelayIntegrationTest {
+
+    private static final String DESTINATION = "simplepay.transfer-completed";
+
+    @Autowired
+    private FinancialTransactionService transactionService;
+
+    @Autowired
+    private OutboxDispatcher dispatcher;
+
+    @Autowired
+    private OutputDestination outputDestination;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @MockitoBean
+    private RestTemplate restTemplate;
+
+    private User payer;
+    private Seller payee;
+
+    @BeforeEach
+    void setUp() {
+        outboxMessageRepository.deleteAll();
+        outputDestination.clear();
+        when(restTemplate.getForEntity(anyString(), eq(Map.class)))
+            .thenReturn(new ResponseEntity<>(Map.of("message", "Autorizado"), HttpStatus.OK));
+        payer = userService.save(new User("Event Payer", "55544433322", "event.payer@example.com", "password123", new BigDecimal("100.00")));
+        payee = sellerService.save(new Seller("Event Store", "55544433322100", "event.store@example.com", "password123"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxMessageRepository.deleteAll();
+        userRepository.deleteById(payer.getId());
+        sellerRepository.deleteById(payee.getId());
+    }
+
+    @Test
+    @DisplayName("Should publish TransferCompleted after the transfer commits and the outbox is relayed")
+    void shouldPublishTransferCompletedAfterCommitAndRelay() throws Exception {
+        transactionService.transfer(new BigDecimal("25.00"), payer.getId(), TransactionPartyType.USER,
+            payee.getId(), TransactionPartyType.SELLER);
+
+        assertNull(outputDestination.receive(100, DESTINATION), "nothing is published before the relay runs");
+
+        assertEquals(2, dispatcher.dispatchPending());
+
+        Message<byte[]> message = outputDestination.receive(1000, DESTINATION);
+        assertNotNull(message);
+        TransferCompletedEvent event = objectMapper.readValue(message.getPayload(), TransferCompletedEvent.class);
+        assertEquals(payer.getId(), event.payer());
+        assertEquals(TransactionPartyType.SELLER, event.payeeType());
+        assertEquals(payee.getId(), event.payee());
+        assertEquals(0, new BigDecimal("25.00").compareTo(event.value()));
+        assertNotNull(event.transactionId());
+        assertEquals(String.valueOf(event.transactionId()),
+            new String((byte[]) message.getHeaders().get(KafkaHeaders.KEY), StandardCharsets.UTF_8));
+    }
+}
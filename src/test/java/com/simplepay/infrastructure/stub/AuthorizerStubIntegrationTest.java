@@ -0,0 +1,119 @@
+package com.simplepay.infrastructure.stub;
+
+import com.simplepay.domain.entity.Seller;
+import com.simplepay.domain.entity.User;
+import com.simplepay.domain.enums.TransactionPartyType;
+import com.simplepay.domain.enums.TransactionStatus;
+import com.simplepay.domain.exception.BusinessException;
+import com.simplepay.domain.repository.OutboxMessageRepository;
+import com.simplepay.domain.repository.SellerRepository;
+import com.simplepay.domain.repository.UserRepository;
+import com.simplepay.domain.service.ExternalAuthorizer;
+import com.simplepay.domain.service.FinancialTransactionService;
+import com.simplepay.domain.service.SellerService;
+import com.simplepay.domain.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "stub"})
+@DisplayName("Authorizer Stub Tests")
+class AuthorizerStubIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private FinancialTransactionService transactionService;
+
+    @Autowired
+    private ExternalAuthorizer externalAuthorizer;
+
+    @Autowired
+    private AuthorizerStubController authorizerStub;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    private Object previousAuthorizeUrl;
+    private User payer;
+    private Seller payee;
+
+    @BeforeEach
+    void setUp() {
+        previousAuthorizeUrl = ReflectionTestUtils.getField(externalAuthorizer, "authorizeUrl");
+        ReflectionTestUtils.setField(externalAuthorizer, "authorizeUrl", "http://localhost:" + port + "/stub/authorize");
+        payer = userService.save(new User("Stub Payer", "66655544433", "stub.payer@example.com", "password123", new BigDecimal("100.00")));
+        payee = sellerService.save(new Seller("Stub Store", "66655544433100", "stub.store@example.com", "password123"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(externalAuthorizer, "authorizeUrl", previousAuthorizeUrl);
+        ReflectionTestUtils.setField(authorizerStub, "latency", Duration.ZERO);
+        ReflectionTestUtils.setField(authorizerStub, "denialRate", 0.0);
+        ReflectionTestUtils.setField(authorizerStub, "failureRate", 0.0);
+        outboxMessageRepository.deleteAll();
+        userRepository.deleteById(payer.getId());
+        sellerRepository.deleteById(payee.getId());
+    }
+
+    @Test
+    @DisplayName("Should authorize transfers through the stub after the configured latency")
+    void shouldAuthorizeTransfersThroughStubAfterLatency() {
+        ReflectionTestUtils.setField(authorizerStub, "latency", Duration.ofMillis(200));
+
+        long startedAt = System.nanoTime();
+        TransactionStatus status = transactionService.transfer(new BigDecimal("10.00"), payer.getId(), TransactionPartyType.USER,
+            payee.getId(), TransactionPartyType.SELLER);
+
+        assertEquals(TransactionStatus.SUCCESS, status);
+        assertTrue(Duration.ofNanos(System.nanoTime() - startedAt).toMillis() >= 200);
+        assertEquals(0, new BigDecimal("90.00").compareTo(userRepository.findById(payer.getId()).orElseThrow().getBalance()));
+    }
+
+    @Test
+    @DisplayName("Should reject transfers the stub denies")
+    void shouldRejectTransfersStubDenies() {
+        ReflectionTestUtils.setField(authorizerStub, "denialRate", 1.0);
+
+        BusinessException exception = assertThrows(BusinessException.class, () -> transactionService.transfer(
+            new BigDecimal("10.00"), payer.getId(), TransactionPartyType.USER, payee.getId(), TransactionPartyType.SELLER));
+
+        assertEquals("Transação não autorizada pelo serviço externo", exception.getMessage());
+        assertEquals(0, new BigDecimal("100.00").compareTo(userRepository.findById(payer.getId()).orElseThrow().getBalance()));
+    }
+
+    @Test
+    @DisplayName("Should reject transfers when the stub fails")
+    void shouldRejectTransfersWhenStubFails() {
+        ReflectionTestUtils.setField(authorizerStub, "failureRate", 1.0);
+
+        assertThrows(BusinessException.class, () -> transactionService.transfer(
+            new BigDecimal("10.00"), payer.getId(), TransactionPartyType.USER, payee.getId(), TransactionPartyType.SELLER));
+    }
+}